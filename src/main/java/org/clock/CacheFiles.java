@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import org.clock.styles.gsonstyle.GsonStyle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Properties;
+
+/**
+ * Locations and keys of the on-disk caches.
+ * The caches live under ~/.clockapp/cache unless the clockapp.cache.dir system property names
+ * another directory.
+ */
+public final class CacheFiles {
+    /**
+     * Version and build time of the application, part of the keys of rendered images so images
+     * rendered by another build are not used. "development" when the classes were not built by maven.
+     */
+    public static final String BUILD = readBuild();
+
+    public static Path directory(String cacheName) {
+        String base = System.getProperty("clockapp.cache.dir");
+        Path baseDirectory = base != null
+                ? Path.of(base)
+                : Path.of(System.getProperty("user.home"), ".clockapp", "cache");
+        return baseDirectory.resolve(cacheName);
+    }
+
+    /** Hex SHA-256 of the parts, used to name cache entries after their content. */
+    public static String contentHash(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Identifies a style's content: its JSON when it has source code, otherwise its class. Lazy
+     * styles are identified by their provider and catalog styles by their indexed content hash, so
+     * looking up a cache entry does not create or parse the style.
+     */
+    public static String styleContentHash(Style style, String... parts) {
+        String source;
+        if (style instanceof LazyStyle lazyStyle) {
+            source = lazyStyle.getProvider().getClass().getName();
+        } else if (style instanceof GsonStyle gsonStyle && gsonStyle.getCatalogEntry().isPresent()) {
+            source = Long.toHexString(gsonStyle.getCatalogEntry().get().contentHash());
+        } else {
+            source = style.getSourceCode() != null ? style.getSourceCode() : style.getClass().getName();
+        }
+        String[] allParts = new String[parts.length + 1];
+        allParts[0] = source;
+        System.arraycopy(parts, 0, allParts, 1, parts.length);
+        return contentHash(allParts);
+    }
+
+    /** Writes to a temporary file next to the target and moves it in place, so readers never see a partial file. */
+    public static void writeAtomically(Path file, byte[] contents) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temporary, contents);
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String readBuild() {
+        Properties properties = new Properties();
+        try (InputStream stream = CacheFiles.class.getResourceAsStream("build.properties")) {
+            if (stream != null) {
+                properties.load(stream);
+            }
+        } catch (IOException ignored) {
+            // keyed as a development build.
+        }
+        String version = properties.getProperty("version", "");
+        String built = properties.getProperty("built", "");
+        return version.isEmpty() || version.contains("${") || built.contains("${") ? "development" : version + "-" + built;
+    }
+
+    private CacheFiles() {}
+}
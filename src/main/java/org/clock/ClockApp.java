@@ -15,44 +15,189 @@
  */
 package org.clock;
 
-import org.clock.styles.colorful.ColorfulStyle;
+import org.clock.graphical.DisplayList;
+import org.clock.graphical.DisplayListOptimizer;
+import org.clock.styles.gsonstyle.GsonStyle;
 import org.clock.styles.gsonstyle.JSONSchemaException;
 import org.clock.styles.gsonstyle.StyleGroups;
-import org.clock.styles.metro.MetroStyle;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
+/**
+ * Starts the clock.
+ * Command line options:
+ * - --startup-metrics prints the time from JVM start to the first paint of the clock.
+ * - --smooth moves the hands continuously, repainting every display frame.
+ * - --frame-stats prints frame interval, jitter and dropped frames every 5 seconds (with --smooth),
+ *   and the hand sprite cache's memory when -Dclockapp.handSprites=angles enables it.
+ * - --display-lists draws the styles that can be compiled from their optimized display list.
+ * - --dump-display-lists prints every style's display list before and after optimization and exits.
+ * - --styles=<directory or .zip> adds the style groups of a style pack, can be repeated. Each pack
+ *   is loaded in the background after the built-in groups, a pack that fails to load is reported.
+ * - --cds-training renders every style off screen and exits, used to record the class data sharing
+ *   archive (see the "cds" profile in pom.xml).
+ * The built-in Java styles come from the StyleProvider services and only the displayed one is
+ * created before the first paint, the JSON styles are listed in the background afterwards from a
+ * catalog index kept in the cache, and each is parsed when first shown. Static faces come from the
+ * face cache when the clock was shown at the same size before.
+ */
 public class ClockApp {
 
-    private static final List<Style> CLOCK_STYLES;
-    private static final StyleGroups CLOCK_STYLE_GROUPS;
+    private static final String STYLE_GROUPS_RESOURCE = "/json/styles";
+    private static final int FRAME_STATS_MILLIS = 5000;
+    private static final String STYLE_PACK_OPTION = "--styles=";
+
+    private static List<Style> createClockStyles() {
+        return StyleProvider.loadStyles();
+    }
+
+    public static void main(String[] args) {
+        List<String> options = Arrays.asList(args);
+        if (options.contains("--cds-training")) {
+            renderAllStylesOffScreen();
+            System.exit(0);
+        }
+        if (options.contains("--dump-display-lists")) {
+            dumpDisplayLists();
+            System.exit(0);
+        }
+        boolean startupMetrics = options.contains("--startup-metrics");
+        boolean smoothMotion = options.contains("--smooth");
+        boolean frameStats = options.contains("--frame-stats");
+        boolean displayLists = options.contains("--display-lists");
+        List<Path> stylePacks = options.stream()
+                .filter(option -> option.startsWith(STYLE_PACK_OPTION))
+                .map(option -> Path.of(option.substring(STYLE_PACK_OPTION.length())))
+                .toList();
+        SwingUtilities.invokeLater(() -> {
+            Window window = createAppWindow();
+            ClockPanel clock = new ClockPanel(createClockStyles(), new StyleGroups(null, List.of()), Calendar::getInstance);
+            clock.setFaceCache(new FaceCache());
+            clock.setClipToCircle(window.getShape() == null);
+            clock.setSmoothMotion(smoothMotion);
+            clock.setDrawDisplayLists(displayLists);
+            if (frameStats) {
+                new Timer(FRAME_STATS_MILLIS, e -> {
+                    System.out.println(clock.getFrameStats());
+                    if (clock.getCurrentGroupAndStyle().style() instanceof GsonStyle gsonStyle) {
+                        gsonStyle.getHandSpriteCache().ifPresent(System.out::println);
+                    }
+                }).start();
+            }
+            window.add(clock,BorderLayout.CENTER);
+            ClockMouseListener clockMouseListener = new ClockMouseListener(window, clock);
+            clock.addMouseListener(clockMouseListener);
+            clock.addMouseMotionListener(clockMouseListener);
+            clock.onFirstPaint(() -> {
+                if (startupMetrics) {
+                    printTimeToFirstPaint();
+                }
+                loadStyleGroupsInBackground(clock, stylePacks);
+            });
+            // Lays out the clock before showing it, so its cached face is read while the window opens.
+            window.addNotify();
+            window.validate();
+            clock.preloadCachedFace();
+            window.setVisible(true);
+        });
+    }
+
+    /** The built-in groups are installed first, then each style pack is loaded on its own. */
+    private static void loadStyleGroupsInBackground(ClockPanel clock, List<Path> stylePacks) {
+        new SwingWorker<StyleGroups, Void>() {
+            @Override
+            protected StyleGroups doInBackground() throws JSONSchemaException {
+                return StyleGroups.loadIndexed(STYLE_GROUPS_RESOURCE, CacheFiles.directory("catalog").resolve("styles.idx"));
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    clock.setStyleGroups(get());
+                } catch (InterruptedException | ExecutionException ex) {
+                    throw new RuntimeException(ex);
+                } finally {
+                    stylePacks.forEach(stylePack -> loadStylePackInBackground(clock, stylePack));
+                }
+            }
+        }.execute();
+    }
+
+    /** Adds the groups of a style pack once loaded, replacing groups with the same name, or shows why it failed. */
+    private static void loadStylePackInBackground(ClockPanel clock, Path stylePack) {
+        new SwingWorker<StyleGroups, Void>() {
+            @Override
+            protected StyleGroups doInBackground() throws JSONSchemaException {
+                return StyleGroups.loadFromPath(stylePack);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get().groups().forEach(clock::addStyleGroup);
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex instanceof ExecutionException ? ex.getCause() : ex;
+                    JOptionPane.showMessageDialog(
+                            clock,
+                            cause.getMessage(),
+                            "Error Loading Style Pack " + stylePack,
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private static void printTimeToFirstPaint() {
+        ProcessHandle.current().info().startInstant().ifPresent(start ->
+                System.out.println("Time to first paint: " + Duration.between(start, Instant.now()).toMillis() + " ms"));
+    }
 
-    static {
-        ArrayList<Style> clockStyles = new ArrayList<>();
-        clockStyles.add(new MetroStyle());
-        clockStyles.add(new ColorfulStyle());
-        CLOCK_STYLES = clockStyles;
+    /** Exercises style loading and painting without a display, so their classes end up in the CDS archive. */
+    private static void renderAllStylesOffScreen() {
+        StyleGroups styleGroups;
         try {
-            CLOCK_STYLE_GROUPS = StyleGroups.loadFromResource("/json/styles");
+            styleGroups = StyleGroups.loadFromResource(STYLE_GROUPS_RESOURCE);
         } catch (JSONSchemaException ex) {
             throw new RuntimeException(ex);
         }
+        List<Style> clockStyles = createClockStyles();
+        ClockPanel clock = new ClockPanel(clockStyles, styleGroups, Calendar::getInstance);
+        clock.setSize(400, 400);
+        BufferedImage image = new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB);
+        for (ClockPanel.GroupAndStyle groupAndStyle : clock.getGroupsAndStyles()) {
+            clock.setGroupAndStyle(groupAndStyle);
+            Graphics2D graphics2D = image.createGraphics();
+            clock.paint(graphics2D);
+            graphics2D.dispose();
+        }
     }
 
-    public static void main(String[] args) {
-        Window window = createAppWindow();
-        ClockPanel clock = new ClockPanel(CLOCK_STYLES, CLOCK_STYLE_GROUPS, Calendar::getInstance);
-        window.add(clock,BorderLayout.CENTER);
-        ClockMouseListener clockMouseListener = new ClockMouseListener(window, clock);
-        clock.addMouseListener(clockMouseListener);
-        clock.addMouseMotionListener(clockMouseListener);
-        window.setVisible(true);
+    private static void dumpDisplayLists() {
+        List<Style> styles = new ArrayList<>(createClockStyles());
+        try {
+            StyleGroups.loadFromResource(STYLE_GROUPS_RESOURCE).groups().forEach(group -> styles.addAll(group.getStyles()));
+        } catch (JSONSchemaException ex) {
+            throw new RuntimeException(ex);
+        }
+        HoursMinutesSeconds hoursMinutesSeconds = HoursMinutesSeconds.getHoursMinutesSeconds(Calendar.getInstance(), false);
+        for (Style style : styles) {
+            DisplayList.Builder builder = new DisplayList.Builder();
+            style.compile(builder, hoursMinutesSeconds);
+            System.out.println(style.getName() + ", compiled " + builder.build());
+            System.out.println(DisplayListOptimizer.optimize(builder.build()).dump());
+        }
     }
 
     static Window createAppWindow() {
@@ -61,7 +206,13 @@ public class ClockApp {
         window.setUndecorated(true);
         window.setLayout(new BorderLayout());
         window.setBounds(300, 300, 800, 800);
-        window.setShape(new RoundRectangle2D.Double(0, 0, window.getWidth(), window.getHeight(), window.getWidth(), window.getHeight()));
+        if (WindowResizer.perPixelTranslucencySupported(window.getGraphicsConfiguration())) {
+            // Transparent pixels around the clock, so resizing doesn't reshape the window.
+            window.setBackground(new Color(0, 0, 0, 0));
+            ((JComponent) window.getContentPane()).setOpaque(false);
+        } else {
+            window.setShape(new RoundRectangle2D.Double(0, 0, window.getWidth(), window.getHeight(), window.getWidth(), window.getHeight()));
+        }
         window.addWindowListener(new WindowAdapter() {
             @Override
             public void windowClosing(WindowEvent e) {
@@ -20,29 +20,31 @@ import org.clock.styles.gsonstyle.GsonStyle;
 
 import javax.imageio.ImageIO;
 import javax.swing.*;
+import javax.swing.event.PopupMenuEvent;
+import javax.swing.event.PopupMenuListener;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
-import java.util.Optional;
+import java.io.Writer;
+import java.nio.file.Files;
 
 /**
  * MouseListener/MouseMotionListener for ClockPanel.
- * - Mouse drag with shift resizes clock
- * - Mouse draw wo shift moves clock
+ * - Mouse drag with shift resizes clock, at most once per frame (see WindowResizer)
+ * - Mouse drag wo shift moves clock, when the drag starts on the clock (see ClockPanel.hitTest)
  * - Adds popup menu to quit of change clock style
  */
 class ClockMouseListener extends MouseAdapter {
 
     private final Window windowContainingClock;
     private final ClockPanel clock;
+    private final WindowResizer resizer;
 
     // "initial" fields are set at the start of moving or resizing the clock.
     private Rectangle initialWindowBounds = null;
@@ -51,62 +53,67 @@ class ClockMouseListener extends MouseAdapter {
 
     // clockIsResizing is set at the start of resizing the clock.
     private boolean clockIsResizing = false;
+    // Whether the last press was on the clock, the corners around the round clock don't move it.
+    private boolean pressedOnClock = false;
 
     private File lastLoadedJSONFile = null;
     private JMenuItem loadJSONFile = null;
+    private ClockPopupMenu popupMenu = null;
 
     ClockMouseListener(Window windowContainingClock, ClockPanel clock) {
         this.windowContainingClock = windowContainingClock;
         this.clock = clock;
+        this.resizer = new WindowResizer(windowContainingClock, clock);
     }
 
     @Override
     public void mousePressed(MouseEvent e) {
+        pressedOnClock = clock.hitTest(e.getPoint()) != ClockPanel.Hit.NONE;
         if (e.isPopupTrigger()) {
-            JPopupMenu popup = createPopup();
-            SwingUtilities.invokeLater(popup::requestFocus);
+            JPopupMenu popup = getPopup();
             popup.show(clock, e.getX(), e.getY());
         }
     }
 
-    private JPopupMenu createPopup() {
-        JPopupMenu popupMenu = new JPopupMenu();
-        ButtonGroup buttonGroup = new ButtonGroup();
-        ClockPanel.GroupAndStyle currentStyleName = clock.getCurrentGroupAndStyle();
-        HashMap<String, JMenu> submenus = new HashMap<>();
-        for (ClockPanel.GroupAndStyle groupAndStyle : clock.getGroupsAndStyles()) {
-            JRadioButton radioButton = new JRadioButton(groupAndStyle.style().getName());
-            if (currentStyleName.isSame(groupAndStyle)) {
-                radioButton.setSelected(true);
-            }
-            radioButton.addActionListener(ev -> { clock.setGroupAndStyle(groupAndStyle); popupMenu.setVisible(false); } );
-            buttonGroup.add(radioButton);
-            if (groupAndStyle.group() == null) {
-                popupMenu.add(radioButton);
-            } else {
-                JMenu submenu = submenus.get(groupAndStyle.group().getName());
-                if (submenu == null) {
-                    submenu = new JMenu(groupAndStyle.group().getName());
-                    submenus.put(groupAndStyle.group().getName(), submenu);
-                }
-                popupMenu.add(submenu);
-                submenu.add(radioButton);
-            }
+    /** The popup is built on the first right-click and reused, its style entries follow the clock. */
+    private JPopupMenu getPopup() {
+        if (popupMenu != null) {
+            return popupMenu;
         }
-        popupMenu.add(new JSeparator());
+        popupMenu = new ClockPopupMenu(clock, new StyleThumbnails());
         JMenuItem quitMenuItem = new JMenuItem("Quit");
         quitMenuItem.addActionListener(ev -> {
             windowContainingClock.setVisible(false);
             System.exit(0);
         });
         popupMenu.add(loadJSONFile(popupMenu));
-        reloadJSSONFile().ifPresent(popupMenu::add);
-        jsonSourceViewerMenuItem().ifPresent((popupMenu::add));
+        JMenuItem reloadJSONFile = reloadJSONFileMenuItem();
+        popupMenu.add(reloadJSONFile);
+        JMenuItem jsonSourceViewer = jsonSourceViewerMenuItem();
+        popupMenu.add(jsonSourceViewer);
         popupMenu.add(new JSeparator());
         JMenuItem saveImage = new JMenuItem("Save Clock Image...");
         saveImage.addActionListener(ev -> saveImageAction());
         popupMenu.add(saveImage);
+        JMenuItem saveSvg = new JMenuItem("Save Clock SVG...");
+        saveSvg.addActionListener(ev -> showSaveSvgDialog());
+        popupMenu.add(saveSvg);
         popupMenu.add(quitMenuItem);
+        popupMenu.addPopupMenuListener(new PopupMenuListener() {
+            @Override
+            public void popupMenuWillBecomeVisible(PopupMenuEvent e) {
+                updateReloadJSONFileMenuItem(reloadJSONFile);
+                updateJsonSourceViewerMenuItem(jsonSourceViewer);
+            }
+
+            @Override
+            public void popupMenuWillBecomeInvisible(PopupMenuEvent e) {
+            }
+
+            @Override
+            public void popupMenuCanceled(PopupMenuEvent e) {
+            }
+        });
         return popupMenu;
     }
 
@@ -114,14 +121,8 @@ class ClockMouseListener extends MouseAdapter {
         showSavePngDialog(clock.getCurrentGroupAndStyle().style().getName());
     }
 
-    Optional<JMenuItem> reloadJSSONFile() {
-        if (lastLoadedJSONFile == null) {
-            return Optional.empty();
-        }
-        JMenuItem menuItem = new JMenuItem(
-                String.format(
-                        "Reload file: \".../%s\"",
-                        lastLoadedJSONFile.getName()));
+    JMenuItem reloadJSONFileMenuItem() {
+        JMenuItem menuItem = new JMenuItem();
         menuItem.addActionListener(ev -> {
             try {
                 loadJSONFile(lastLoadedJSONFile);
@@ -129,7 +130,17 @@ class ClockMouseListener extends MouseAdapter {
                 throw new RuntimeException(e);
             }
         });
-        return Optional.of(menuItem);
+        return menuItem;
+    }
+
+    private void updateReloadJSONFileMenuItem(JMenuItem menuItem) {
+        menuItem.setVisible(lastLoadedJSONFile != null);
+        if (lastLoadedJSONFile != null) {
+            menuItem.setText(
+                    String.format(
+                            "Reload file: \".../%s\"",
+                            lastLoadedJSONFile.getName()));
+        }
     }
 
     JMenuItem loadJSONFile(JPopupMenu popup) {
@@ -182,23 +193,43 @@ class ClockMouseListener extends MouseAdapter {
         }
     }
 
-    private Optional<JMenuItem> jsonSourceViewerMenuItem() {
-        ClockPanel.GroupAndStyle groupAndStyle = clock.getCurrentGroupAndStyle();
-        if (groupAndStyle.style().getSourceCode() == null) {
-            return Optional.empty();
+    private void showSaveSvgDialog() {
+        JFileChooser fileChooser = new JFileChooser();
+        FileNameExtensionFilter filter = new FileNameExtensionFilter("SVG Files (*.svg)", "svg");
+        fileChooser.addChoosableFileFilter(filter);
+        fileChooser.setDialogType(JFileChooser.SAVE_DIALOG);
+        fileChooser.setSelectedFile(new File(clock.getCurrentGroupAndStyle().style().getName() + ".svg"));
+        if (fileChooser.showSaveDialog(windowContainingClock) == JFileChooser.APPROVE_OPTION) {
+            File selectedFile = fileChooser.getSelectedFile();
+            if (selectedFile != null) {
+                try (Writer writer = Files.newBufferedWriter(selectedFile.toPath())) {
+                    clock.writeSvg(writer);
+                } catch (IOException ex) {
+                    throw new RuntimeException(ex);
+                }
+            }
         }
-        JMenuItem menuItem = new JMenuItem(
-                String.format(
-                        "View JSON: '%s'",
-                        groupAndStyle.style().getName()));
+    }
+
+    private JMenuItem jsonSourceViewerMenuItem() {
+        JMenuItem menuItem = new JMenuItem();
         menuItem.addActionListener(ev -> {
             try {
-                viewJSONFile(groupAndStyle.style());
+                viewJSONFile(clock.getCurrentGroupAndStyle().style());
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
         });
-        return Optional.of(menuItem);
+        return menuItem;
+    }
+
+    private void updateJsonSourceViewerMenuItem(JMenuItem menuItem) {
+        Style style = clock.getCurrentGroupAndStyle().style();
+        menuItem.setVisible(style.getSourceCode() != null);
+        menuItem.setText(
+                String.format(
+                        "View JSON: '%s'",
+                        style.getName()));
     }
 
     void loadJSONFile(File file) {
@@ -245,6 +276,9 @@ class ClockMouseListener extends MouseAdapter {
 
     @Override
     public void mouseReleased(MouseEvent e) {
+        if (clockIsResizing) {
+            resizer.finish();
+        }
         initialWindowBounds = null;
         clockIsResizing = false;
     }
@@ -260,11 +294,9 @@ class ClockMouseListener extends MouseAdapter {
             if (clockIsResizing) {
                 int newWidth = Math.max(100, initialWindowBounds.width + e.getXOnScreen() - initialXOnScreen);
                 int newHeight = Math.max(100, initialWindowBounds.height + e.getYOnScreen() - initialYOnScreen);
-                int size = Math.min(newWidth, newHeight);
-                windowContainingClock.setSize(size, size);
-                windowContainingClock.setShape(new RoundRectangle2D.Double(0, 0, size, size, size, size));
+                resizer.requestSize(Math.min(newWidth, newHeight));
 
-            } else {
+            } else if (pressedOnClock) {
                 Point newLocation = new Point(
                         initialWindowBounds.x + e.getXOnScreen() - initialXOnScreen,
                         initialWindowBounds.y + e.getYOnScreen() - initialYOnScreen);
@@ -15,7 +15,9 @@
  */
 package org.clock;
 
+import org.clock.graphical.DisplayList;
 import org.clock.graphical.OffsetRadius;
+import org.clock.graphical.SvgWriter;
 import org.clock.styles.gsonstyle.GsonStyle;
 import org.clock.styles.gsonstyle.StyleGroup;
 import org.clock.styles.gsonstyle.StyleGroups;
@@ -23,35 +25,103 @@ import org.clock.styles.gsonstyle.StyleGroups;
 import javax.swing.*;
 import javax.swing.Timer;
 import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 /** Displays a clock. */
 public class ClockPanel extends JPanel {
+    /** Bound property fired when the displayed style changes. */
+    public static final String GROUP_AND_STYLE_PROPERTY = "groupAndStyle";
+    /** Bound property fired when the style groups are replaced. */
+    public static final String STYLE_GROUPS_PROPERTY = "styleGroups";
     private static final boolean BUFFER_CLOCK_FACE = true;
 
-    private final List<Style> clockStyles;
-    private final StyleGroups clockStyleGroups;
-    private GroupAndStyle currentGroupAndStyle;
-    private Calendar calendar;
-    private OffsetRadius lastOffsetRadius;
-    private BufferedImage lastBufferedImage;
+    private final StyleRegistry styleRegistry;
+    // Painting may happen on other threads than the one changing the style or time, so paint reads
+    // these once per frame and the face buffer records which style and size it was painted for.
+    private volatile GroupAndStyle currentGroupAndStyle;
+    private volatile Calendar calendar;
+    // Static face rendered at each device scale the clock was painted at, so moving between screens
+    // with different scales does not re-render the face.
+    private final Map<Double, FaceBuffer> faceBuffers = new ConcurrentHashMap<>();
+    // Faces read from the face cache ahead of the first paint, by device scale.
+    private final Map<Double, FaceRead> faceReads = new ConcurrentHashMap<>();
+    // Screen area of the hands at the last update, repainted along with their new area on the next update.
+    private Rectangle2D lastHandsBounds;
+    private OffsetRadius lastHandsOffsetRadius;
+    // Area of the animated elements and their update interval step at the last update.
+    private Rectangle2D lastAnimatedBounds;
+    private long lastAnimationStep = -1;
+    // Complications painted at their own cadence, and their steps at the last update.
+    private volatile ComplicationLayer complicationLayer;
+    private long[] lastComplicationSteps;
     private final Timer updateTimer;
+    private Runnable firstPaintListener;
+    private volatile boolean resizing;
+    // Smooth motion reads a high resolution time when painting and paints once per display frame.
+    private volatile boolean smoothMotion;
+    private final Supplier<Calendar> calendarSupplier;
+    private final FrameTiming frameTiming;
+    private final FrameStats frameStats = new FrameStats();
+    private boolean framePending;
+    private int frameDelayMillis;
+    // Display refresh rate, read when the panel moves to a screen rather than every frame.
+    private int refreshRate = FrameTiming.refreshRate(null);
+    private boolean clipToCircle;
+    private volatile boolean drawDisplayLists;
+    private volatile CompiledStyle compiledStyle;
+    private FaceCache faceCache;
+
+    private record FaceBuffer(GroupAndStyle groupAndStyle, OffsetRadius offsetRadius, BufferedImage image) {
+        boolean isFor(GroupAndStyle groupAndStyle, OffsetRadius offsetRadius) {
+            return this.groupAndStyle == groupAndStyle && this.offsetRadius.equals(offsetRadius);
+        }
+    }
+
+    private record FaceRead(GroupAndStyle groupAndStyle, OffsetRadius offsetRadius, int width, int height,
+                            CompletableFuture<Optional<BufferedImage>> image) {
+        boolean isFor(GroupAndStyle groupAndStyle, OffsetRadius offsetRadius, int width, int height) {
+            return this.groupAndStyle == groupAndStyle && this.offsetRadius.equals(offsetRadius)
+                    && this.width == width && this.height == height;
+        }
+    }
+
+    private record CompiledStyle(GroupAndStyle groupAndStyle, Optional<DisplayList> displayList) {
+    }
 
     public ClockPanel(List<Style> clockStyles, StyleGroups clockStyleGroups, Supplier<Calendar> calendarSupplier) {
+        this(new StyleRegistry(clockStyles, clockStyleGroups), calendarSupplier);
+    }
+
+    public ClockPanel(StyleRegistry styleRegistry, Supplier<Calendar> calendarSupplier) {
         updateTimer = new Timer(25, e -> {
             setCalendar(calendarSupplier.get());
-            repaint();
+            if (smoothMotion) {
+                repaintNextFrame();
+            } else {
+                repaintChangedArea();
+            }
         });
         updateTimer.setInitialDelay(15);
-        this.clockStyles = new ArrayList<>(clockStyles);
-        this.clockStyleGroups = clockStyleGroups;
+        this.calendarSupplier = calendarSupplier;
+        frameTiming = new FrameTiming(() -> calendarSupplier.get().toInstant());
+        // Moving the window to another screen changes the graphics configuration and refresh rate.
+        addPropertyChangeListener("graphicsConfiguration", e -> updateFrameDelay());
+        this.styleRegistry = styleRegistry;
         this.calendar = Calendar.getInstance();
-        lastOffsetRadius = new OffsetRadius(0,0,0);
-        lastBufferedImage = null;
+        List<Style> clockStyles = styleRegistry.snapshot().clockStyles();
         if (!clockStyles.isEmpty()) {
             setGroupAndStyle(new GroupAndStyle(null, clockStyles.get(0)));
         }
@@ -63,31 +133,430 @@ public class ClockPanel extends JPanel {
         Graphics2D graphics2D = (Graphics2D) graphics;
         graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
         graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        Rectangle2D.Double r = centerSquare();
-        OffsetRadius offsetRadius = new OffsetRadius(r.x + r.width/2, r.y + r.height/2, r.width/2);
-        HoursMinutesSeconds hoursMinutesSeconds =
-                HoursMinutesSeconds.getHoursMinutesSeconds(calendar, currentGroupAndStyle.style.discreteTimeIntervals());
+        OffsetRadius offsetRadius = currentOffsetRadius();
+        if (clipToCircle) {
+            graphics2D.clip(new Ellipse2D.Double(
+                    offsetRadius.offsetX() - offsetRadius.radius(), offsetRadius.offsetY() - offsetRadius.radius(),
+                    2 * offsetRadius.radius(), 2 * offsetRadius.radius()));
+        }
+        GroupAndStyle groupAndStyle = currentGroupAndStyle;
+        Style style = groupAndStyle.style;
+        HoursMinutesSeconds hoursMinutesSeconds = currentHoursMinutesSeconds(style);
+
+        Optional<DisplayList> displayList = drawDisplayLists ? displayList(groupAndStyle, hoursMinutesSeconds) : Optional.empty();
+        if (displayList.isPresent()) {
+            displayList.get().draw(graphics2D, offsetRadius, hoursMinutesSeconds);
+        } else {
+            if (BUFFER_CLOCK_FACE && style.staticClockFace()) {
+                paintBufferedClockFace(graphics2D, groupAndStyle, offsetRadius, hoursMinutesSeconds);
+            } else {
+                style.paintClockFace(graphics2D, offsetRadius, hoursMinutesSeconds);
+            }
+            style.paintAnimatedElements(graphics2D, offsetRadius, hoursMinutesSeconds);
+            paintComplications(graphics2D, style.getComplications(), offsetRadius);
+            style.paintMinuteHand(graphics2D, offsetRadius, hoursMinutesSeconds.minutes());
+            style.paintHourHand(graphics2D, offsetRadius, hoursMinutesSeconds.hours());
+            style.paintSecondHand(graphics2D, offsetRadius, hoursMinutesSeconds.seconds());
+        }
+        if (firstPaintListener != null) {
+            SwingUtilities.invokeLater(firstPaintListener);
+            firstPaintListener = null;
+        }
+        if (smoothMotion) {
+            framePending = false;
+            frameStats.frame(System.nanoTime(), frameDelayNanos());
+            Toolkit.getDefaultToolkit().sync();
+        }
+    }
+
+    /**
+     * The style's optimized display list, compiled once per style, or empty when the style can't be
+     * drawn from one: its face changes with time, it has animated elements or complications, which
+     * are not compiled, or it paints images.
+     */
+    private Optional<DisplayList> displayList(GroupAndStyle groupAndStyle, HoursMinutesSeconds hoursMinutesSeconds) {
+        CompiledStyle compiled = compiledStyle;
+        if (compiled == null || compiled.groupAndStyle() != groupAndStyle) {
+            Style style = groupAndStyle.style();
+            Optional<DisplayList> displayList = Optional.empty();
+            if (style.staticClockFace() && style.getAnimationIntervalMillis() == 0 && style.getComplications().isEmpty()) {
+                try {
+                    displayList = Optional.of(DisplayList.compile(style, hoursMinutesSeconds));
+                } catch (UnsupportedOperationException ex) {
+                    // painted directly.
+                }
+            }
+            compiled = new CompiledStyle(groupAndStyle, displayList);
+            compiledStyle = compiled;
+        }
+        return compiled.displayList();
+    }
+
+    /**
+     * Draws styles from their compiled and optimized display list where they can be, instead of
+     * running their painting code. Off by default.
+     */
+    public void setDrawDisplayLists(boolean drawDisplayLists) {
+        this.drawDisplayLists = drawDisplayLists;
+        repaint();
+    }
+
+    public boolean isDrawDisplayLists() {
+        return drawDisplayLists;
+    }
+
+    private HoursMinutesSeconds currentHoursMinutesSeconds(Style style) {
+        if (smoothMotion) {
+            return HoursMinutesSeconds.getHoursMinutesSeconds(currentTime(), style.discreteTimeIntervals());
+        }
+        return HoursMinutesSeconds.getHoursMinutesSeconds(calendar, style.discreteTimeIntervals());
+    }
+
+    /** Time of the hands in smooth motion and of the complications, in the calendar's time zone. */
+    private ZonedDateTime currentTime() {
+        Calendar current = calendar;
+        ZoneId zone = current.getTimeZone().toZoneId();
+        if (smoothMotion) {
+            return frameTiming.now().atZone(zone);
+        }
+        return current.toInstant().atZone(zone);
+    }
+
+    /**
+     * Requests a full repaint for the next frame. A frame still waiting to be painted is not queued
+     * behind, the late frame is dropped instead, and the timer delay follows the measured frame
+     * interval so frames stay aligned with the display refresh.
+     */
+    private void repaintNextFrame() {
+        if (framePending) {
+            return;
+        }
+        framePending = true;
+        double targetMillis = 1000d / refreshRate;
+        double measuredMillis = frameStats.meanIntervalMillis();
+        if (measuredMillis > targetMillis + 1 && frameDelayMillis > 1) {
+            frameDelayMillis--;
+        } else if (measuredMillis > 0 && measuredMillis < targetMillis - 1) {
+            frameDelayMillis++;
+        }
+        updateTimer.setDelay(frameDelayMillis);
+        repaint();
+    }
+
+    private long frameDelayNanos() {
+        return 1_000_000_000L / refreshRate;
+    }
+
+    /**
+     * Smooth motion interpolates the hands from a nanosecond resolution clock at paint time and
+     * repaints every display frame, instead of stepping with the millisecond Calendar time.
+     */
+    public void setSmoothMotion(boolean smoothMotion) {
+        this.smoothMotion = smoothMotion;
+        updateFrameDelay();
+    }
+
+    /** The refresh rate is only known once the panel is on a screen, see {@link #addNotify()}. */
+    private void updateFrameDelay() {
+        refreshRate = FrameTiming.refreshRate(getGraphicsConfiguration());
+        frameDelayMillis = FrameTiming.frameMillis(refreshRate);
+        updateTimer.setDelay(smoothMotion ? frameDelayMillis : 15);
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        updateFrameDelay();
+    }
+
+    public boolean isSmoothMotion() {
+        return smoothMotion;
+    }
+
+    /** Intervals between frames painted in smooth motion mode. */
+    public FrameStats getFrameStats() {
+        return frameStats;
+    }
+
+    /**
+     * Draws the static face from a buffer rendered in device pixels. The device scale comes from the
+     * graphics transform, which Swing sets from the screen's GraphicsConfiguration, and the buffer is
+     * drawn without that scale so each buffer pixel lands on one screen pixel.
+     */
+    private void paintBufferedClockFace(Graphics2D graphics2D, GroupAndStyle groupAndStyle, OffsetRadius offsetRadius,
+                                        HoursMinutesSeconds hoursMinutesSeconds) {
+        AffineTransform transform = graphics2D.getTransform();
+        double scale = deviceScale(transform);
+        FaceBuffer buffer = faceBuffers.get(scale);
+        if (resizing && buffer != null && buffer.groupAndStyle() == groupAndStyle
+                && !buffer.offsetRadius().equals(offsetRadius)) {
+            paintScaled(graphics2D, buffer, offsetRadius, scale);
+            return;
+        }
+        if (buffer == null || !buffer.isFor(groupAndStyle, offsetRadius)) {
+            if (buffer == null || buffer.groupAndStyle() != groupAndStyle) {
+                faceBuffers.values().removeIf(b -> b.groupAndStyle() != groupAndStyle);
+            }
+            OffsetRadius deviceOffsetRadius = new OffsetRadius(
+                    offsetRadius.offsetX() * scale, offsetRadius.offsetY() * scale, offsetRadius.radius() * scale);
+            int width = (int) Math.ceil(getWidth() * scale);
+            int height = (int) Math.ceil(getHeight() * scale);
+            BufferedImage face = faceCache != null
+                    ? cachedFace(groupAndStyle, offsetRadius, scale, deviceOffsetRadius, width, height, hoursMinutesSeconds)
+                    : renderClockFace(groupAndStyle.style(), deviceOffsetRadius, width, height, hoursMinutesSeconds);
+            buffer = new FaceBuffer(groupAndStyle, offsetRadius, face);
+            faceBuffers.put(scale, buffer);
+        }
+        drawDeviceImage(graphics2D, buffer.image(), transform, scale);
+    }
+
+    /**
+     * Draws the complications from their layer, painting again only the ones whose cadence
+     * stepped, so the frame costs one image however many complications there are.
+     */
+    private void paintComplications(Graphics2D graphics2D, List<Complication> complications, OffsetRadius offsetRadius) {
+        if (complications.isEmpty()) {
+            return;
+        }
+        AffineTransform transform = graphics2D.getTransform();
+        double scale = deviceScale(transform);
+        ComplicationLayer layer = complicationLayer;
+        if (layer == null || !layer.isFor(complications, offsetRadius, scale)) {
+            layer = new ComplicationLayer(complications, offsetRadius, scale,
+                    (int) Math.ceil(getWidth() * scale), (int) Math.ceil(getHeight() * scale));
+            complicationLayer = layer;
+        }
+        layer.update(currentTime());
+        drawDeviceImage(graphics2D, layer.getImage(), transform, scale);
+    }
+
+    /** Draws an image rendered in device pixels without the transform's scale. */
+    private static void drawDeviceImage(Graphics2D graphics2D, BufferedImage image, AffineTransform transform, double scale) {
+        if (scale == 1d) {
+            graphics2D.drawImage(image, 0, 0, null);
+        } else {
+            graphics2D.setTransform(AffineTransform.getTranslateInstance(transform.getTranslateX(), transform.getTranslateY()));
+            graphics2D.drawImage(image, 0, 0, null);
+            graphics2D.setTransform(transform);
+        }
+    }
 
+    /** Draws a face buffered for another size stretched so its clock covers the current clock. */
+    private static void paintScaled(Graphics2D graphics2D, FaceBuffer buffer, OffsetRadius offsetRadius, double scale) {
+        OffsetRadius bufferOffsetRadius = buffer.offsetRadius();
+        double factor = offsetRadius.radius() / bufferOffsetRadius.radius();
+        BufferedImage image = buffer.image();
+        Graphics2D g = (Graphics2D) graphics2D.create();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(image,
+                    (int) Math.round(offsetRadius.offsetX() - bufferOffsetRadius.offsetX() * factor),
+                    (int) Math.round(offsetRadius.offsetY() - bufferOffsetRadius.offsetY() * factor),
+                    (int) Math.round(image.getWidth() / scale * factor),
+                    (int) Math.round(image.getHeight() / scale * factor),
+                    null);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /** Uniform scale of the transform, or 1 when it also rotates, shears or scales unevenly. */
+    static double deviceScale(AffineTransform transform) {
+        return ClockUtils.deviceScale(transform).orElse(1d);
+    }
+
+    /**
+     * The face from the face cache, taken from the read started by {@link #preloadCachedFace} when
+     * it is for this face, otherwise read now. A face missing from the cache is rendered once and
+     * that image is stored.
+     */
+    private BufferedImage cachedFace(GroupAndStyle groupAndStyle, OffsetRadius offsetRadius, double scale,
+                                     OffsetRadius deviceOffsetRadius, int width, int height,
+                                     HoursMinutesSeconds hoursMinutesSeconds) {
+        Style style = groupAndStyle.style();
+        FaceRead read = faceReads.remove(scale);
+        Optional<BufferedImage> image = read != null && read.isFor(groupAndStyle, offsetRadius, width, height)
+                ? read.image().join()
+                : faceCache.load(style, deviceOffsetRadius, width, height);
+        return image.orElseGet(() -> {
+            BufferedImage rendered = renderClockFace(style, deviceOffsetRadius, width, height, hoursMinutesSeconds);
+            faceCache.store(style, deviceOffsetRadius, rendered);
+            return rendered;
+        });
+    }
+
+    /**
+     * Starts reading the current face from the face cache in the background, at the panel's size and
+     * the scale of its screen, so that the first paint finds it read. Call once the panel is laid
+     * out, before showing it.
+     */
+    public void preloadCachedFace() {
+        GroupAndStyle groupAndStyle = currentGroupAndStyle;
+        if (faceCache == null || groupAndStyle == null || !BUFFER_CLOCK_FACE || !groupAndStyle.style().staticClockFace()) {
+            return;
+        }
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        double scale = configuration == null ? 1 : deviceScale(configuration.getDefaultTransform());
+        OffsetRadius offsetRadius = currentOffsetRadius();
+        OffsetRadius deviceOffsetRadius = new OffsetRadius(
+                offsetRadius.offsetX() * scale, offsetRadius.offsetY() * scale, offsetRadius.radius() * scale);
+        int width = (int) Math.ceil(getWidth() * scale);
+        int height = (int) Math.ceil(getHeight() * scale);
+        faceReads.put(scale, new FaceRead(groupAndStyle, offsetRadius, width, height,
+                faceCache.loadAsync(groupAndStyle.style(), deviceOffsetRadius, width, height)));
+    }
+
+    private static BufferedImage renderClockFace(Style style, OffsetRadius offsetRadius, int width, int height,
+                                                 HoursMinutesSeconds hoursMinutesSeconds) {
+        BufferedImage bufferedImage = new BufferedImage(width, height, BufferedImage.TYPE_4BYTE_ABGR);
+        Graphics2D bufferedImageGraphics = (Graphics2D) bufferedImage.getGraphics();
+        bufferedImageGraphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        bufferedImageGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        style.paintClockFace(bufferedImageGraphics, offsetRadius, hoursMinutesSeconds);
+        bufferedImageGraphics.dispose();
+        return bufferedImage;
+    }
+
+    /**
+     * Static clock faces are read from the cache when first buffered and written to it in the
+     * background, see {@link #preloadCachedFace}. By default faces are only kept in memory.
+     */
+    public void setFaceCache(FaceCache faceCache) {
+        this.faceCache = faceCache;
+    }
+
+    /**
+     * While resizing, static faces are drawn by stretching the face last rendered instead of
+     * rendering one for every intermediate size. The face is rendered at the final size once
+     * resizing ends.
+     */
+    public void setResizing(boolean resizing) {
+        this.resizing = resizing;
+        if (!resizing) {
+            repaint();
+        }
+    }
+
+    public boolean isResizing() {
+        return resizing;
+    }
+
+    /**
+     * Clips painting to the clock's circle, used when the window has per-pixel translucency
+     * instead of a circular window shape.
+     */
+    public void setClipToCircle(boolean clipToCircle) {
+        this.clipToCircle = clipToCircle;
+        setOpaque(!clipToCircle);
+        repaint();
+    }
+
+    /** Runs the listener on the event dispatch thread once the clock has been painted for the first time. */
+    public void onFirstPaint(Runnable listener) {
+        firstPaintListener = listener;
+    }
+
+    /**
+     * Repaints only the area covered by the hands before and after the update when the clock face is
+     * static and the style knows its hands bounds, otherwise repaints the whole clock. The animated
+     * elements' area is added when their animation interval has passed, and each complication's
+     * area when its cadence stepped.
+     */
+    private void repaintChangedArea() {
         Style style = currentGroupAndStyle.style;
+        OffsetRadius offsetRadius = currentOffsetRadius();
+        HoursMinutesSeconds hoursMinutesSeconds = currentHoursMinutesSeconds(style);
+        Optional<Rectangle2D> handsBounds = Optional.empty();
         if (BUFFER_CLOCK_FACE && style.staticClockFace()) {
-            if (lastOffsetRadius.equals(offsetRadius)) {
-                graphics2D.drawImage(lastBufferedImage, 0, 0, null);
-            } else {
-                BufferedImage bufferedImage = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_4BYTE_ABGR);
-                Graphics2D bufferedImageGraphics = (Graphics2D) bufferedImage.getGraphics();
-                bufferedImageGraphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-                bufferedImageGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                style.paintClockFace(bufferedImageGraphics, offsetRadius, hoursMinutesSeconds);
-                graphics2D.drawImage(bufferedImage, 0, 0, null);
-                lastBufferedImage = bufferedImage;
-                lastOffsetRadius = offsetRadius;
+            handsBounds = style.getHandsBounds(offsetRadius, hoursMinutesSeconds);
+        }
+        Rectangle2D animatedBounds = style.getAnimatedBounds(offsetRadius, hoursMinutesSeconds).orElse(null);
+        long animationStep = animationStep(style, hoursMinutesSeconds);
+        List<Complication> complications = style.getComplications();
+        long[] complicationSteps = complicationSteps(complications);
+        if (handsBounds.isPresent() && lastHandsBounds != null && offsetRadius.equals(lastHandsOffsetRadius)) {
+            repaint(lastHandsBounds.createUnion(handsBounds.get()).getBounds());
+            if (animationStep != lastAnimationStep) {
+                repaintUnion(lastAnimatedBounds, animatedBounds);
+            }
+            for (int i = 0; i < complicationSteps.length; i++) {
+                if (lastComplicationSteps == null || lastComplicationSteps.length != complicationSteps.length
+                        || lastComplicationSteps[i] != complicationSteps[i]) {
+                    repaint(ComplicationLayer.screenBounds(complications.get(i), offsetRadius).getBounds());
+                }
             }
         } else {
-            style.paintClockFace(graphics2D, offsetRadius, hoursMinutesSeconds);
+            repaint();
+        }
+        lastHandsBounds = handsBounds.orElse(null);
+        lastHandsOffsetRadius = offsetRadius;
+        lastAnimatedBounds = animatedBounds;
+        lastAnimationStep = animationStep;
+        lastComplicationSteps = complicationSteps;
+    }
+
+    private long[] complicationSteps(List<Complication> complications) {
+        if (complications.isEmpty()) {
+            return new long[0];
+        }
+        ZonedDateTime time = currentTime();
+        long[] steps = new long[complications.size()];
+        for (int i = 0; i < steps.length; i++) {
+            steps[i] = complications.get(i).step(time);
         }
-        style.paintMinuteHand(graphics2D, offsetRadius, hoursMinutesSeconds.minutes());
-        style.paintHourHand(graphics2D, offsetRadius, hoursMinutesSeconds.hours());
-        style.paintSecondHand(graphics2D, offsetRadius, hoursMinutesSeconds.seconds());
+        return steps;
+    }
+
+    private void repaintUnion(Rectangle2D bounds, Rectangle2D otherBounds) {
+        if (bounds != null && otherBounds != null) {
+            repaint(bounds.createUnion(otherBounds).getBounds());
+        } else if (bounds != null || otherBounds != null) {
+            repaint((bounds != null ? bounds : otherBounds).getBounds());
+        }
+    }
+
+    private static long animationStep(Style style, HoursMinutesSeconds hoursMinutesSeconds) {
+        long interval = style.getAnimationIntervalMillis();
+        return interval > 0 ? (long) Math.floor(hoursMinutesSeconds.toMillis() / interval) : 0;
+    }
+
+    /** Writes the displayed clock as SVG, at the panel's size and the displayed time. */
+    public void writeSvg(Writer writer) throws IOException {
+        Style style = currentGroupAndStyle.style;
+        int size = (int) Math.round(2 * currentOffsetRadius().radius());
+        SvgWriter.write(style, writer, size, currentHoursMinutesSeconds(style));
+    }
+
+    /** What of the clock is under a point of the panel. */
+    enum Hit {
+        NONE, FACE, HANDS
+    }
+
+    /**
+     * Hit test of a point of the panel: on the hands when the style knows where its hands are and
+     * the point is inside of their bounds, on the face when inside of the round clock, otherwise
+     * on none of the clock (the corners of the panel).
+     */
+    Hit hitTest(Point point) {
+        GroupAndStyle groupAndStyle = currentGroupAndStyle;
+        if (groupAndStyle == null) {
+            return Hit.NONE;
+        }
+        Style style = groupAndStyle.style;
+        OffsetRadius offsetRadius = currentOffsetRadius();
+        Optional<Rectangle2D> handsBounds = style.getHandsBounds(offsetRadius, currentHoursMinutesSeconds(style));
+        if (handsBounds.isPresent() && handsBounds.get().contains(point)) {
+            return Hit.HANDS;
+        }
+        if (point.distance(offsetRadius.offsetX(), offsetRadius.offsetY()) <= offsetRadius.radius()) {
+            return Hit.FACE;
+        }
+        return Hit.NONE;
+    }
+
+    OffsetRadius currentOffsetRadius() {
+        Rectangle2D.Double r = centerSquare();
+        return new OffsetRadius(r.x + r.width/2, r.y + r.height/2, r.width/2);
     }
 
     Rectangle2D.Double centerSquare() {
@@ -121,27 +590,73 @@ public class ClockPanel extends JPanel {
         }
     }
 
+    /** Built-in styles followed by the styles of each group, the list is rebuilt only when the groups change. */
     public java.util.List<GroupAndStyle> getGroupsAndStyles() {
-        ArrayList<GroupAndStyle> list = new ArrayList<>();
-        clockStyles.forEach(s -> list.add(new GroupAndStyle(null, s)));
-        clockStyleGroups.groups().forEach(g -> g.getStyles().forEach(s -> list.add(new GroupAndStyle(g, s))));
-        return list;
+        return styleRegistry.snapshot().groupsAndStyles();
+    }
+
+    public StyleRegistry getStyleRegistry() {
+        return styleRegistry;
+    }
+
+    public List<Style> getClockStyles() {
+        return styleRegistry.snapshot().clockStyles();
+    }
+
+    public StyleGroups getStyleGroups() {
+        return styleRegistry.snapshot().styleGroups();
+    }
+
+    /**
+     * Replaces the style groups, can be called from any thread. Listeners, which update Swing
+     * components, are notified on the event dispatch thread.
+     */
+    public void setStyleGroups(StyleGroups clockStyleGroups) {
+        StyleGroups oldStyleGroups = styleRegistry.replaceStyleGroups(clockStyleGroups).styleGroups();
+        fireOnEventDispatchThread(STYLE_GROUPS_PROPERTY, oldStyleGroups, clockStyleGroups);
+    }
+
+    /**
+     * Adds or replaces a style group, can be called from any thread. Listeners are notified on the
+     * event dispatch thread.
+     */
+    public void addStyleGroup(StyleGroup group) {
+        StyleRegistry.Snapshot oldSnapshot = styleRegistry.addStyleGroup(group);
+        fireOnEventDispatchThread(STYLE_GROUPS_PROPERTY, oldSnapshot.styleGroups(), getStyleGroups());
+    }
+
+    private void fireOnEventDispatchThread(String propertyName, Object oldValue, Object newValue) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            firePropertyChange(propertyName, oldValue, newValue);
+        } else {
+            SwingUtilities.invokeLater(() -> firePropertyChange(propertyName, oldValue, newValue));
+        }
     }
 
     public GroupAndStyle getCurrentGroupAndStyle() {
         return currentGroupAndStyle;
     }
 
+    /**
+     * Shows the style, on the event dispatch thread once the clock is displayed since it updates
+     * the tooltip and notifies listeners that update Swing components. Painting may happen on any thread.
+     */
     public void setGroupAndStyle(GroupAndStyle groupAndStyle) {
+        GroupAndStyle oldGroupAndStyle = currentGroupAndStyle;
         currentGroupAndStyle = groupAndStyle;
-        lastOffsetRadius = new OffsetRadius();
+        lastHandsBounds = null;
         StringBuilder builder = new StringBuilder("<html><b>").append(groupAndStyle.style.getName()).append("</b>");
         if (groupAndStyle.style.getDescription() != null) {
             builder.append("<BR>").append(groupAndStyle.style.getDescription());
         }
         setToolTipText(builder.append("</html>").toString());
+        if (oldGroupAndStyle == null || oldGroupAndStyle.style != groupAndStyle.style) {
+            Instant now = calendarSupplier.get().toInstant();
+            groupAndStyle.style.getComplications().forEach(complication -> complication.shown(now));
+        }
         updateTimer.stop();
-        updateTimer.setDelay(15);
+        updateTimer.setDelay(smoothMotion ? frameDelayMillis : 15);
         updateTimer.start();
+        firePropertyChange(GROUP_AND_STYLE_PROPERTY, oldGroupAndStyle, groupAndStyle);
     }
 }
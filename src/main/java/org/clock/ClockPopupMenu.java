@@ -0,0 +1,238 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import org.clock.styles.gsonstyle.GsonStyle;
+import org.clock.styles.gsonstyle.StyleCatalog;
+import org.clock.styles.gsonstyle.StyleGroup;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.event.MenuEvent;
+import javax.swing.event.MenuListener;
+import javax.swing.event.PopupMenuEvent;
+import javax.swing.event.PopupMenuListener;
+import java.awt.*;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Popup menu listing the clock's styles, built once and kept up to date from the ClockPanel's
+ * bound properties: the selected radio button follows the displayed style and group submenus are
+ * added or removed when the style groups change. A search field at the top hides the styles whose
+ * name or description does not match, styles listed from a StyleCatalog are matched by their
+ * catalog entry (every word of the search in the group, name or description). Each entry shows a
+ * thumbnail of its style, requested when the entry's menu opens and filled in as the thumbnails
+ * finish rendering in the background.
+ * Callers add their own menu items after the style entries.
+ */
+class ClockPopupMenu extends JPopupMenu {
+    private final ClockPanel clock;
+    private final StyleThumbnails thumbnails;
+    private final JTextField searchField = new JTextField(16);
+    private final ButtonGroup buttonGroup = new ButtonGroup();
+    private final JSeparator styleEntriesEnd = new JSeparator();
+    // Radio buttons by style key, in menu order.
+    private final Map<String, JRadioButtonMenuItem> radioButtons = new LinkedHashMap<>();
+    private final Map<String, JMenu> submenus = new HashMap<>();
+
+    /** Lower case text the search looks in, catalog entries are matched word by word. */
+    private record SearchText(String text, boolean catalogEntry) {
+        boolean matches(String filter, String[] words) {
+            return catalogEntry ? StyleCatalog.matches(text, words) : text.contains(filter);
+        }
+    }
+
+    ClockPopupMenu(ClockPanel clock, StyleThumbnails thumbnails) {
+        this.clock = clock;
+        this.thumbnails = thumbnails;
+        searchField.setToolTipText("Search styles");
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                applyFilter();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                applyFilter();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                applyFilter();
+            }
+        });
+        add(searchField);
+        for (Style style : clock.getClockStyles()) {
+            add(createRadioButton(new ClockPanel.GroupAndStyle(null, style)));
+        }
+        add(styleEntriesEnd);
+        clock.getStyleGroups().groups().forEach(this::addGroup);
+        updateSelection(clock.getCurrentGroupAndStyle());
+
+        clock.addPropertyChangeListener(ClockPanel.GROUP_AND_STYLE_PROPERTY,
+                ev -> updateSelection((ClockPanel.GroupAndStyle) ev.getNewValue()));
+        clock.addPropertyChangeListener(ClockPanel.STYLE_GROUPS_PROPERTY, ev -> updateGroups());
+        addPopupMenuListener(new PopupMenuListener() {
+            @Override
+            public void popupMenuWillBecomeVisible(PopupMenuEvent e) {
+                searchField.setText("");
+                SwingUtilities.invokeLater(searchField::requestFocusInWindow);
+                requestThumbnails(ClockPopupMenu.this);
+            }
+
+            @Override
+            public void popupMenuWillBecomeInvisible(PopupMenuEvent e) {
+            }
+
+            @Override
+            public void popupMenuCanceled(PopupMenuEvent e) {
+            }
+        });
+    }
+
+    private JRadioButtonMenuItem createRadioButton(ClockPanel.GroupAndStyle groupAndStyle) {
+        JRadioButtonMenuItem radioButton = new JRadioButtonMenuItem(groupAndStyle.style().getName());
+        radioButton.putClientProperty(ClockPanel.GroupAndStyle.class, groupAndStyle);
+        radioButton.putClientProperty(SearchText.class, searchText(groupAndStyle.style()));
+        radioButton.setIcon(thumbnails.placeholder());
+        radioButton.addActionListener(ev -> { clock.setGroupAndStyle(groupAndStyle); setVisible(false); } );
+        buttonGroup.add(radioButton);
+        radioButtons.put(key(groupAndStyle), radioButton);
+        return radioButton;
+    }
+
+    private void addGroup(StyleGroup group) {
+        JMenu submenu = new JMenu(group.getName());
+        group.getStyles().forEach(style -> submenu.add(createRadioButton(new ClockPanel.GroupAndStyle(group, style))));
+        submenu.addMenuListener(new MenuListener() {
+            @Override
+            public void menuSelected(MenuEvent e) {
+                requestThumbnails(submenu.getPopupMenu());
+            }
+
+            @Override
+            public void menuDeselected(MenuEvent e) {
+            }
+
+            @Override
+            public void menuCanceled(MenuEvent e) {
+            }
+        });
+        submenus.put(group.getName(), submenu);
+        insert(submenu, getComponentIndex(styleEntriesEnd));
+    }
+
+    /** Requests the thumbnails of the menu's style entries that do not have one yet. */
+    private void requestThumbnails(JPopupMenu menu) {
+        for (Component component : menu.getComponents()) {
+            if (component instanceof JRadioButtonMenuItem radioButton
+                    && radioButton.getClientProperty(StyleThumbnails.class) == null) {
+                var groupAndStyle = (ClockPanel.GroupAndStyle) radioButton.getClientProperty(ClockPanel.GroupAndStyle.class);
+                radioButton.putClientProperty(StyleThumbnails.class, Boolean.TRUE);
+                thumbnails.request(groupAndStyle.style(), radioButton::setIcon);
+            }
+        }
+    }
+
+    private void removeGroup(String groupName) {
+        JMenu submenu = submenus.remove(groupName);
+        remove(submenu);
+        radioButtons.values().removeIf(radioButton -> {
+            if (radioButton.getParent() == submenu.getPopupMenu()) {
+                buttonGroup.remove(radioButton);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /** Replaces only the submenus of groups that were added, removed or whose styles changed. */
+    private void updateGroups() {
+        List<StyleGroup> groups = clock.getStyleGroups().groups();
+        Map<String, StyleGroup> groupsByName = new HashMap<>();
+        groups.forEach(g -> groupsByName.put(g.getName(), g));
+        for (String groupName : List.copyOf(submenus.keySet())) {
+            StyleGroup group = groupsByName.get(groupName);
+            if (group == null || !hasSameStyles(submenus.get(groupName), group)) {
+                removeGroup(groupName);
+            }
+        }
+        groups.stream().filter(g -> !submenus.containsKey(g.getName())).forEach(this::addGroup);
+        updateSelection(clock.getCurrentGroupAndStyle());
+        applyFilter();
+    }
+
+    private boolean hasSameStyles(JMenu submenu, StyleGroup group) {
+        if (submenu.getItemCount() != group.getStyles().size()) {
+            return false;
+        }
+        for (int i = 0; i < group.getStyles().size(); i++) {
+            JComponent item = (JComponent) submenu.getMenuComponent(i);
+            var groupAndStyle = (ClockPanel.GroupAndStyle) item.getClientProperty(ClockPanel.GroupAndStyle.class);
+            if (groupAndStyle == null || groupAndStyle.style() != group.getStyles().get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void updateSelection(ClockPanel.GroupAndStyle groupAndStyle) {
+        JRadioButtonMenuItem radioButton = groupAndStyle == null ? null : radioButtons.get(key(groupAndStyle));
+        if (radioButton == null) {
+            buttonGroup.clearSelection();
+        } else {
+            radioButton.setSelected(true);
+        }
+    }
+
+    private void applyFilter() {
+        String filter = searchField.getText().trim().toLowerCase(Locale.ROOT);
+        String[] words = StyleCatalog.words(filter);
+        for (JRadioButtonMenuItem radioButton : radioButtons.values()) {
+            SearchText searchText = (SearchText) radioButton.getClientProperty(SearchText.class);
+            radioButton.setVisible(filter.isEmpty() || searchText.matches(filter, words));
+        }
+        for (JMenu submenu : submenus.values()) {
+            boolean anyVisible = false;
+            for (Component component : submenu.getMenuComponents()) {
+                anyVisible |= component.isVisible();
+            }
+            submenu.setVisible(anyVisible);
+        }
+        if (isVisible()) {
+            pack();
+        }
+    }
+
+    private static SearchText searchText(Style style) {
+        if (style instanceof GsonStyle gsonStyle && gsonStyle.getCatalogEntry().isPresent()) {
+            return new SearchText(StyleCatalog.searchText(gsonStyle.getCatalogEntry().get()), true);
+        }
+        String description = style.getDescription() == null ? "" : style.getDescription();
+        return new SearchText((style.getName() + "\n" + description).toLowerCase(Locale.ROOT), false);
+    }
+
+    private static String key(ClockPanel.GroupAndStyle groupAndStyle) {
+        String groupName = groupAndStyle.group() == null ? "" : groupAndStyle.group().getName();
+        return groupName + "\n" + groupAndStyle.style().getName();
+    }
+}
@@ -19,6 +19,12 @@ import org.clock.graphical.GraphicalElement;
 import org.clock.graphical.OffsetRadius;
 
 import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.OptionalDouble;
+
+import static org.clock.graphical.FilledPoly.rotatePoint;
 
 public final class ClockUtils {
     private static final double CIRCLE_RADIANS = 2d * Math.PI;
@@ -33,5 +39,32 @@ public final class ClockUtils {
         transformedPoly.draw(graphics2D);
     }
 
+    /** Screen bounds of local space bounds painted with {@link #paintOnClock}. */
+    public static Rectangle2D boundsOnClock(Rectangle2D bounds, OffsetRadius offsetRadius, double fraction) {
+        double theta = toRadians(0.5d + fraction);
+        return offsetRadius.adjust(rotateBounds(bounds, theta));
+    }
+
+    public static Rectangle2D rotateBounds(Rectangle2D bounds, double theta) {
+        Point2D corner = rotatePoint(theta, new Point2D.Double(bounds.getMinX(), bounds.getMinY()));
+        Rectangle2D rotated = new Rectangle2D.Double(corner.getX(), corner.getY(), 0, 0);
+        rotated.add(rotatePoint(theta, new Point2D.Double(bounds.getMaxX(), bounds.getMinY())));
+        rotated.add(rotatePoint(theta, new Point2D.Double(bounds.getMaxX(), bounds.getMaxY())));
+        rotated.add(rotatePoint(theta, new Point2D.Double(bounds.getMinX(), bounds.getMaxY())));
+        return rotated;
+    }
+
+    /**
+     * Uniform scale of a transform that only scales and translates, such as the device transform
+     * of a HiDPI screen, empty for transforms that also rotate, shear, flip or scale unevenly.
+     */
+    public static OptionalDouble deviceScale(AffineTransform transform) {
+        int scaleAndTranslation = AffineTransform.TYPE_TRANSLATION | AffineTransform.TYPE_UNIFORM_SCALE;
+        if ((transform.getType() & ~scaleAndTranslation) != 0 || transform.getScaleX() <= 0) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(transform.getScaleX());
+    }
+
     private ClockUtils() {}
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import org.clock.graphical.OffsetRadius;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+
+/**
+ * Small dial or window of a style (date, day of week, another time zone, stopwatch) with its own
+ * time source and cadence. The clock keeps complications in a layer of their own and paints one
+ * again only when its step changes, so a face with many slow complications costs no more per
+ * frame than a face without them.
+ */
+public interface Complication {
+    /** How often a complication changes, steps are counted in the local time of the complication. */
+    enum Cadence {
+        SECOND, MINUTE, HOUR, DAY;
+
+        public long step(ZonedDateTime time) {
+            long day = time.toLocalDate().toEpochDay();
+            return switch (this) {
+                case DAY -> day;
+                case HOUR -> day * 24 + time.getHour();
+                case MINUTE -> (day * 24 + time.getHour()) * 60 + time.getMinute();
+                case SECOND -> ((day * 24 + time.getHour()) * 60 + time.getMinute()) * 60 + time.getSecond();
+            };
+        }
+    }
+
+    Cadence getCadence();
+
+    /** Step of the cadence at the clock's time, the complication is painted again when it changes. */
+    default long step(ZonedDateTime time) {
+        return getCadence().step(time);
+    }
+
+    /** Area painted, in clock units (origin in the center, radius 1). */
+    Rectangle2D getBounds();
+
+    /**
+     * Called when the clock starts showing the complication's style, with the clock's time. Stateful
+     * complications start from there.
+     */
+    default void shown(Instant now) {
+    }
+
+    /** Paints the complication at the clock's time, only inside of its bounds. */
+    void paint(Graphics2D graphics2D, OffsetRadius offsetRadius, ZonedDateTime time);
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import org.clock.graphical.OffsetRadius;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The complications of a style painted into one image in device pixels. An update paints again
+ * only the complications whose step changed, after clearing their area, so the clock draws a
+ * single image per frame however many complications the style has.
+ */
+final class ComplicationLayer {
+    // Anti-aliasing can touch pixels just outside of the geometric bounds.
+    private static final double ANTIALIAS_PADDING = 1d;
+
+    private final List<Complication> complications;
+    private final OffsetRadius offsetRadius;
+    private final double scale;
+    private final OffsetRadius deviceOffsetRadius;
+    private final BufferedImage image;
+    private final long[] steps;
+
+    ComplicationLayer(List<Complication> complications, OffsetRadius offsetRadius, double scale, int width, int height) {
+        this.complications = complications;
+        this.offsetRadius = offsetRadius;
+        this.scale = scale;
+        this.deviceOffsetRadius = new OffsetRadius(
+                offsetRadius.offsetX() * scale, offsetRadius.offsetY() * scale, offsetRadius.radius() * scale);
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        this.steps = new long[complications.size()];
+        Arrays.fill(steps, Long.MIN_VALUE);
+    }
+
+    boolean isFor(List<Complication> complications, OffsetRadius offsetRadius, double scale) {
+        return this.complications == complications && this.offsetRadius.equals(offsetRadius) && this.scale == scale;
+    }
+
+    /** Paints the complications whose step changed since the last update, returns how many were painted. */
+    synchronized int update(ZonedDateTime time) {
+        int painted = 0;
+        Graphics2D graphics2D = null;
+        try {
+            for (int i = 0; i < steps.length; i++) {
+                Complication complication = complications.get(i);
+                long step = complication.step(time);
+                if (step == steps[i]) {
+                    continue;
+                }
+                if (graphics2D == null) {
+                    graphics2D = image.createGraphics();
+                    graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                    graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                }
+                Rectangle area = screenBounds(complication, deviceOffsetRadius).getBounds();
+                Graphics2D g = (Graphics2D) graphics2D.create();
+                try {
+                    g.clip(area);
+                    g.setComposite(AlphaComposite.Clear);
+                    g.fill(area);
+                    g.setComposite(AlphaComposite.SrcOver);
+                    complication.paint(g, deviceOffsetRadius, time);
+                } finally {
+                    g.dispose();
+                }
+                steps[i] = step;
+                painted++;
+            }
+        } finally {
+            if (graphics2D != null) {
+                graphics2D.dispose();
+            }
+        }
+        return painted;
+    }
+
+    BufferedImage getImage() {
+        return image;
+    }
+
+    /** Screen area of the complication, padded for anti-aliasing. */
+    static Rectangle2D screenBounds(Complication complication, OffsetRadius offsetRadius) {
+        Rectangle2D bounds = offsetRadius.adjust(complication.getBounds());
+        return new Rectangle2D.Double(
+                bounds.getX() - ANTIALIAS_PADDING,
+                bounds.getY() - ANTIALIAS_PADDING,
+                bounds.getWidth() + 2 * ANTIALIAS_PADDING,
+                bounds.getHeight() + 2 * ANTIALIAS_PADDING);
+    }
+}
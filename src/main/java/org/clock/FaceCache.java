@@ -0,0 +1,180 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import org.clock.graphical.OffsetRadius;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * On-disk cache of rasterized static clock faces, so a restarted clock doesn't render its faces
+ * into buffers again.
+ * Entries are named by a hash of the style's content, the application build, the renderer version
+ * and the face size and hold the ARGB pixels with a CRC32; entries that fail the check are deleted
+ * and painted again. Entries are written atomically on a background thread, and can be read ahead
+ * of the first paint on another. Reading an entry marks it as recently used, and after each write
+ * the least recently used entries are deleted until the cache fits in its size limit.
+ */
+public class FaceCache {
+    // Faces are also keyed by CacheFiles.BUILD, change this for unversioned builds when painting changes.
+    static final String RENDERER_VERSION = "1";
+    private static final int MAGIC = 0x434C4B46; // "CLKF"
+    private static final int FORMAT_VERSION = 1;
+    private static final int CHECKSUM_OFFSET = 16;
+    private static final int HEADER_BYTES = CHECKSUM_OFFSET + 8;
+    private static final String SUFFIX = ".face";
+    private static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private final Path directory;
+    private final long maxBytes;
+    private final ExecutorService reader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "face-cache-reader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "face-cache-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public FaceCache() {
+        this(CacheFiles.directory("faces"), Long.getLong("clockapp.faceCache.maxBytes", DEFAULT_MAX_BYTES));
+    }
+
+    public FaceCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    public Optional<BufferedImage> load(Style style, OffsetRadius offsetRadius, int width, int height) {
+        Path file = file(style, offsetRadius, width, height);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            Optional<BufferedImage> image = decode(Files.readAllBytes(file), width, height);
+            if (image.isEmpty()) {
+                Files.deleteIfExists(file);
+            } else {
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            }
+            return image;
+        } catch (IOException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /** Reads the face on a background thread. */
+    public CompletableFuture<Optional<BufferedImage>> loadAsync(Style style, OffsetRadius offsetRadius, int width, int height) {
+        return CompletableFuture.supplyAsync(() -> load(style, offsetRadius, width, height), reader);
+    }
+
+    /** Stores the face in the background, the image must not be modified afterwards. */
+    public void store(Style style, OffsetRadius offsetRadius, BufferedImage image) {
+        Path file = file(style, offsetRadius, image.getWidth(), image.getHeight());
+        writer.execute(() -> {
+            try {
+                CacheFiles.writeAtomically(file, encode(image));
+                trim();
+            } catch (IOException | UncheckedIOException ignored) {
+                // the cache is an optimization, the face is painted again next time.
+            }
+        });
+    }
+
+    private Path file(Style style, OffsetRadius offsetRadius, int width, int height) {
+        String key = CacheFiles.styleContentHash(
+                style, CacheFiles.BUILD, RENDERER_VERSION, width + "x" + height, offsetRadius.toString());
+        return directory.resolve(key + SUFFIX);
+    }
+
+    static byte[] encode(BufferedImage image) {
+        int[] pixels = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + pixels.length * 4);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(image.getWidth()).putInt(image.getHeight()).putLong(0);
+        buffer.asIntBuffer().put(pixels);
+        byte[] bytes = buffer.array();
+        buffer.putLong(CHECKSUM_OFFSET, checksum(bytes));
+        return bytes;
+    }
+
+    static Optional<BufferedImage> decode(byte[] bytes, int width, int height) {
+        if (bytes.length != HEADER_BYTES + width * height * 4) {
+            return Optional.empty();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION
+                || buffer.getInt() != width || buffer.getInt() != height
+                || buffer.getLong() != checksum(bytes)) {
+            return Optional.empty();
+        }
+        int[] pixels = new int[width * height];
+        buffer.asIntBuffer().get(pixels);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, width, height, pixels, 0, width);
+        return Optional.of(image);
+    }
+
+    private static long checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, HEADER_BYTES, bytes.length - HEADER_BYTES);
+        return crc.getValue();
+    }
+
+    private void trim() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).toList();
+        }
+        long total = 0;
+        for (Path file : files) {
+            total += Files.size(file);
+        }
+        List<Path> oldestFirst = files.stream()
+                .sorted(Comparator.comparing(FaceCache::lastModified))
+                .toList();
+        for (Path file : oldestFirst) {
+            if (total <= maxBytes) {
+                break;
+            }
+            total -= Files.size(file);
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException ex) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
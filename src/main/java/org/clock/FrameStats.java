@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+/**
+ * Intervals between the last painted frames, used to pace smooth animation and, with
+ * --frame-stats, to report jitter and dropped frames.
+ */
+public class FrameStats {
+    private static final int FRAMES = 240;
+    // Intervals this many times longer than the target count as dropped frames.
+    private static final double DROPPED_FACTOR = 1.5d;
+
+    private final long[] intervals = new long[FRAMES];
+    private long lastFrameNanos = -1;
+    private int count;
+    private int next;
+    private long droppedFrames;
+
+    /** Records a frame painted at the time. */
+    public synchronized void frame(long nanos, long targetIntervalNanos) {
+        if (lastFrameNanos >= 0) {
+            long interval = nanos - lastFrameNanos;
+            intervals[next] = interval;
+            next = (next + 1) % FRAMES;
+            count = Math.min(FRAMES, count + 1);
+            if (interval > targetIntervalNanos * DROPPED_FACTOR) {
+                droppedFrames += Math.round((double) interval / targetIntervalNanos) - 1;
+            }
+        }
+        lastFrameNanos = nanos;
+    }
+
+    public synchronized double meanIntervalMillis() {
+        if (count == 0) {
+            return 0d;
+        }
+        long sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += intervals[i];
+        }
+        return sum / (double) count / 1e6;
+    }
+
+    /** Standard deviation of the frame intervals. */
+    public synchronized double jitterMillis() {
+        if (count == 0) {
+            return 0d;
+        }
+        double mean = meanIntervalMillis();
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            double difference = intervals[i] / 1e6 - mean;
+            sum += difference * difference;
+        }
+        return Math.sqrt(sum / count);
+    }
+
+    public synchronized long droppedFrames() {
+        return droppedFrames;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Frame interval: %.2f ms, jitter: %.2f ms, dropped frames: %d",
+                meanIntervalMillis(), jitterMillis(), droppedFrames());
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import java.awt.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Display refresh and high resolution wall clock time for smooth animation. The wall clock is
+ * advanced with {@link System#nanoTime()}, so successive frames see evenly spaced times with
+ * nanosecond resolution instead of the millisecond steps of {@link java.util.Calendar}. The wall
+ * clock is read again every {@link #RESYNC_NANOS} and the time jumps to it when they drifted apart
+ * by more than {@link #MAX_DRIFT_NANOS}, after the system clock was set or the machine slept.
+ */
+public final class FrameTiming {
+    private static final int DEFAULT_REFRESH_RATE = 60;
+    static final long RESYNC_NANOS = 100_000_000L;
+    static final long MAX_DRIFT_NANOS = 5_000_000L;
+
+    private final Supplier<Instant> wallClock;
+    private final LongSupplier nanoClock;
+    private Instant anchorInstant;
+    private long anchorNanos;
+    private long lastResyncNanos;
+
+    public FrameTiming() {
+        this(Instant::now);
+    }
+
+    /** Time following wallClock, for example the clock's calendar supplier. */
+    public FrameTiming(Supplier<Instant> wallClock) {
+        this(wallClock, System::nanoTime);
+    }
+
+    FrameTiming(Supplier<Instant> wallClock, LongSupplier nanoClock) {
+        this.wallClock = wallClock;
+        this.nanoClock = nanoClock;
+        this.anchorNanos = nanoClock.getAsLong();
+        this.anchorInstant = wallClock.get();
+        this.lastResyncNanos = anchorNanos;
+    }
+
+    public synchronized Instant now() {
+        long nanos = nanoClock.getAsLong();
+        Instant interpolated = anchorInstant.plusNanos(nanos - anchorNanos);
+        if (nanos - lastResyncNanos >= RESYNC_NANOS) {
+            lastResyncNanos = nanos;
+            Instant wall = wallClock.get();
+            if (Duration.between(interpolated, wall).abs().compareTo(Duration.ofNanos(MAX_DRIFT_NANOS)) > 0) {
+                anchorInstant = wall;
+                anchorNanos = nanos;
+                return wall;
+            }
+        }
+        return interpolated;
+    }
+
+    /** Refresh rate of the screen, 60 Hz when it is unknown. */
+    public static int refreshRate(GraphicsConfiguration configuration) {
+        int refreshRate = DisplayMode.REFRESH_RATE_UNKNOWN;
+        if (configuration != null) {
+            refreshRate = configuration.getDevice().getDisplayMode().getRefreshRate();
+        }
+        if (refreshRate == DisplayMode.REFRESH_RATE_UNKNOWN || refreshRate <= 0) {
+            refreshRate = DEFAULT_REFRESH_RATE;
+        }
+        return refreshRate;
+    }
+
+    /** Whole milliseconds per frame of the screen, at least 1. */
+    public static int frameMillis(GraphicsConfiguration configuration) {
+        return frameMillis(refreshRate(configuration));
+    }
+
+    /** Whole milliseconds per frame at the refresh rate, at least 1. */
+    public static int frameMillis(int refreshRate) {
+        return Math.max(1, 1000 / refreshRate);
+    }
+}
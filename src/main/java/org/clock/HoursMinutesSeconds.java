@@ -15,6 +15,7 @@
  */
 package org.clock;
 
+import java.time.ZonedDateTime;
 import java.util.Calendar;
 
 public record HoursMinutesSeconds(double hours, double minutes, double seconds) {
@@ -34,4 +35,32 @@ public record HoursMinutesSeconds(double hours, double minutes, double seconds)
         }
         return new HoursMinutesSeconds(hours, minutes, seconds);
     }
+
+    /** Same as the Calendar version, but with the time's full (nanosecond) resolution. */
+    public static HoursMinutesSeconds getHoursMinutesSeconds(ZonedDateTime time, boolean discreteTimeIntervals) {
+        double nanos = time.getNano();
+        double seconds = time.getSecond();
+        double minutes = time.getMinute();
+        double hours = time.getHour();
+        if (hours > 11) {
+            hours -= 12;
+        }
+        if (!discreteTimeIntervals) {
+            seconds += nanos / 1e9;
+            minutes += seconds / 60d;
+            hours += minutes / 60d;
+        }
+        return new HoursMinutesSeconds(hours, minutes, seconds);
+    }
+
+    /** Milliseconds since 12 o'clock, the hours and minutes without their fractions plus the seconds. */
+    public double toMillis() {
+        return Math.floor(hours) * 3_600_000d + Math.floor(minutes) * 60_000d + seconds * 1000d;
+    }
+
+    /** The time at the given milliseconds since 12 o'clock, every field with its fraction. */
+    public static HoursMinutesSeconds ofMillis(double millis) {
+        double seconds = millis / 1000d;
+        return new HoursMinutesSeconds(seconds / 3600d, (seconds / 60d) % 60d, seconds % 60d);
+    }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import org.clock.graphical.DisplayList;
+import org.clock.graphical.OffsetRadius;
+import org.clock.graphical.SvgWriter;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+import java.util.Optional;
+
+/** Style answering its name and description from its provider and creating the style when it is first painted. */
+public final class LazyStyle implements Style {
+    // Paints the created styles from recordings of their painting, see RecordedStyle.
+    private static final boolean RECORD_STYLES = Boolean.getBoolean("clockapp.recordStyles");
+
+    private final StyleProvider provider;
+    private volatile Style style;
+
+    public LazyStyle(StyleProvider provider) {
+        this.provider = provider;
+    }
+
+    public StyleProvider getProvider() {
+        return provider;
+    }
+
+    public boolean isCreated() {
+        return style != null;
+    }
+
+    /** The provided style, created on the first call. */
+    public Style getStyle() {
+        Style result = style;
+        if (result == null) {
+            synchronized (this) {
+                result = style;
+                if (result == null) {
+                    result = RECORD_STYLES ? new RecordedStyle(provider.create()) : provider.create();
+                    style = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String getName() {
+        return provider.getName();
+    }
+
+    @Override
+    public String getDescription() {
+        return provider.getDescription();
+    }
+
+    @Override
+    public boolean discreteTimeIntervals() {
+        return getStyle().discreteTimeIntervals();
+    }
+
+    @Override
+    public boolean staticClockFace() {
+        return getStyle().staticClockFace();
+    }
+
+    @Override
+    public String getSourceCode() {
+        return getStyle().getSourceCode();
+    }
+
+    @Override
+    public void paintClockFace(Graphics2D graphics2D, OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        getStyle().paintClockFace(graphics2D, offsetRadius, hoursMinutesSeconds);
+    }
+
+    @Override
+    public void paintMinuteHand(Graphics2D graphics2D, OffsetRadius offsetRadius, double minute) {
+        getStyle().paintMinuteHand(graphics2D, offsetRadius, minute);
+    }
+
+    @Override
+    public void paintHourHand(Graphics2D graphics2D, OffsetRadius offsetRadius, double hour) {
+        getStyle().paintHourHand(graphics2D, offsetRadius, hour);
+    }
+
+    @Override
+    public void paintSecondHand(Graphics2D graphics2D, OffsetRadius offsetRadius, double second) {
+        getStyle().paintSecondHand(graphics2D, offsetRadius, second);
+    }
+
+    @Override
+    public Optional<Rectangle2D> getHandsBounds(OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        return getStyle().getHandsBounds(offsetRadius, hoursMinutesSeconds);
+    }
+
+    @Override
+    public void writeSvg(SvgWriter svg, OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        getStyle().writeSvg(svg, offsetRadius, hoursMinutesSeconds);
+    }
+
+    @Override
+    public void paintAnimatedElements(Graphics2D graphics2D, OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        getStyle().paintAnimatedElements(graphics2D, offsetRadius, hoursMinutesSeconds);
+    }
+
+    @Override
+    public Optional<Rectangle2D> getAnimatedBounds(OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        return getStyle().getAnimatedBounds(offsetRadius, hoursMinutesSeconds);
+    }
+
+    @Override
+    public long getAnimationIntervalMillis() {
+        return getStyle().getAnimationIntervalMillis();
+    }
+
+    @Override
+    public List<Complication> getComplications() {
+        return getStyle().getComplications();
+    }
+
+    @Override
+    public long getRevision() {
+        return getStyle().getRevision();
+    }
+
+    @Override
+    public void compile(DisplayList.Builder builder, HoursMinutesSeconds hoursMinutesSeconds) {
+        getStyle().compile(builder, hoursMinutesSeconds);
+    }
+}
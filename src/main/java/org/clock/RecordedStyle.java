@@ -0,0 +1,275 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import org.clock.graphical.OffsetRadius;
+import org.clock.graphical.Recording;
+import org.clock.graphical.RenderTargetGraphics2D;
+import org.clock.graphical.SvgWriter;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.clock.ClockUtils.rotateBounds;
+import static org.clock.ClockUtils.toRadians;
+
+/**
+ * Paints a style from recordings of its painting, so styles coded against Graphics2D get the
+ * same treatment as the JSON styles: their code runs once, hands are replayed rotated and their
+ * bounds are known for partial repaints. The face is recorded once when it is static, the hands
+ * are recorded at 12:00 and rotated, which expects them to look the same at every angle (as the
+ * JSON schema does). Recordings are made at a fixed radius and redone when the style's revision
+ * changes. Styles painting images can't be recorded and are painted directly.
+ */
+public final class RecordedStyle implements Style {
+    // Large enough that text outlines don't suffer from the font's hinting at small sizes.
+    static final double RECORDED_RADIUS = 512;
+    private static final OffsetRadius RECORDED_OFFSET_RADIUS = new OffsetRadius(0, 0, RECORDED_RADIUS);
+    // Anti-aliasing can touch pixels just outside of the geometric bounds.
+    private static final double ANTIALIAS_PADDING = 1d;
+
+    private final Style style;
+    private volatile Recordings recordings;
+    private volatile boolean unrecordable = false;
+
+    private record Recordings(long revision, Recording clockFace, Recording minuteHand, Recording hourHand, Recording secondHand) {
+    }
+
+    public RecordedStyle(Style style) {
+        this.style = style;
+    }
+
+    public Style getStyle() {
+        return style;
+    }
+
+    /**
+     * The current recordings, recorded on the first call and after the style's revision changed.
+     * The face is recorded by the first call with a time, which is only asked when painting the face.
+     */
+    private Recordings recordings(HoursMinutesSeconds hoursMinutesSeconds) {
+        Recordings result = recordings;
+        long revision = style.getRevision();
+        if (result == null || result.revision() != revision || needsClockFace(result, hoursMinutesSeconds)) {
+            synchronized (this) {
+                result = recordings;
+                if (result == null || result.revision() != revision) {
+                    result = new Recordings(
+                            revision,
+                            null,
+                            record(g -> style.paintMinuteHand(g, RECORDED_OFFSET_RADIUS, 0)),
+                            record(g -> style.paintHourHand(g, RECORDED_OFFSET_RADIUS, 0)),
+                            record(g -> style.paintSecondHand(g, RECORDED_OFFSET_RADIUS, 0)));
+                }
+                if (needsClockFace(result, hoursMinutesSeconds)) {
+                    result = new Recordings(
+                            revision,
+                            record(g -> style.paintClockFace(g, RECORDED_OFFSET_RADIUS, hoursMinutesSeconds)),
+                            result.minuteHand(),
+                            result.hourHand(),
+                            result.secondHand());
+                }
+                recordings = result;
+            }
+        }
+        return result;
+    }
+
+    private boolean needsClockFace(Recordings current, HoursMinutesSeconds hoursMinutesSeconds) {
+        return hoursMinutesSeconds != null && current.clockFace() == null && style.staticClockFace();
+    }
+
+    private static Recording record(Consumer<Graphics2D> painter) {
+        Recording recording = new Recording();
+        Graphics2D graphics2D = new RenderTargetGraphics2D(recording);
+        graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        painter.accept(graphics2D);
+        graphics2D.dispose();
+        return recording;
+    }
+
+    /** The recordings, or empty when the style paints something that can't be recorded. */
+    private Optional<Recordings> recorded(HoursMinutesSeconds hoursMinutesSeconds) {
+        if (unrecordable) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(recordings(hoursMinutesSeconds));
+        } catch (UnsupportedOperationException ex) {
+            unrecordable = true;
+            return Optional.empty();
+        }
+    }
+
+    private static AffineTransform faceTransform(OffsetRadius offsetRadius) {
+        AffineTransform transform = AffineTransform.getTranslateInstance(offsetRadius.offsetX(), offsetRadius.offsetY());
+        transform.scale(offsetRadius.radius() / RECORDED_RADIUS, offsetRadius.radius() / RECORDED_RADIUS);
+        return transform;
+    }
+
+    private static AffineTransform handTransform(OffsetRadius offsetRadius, double fraction) {
+        AffineTransform transform = AffineTransform.getTranslateInstance(offsetRadius.offsetX(), offsetRadius.offsetY());
+        transform.rotate(toRadians(fraction));
+        transform.scale(offsetRadius.radius() / RECORDED_RADIUS, offsetRadius.radius() / RECORDED_RADIUS);
+        return transform;
+    }
+
+    @Override
+    public void paintClockFace(Graphics2D graphics2D, OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        Optional<Recordings> recorded = recorded(hoursMinutesSeconds);
+        if (recorded.isPresent() && recorded.get().clockFace() != null) {
+            recorded.get().clockFace().replay(graphics2D, faceTransform(offsetRadius));
+        } else {
+            style.paintClockFace(graphics2D, offsetRadius, hoursMinutesSeconds);
+        }
+    }
+
+    @Override
+    public void paintMinuteHand(Graphics2D graphics2D, OffsetRadius offsetRadius, double minute) {
+        Optional<Recordings> recorded = recorded(null);
+        if (recorded.isPresent()) {
+            recorded.get().minuteHand().replay(graphics2D, handTransform(offsetRadius, minute/60d));
+        } else {
+            style.paintMinuteHand(graphics2D, offsetRadius, minute);
+        }
+    }
+
+    @Override
+    public void paintHourHand(Graphics2D graphics2D, OffsetRadius offsetRadius, double hour) {
+        Optional<Recordings> recorded = recorded(null);
+        if (recorded.isPresent()) {
+            recorded.get().hourHand().replay(graphics2D, handTransform(offsetRadius, hour/12d));
+        } else {
+            style.paintHourHand(graphics2D, offsetRadius, hour);
+        }
+    }
+
+    @Override
+    public void paintSecondHand(Graphics2D graphics2D, OffsetRadius offsetRadius, double second) {
+        Optional<Recordings> recorded = recorded(null);
+        if (recorded.isPresent()) {
+            recorded.get().secondHand().replay(graphics2D, handTransform(offsetRadius, second/60d));
+        } else {
+            style.paintSecondHand(graphics2D, offsetRadius, second);
+        }
+    }
+
+    @Override
+    public Optional<Rectangle2D> getHandsBounds(OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        Optional<Recordings> recorded = recorded(hoursMinutesSeconds);
+        if (recorded.isEmpty()) {
+            return style.getHandsBounds(offsetRadius, hoursMinutesSeconds);
+        }
+        Rectangle2D bounds = null;
+        for (Optional<Rectangle2D> handBounds : List.of(
+                handBounds(recorded.get().secondHand(), offsetRadius, hoursMinutesSeconds.seconds()/60d),
+                handBounds(recorded.get().minuteHand(), offsetRadius, hoursMinutesSeconds.minutes()/60d),
+                handBounds(recorded.get().hourHand(), offsetRadius, hoursMinutesSeconds.hours()/12d))) {
+            if (handBounds.isPresent()) {
+                bounds = bounds == null ? handBounds.get() : bounds.createUnion(handBounds.get());
+            }
+        }
+        return Optional.ofNullable(bounds);
+    }
+
+    private static Optional<Rectangle2D> handBounds(Recording hand, OffsetRadius offsetRadius, double fraction) {
+        return hand.getBounds().map(b -> {
+            Rectangle2D unit = new Rectangle2D.Double(b.getX() / RECORDED_RADIUS, b.getY() / RECORDED_RADIUS,
+                    b.getWidth() / RECORDED_RADIUS, b.getHeight() / RECORDED_RADIUS);
+            Rectangle2D screen = offsetRadius.adjust(rotateBounds(unit, toRadians(fraction)));
+            return new Rectangle2D.Double(
+                    screen.getX() - ANTIALIAS_PADDING,
+                    screen.getY() - ANTIALIAS_PADDING,
+                    screen.getWidth() + 2 * ANTIALIAS_PADDING,
+                    screen.getHeight() + 2 * ANTIALIAS_PADDING);
+        });
+    }
+
+    /** Writes the recordings, so the style's code doesn't run again either. */
+    @Override
+    public void writeSvg(SvgWriter svg, OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        Optional<Recordings> recorded = recorded(hoursMinutesSeconds);
+        if (recorded.isEmpty() || recorded.get().clockFace() == null) {
+            style.writeSvg(svg, offsetRadius, hoursMinutesSeconds);
+            return;
+        }
+        recorded.get().clockFace().replay(svg, faceTransform(offsetRadius));
+        recorded.get().minuteHand().replay(svg, handTransform(offsetRadius, hoursMinutesSeconds.minutes()/60d));
+        recorded.get().hourHand().replay(svg, handTransform(offsetRadius, hoursMinutesSeconds.hours()/12d));
+        recorded.get().secondHand().replay(svg, handTransform(offsetRadius, hoursMinutesSeconds.seconds()/60d));
+    }
+
+    @Override
+    public void paintAnimatedElements(Graphics2D graphics2D, OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        style.paintAnimatedElements(graphics2D, offsetRadius, hoursMinutesSeconds);
+    }
+
+    @Override
+    public Optional<Rectangle2D> getAnimatedBounds(OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        return style.getAnimatedBounds(offsetRadius, hoursMinutesSeconds);
+    }
+
+    @Override
+    public long getAnimationIntervalMillis() {
+        return style.getAnimationIntervalMillis();
+    }
+
+    @Override
+    public List<Complication> getComplications() {
+        return style.getComplications();
+    }
+
+    @Override
+    public long getRevision() {
+        return style.getRevision();
+    }
+
+    @Override
+    public boolean discreteTimeIntervals() {
+        return style.discreteTimeIntervals();
+    }
+
+    @Override
+    public String getName() {
+        return style.getName();
+    }
+
+    @Override
+    public String getDescription() {
+        return style.getDescription();
+    }
+
+    @Override
+    public boolean staticClockFace() {
+        return style.staticClockFace();
+    }
+
+    @Override
+    public String getSourceCode() {
+        return style.getSourceCode();
+    }
+
+    @Override
+    public String toString() {
+        Recordings current = recordings;
+        return "RecordedStyle " + style.getName() + (current == null ? ", not recorded" : ", " + current);
+    }
+}
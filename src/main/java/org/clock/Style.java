@@ -15,9 +15,15 @@
  */
 package org.clock;
 
+import org.clock.graphical.DisplayList;
 import org.clock.graphical.OffsetRadius;
+import org.clock.graphical.RenderTargetGraphics2D;
+import org.clock.graphical.SvgWriter;
 
 import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Style of clock.
@@ -39,4 +45,87 @@ public interface Style {
     default String getSourceCode() {
         return null;
     }
+
+    /**
+     * Paints the elements changing with time other than the hands, over the face and under the
+     * hands. They are painted separately so a static face can still be buffered and cached.
+     */
+    default void paintAnimatedElements(Graphics2D graphics2D, OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+    }
+
+    /** Screen bounds of the animated elements at the given time, empty if there are none. */
+    default Optional<Rectangle2D> getAnimatedBounds(OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        return Optional.empty();
+    }
+
+    /**
+     * Shortest interval between changes of the animated elements, the clock repaints them at most
+     * this often. 0 when the style has no animated elements.
+     */
+    default long getAnimationIntervalMillis() {
+        return 0;
+    }
+
+    /**
+     * Complications painted over the animated elements and under the hands, each painted again
+     * only at its own cadence. The list must stay the same, the clock caches their layer by it.
+     */
+    default List<Complication> getComplications() {
+        return List.of();
+    }
+
+    /**
+     * Changes whenever the style starts to look different, so recordings of its painting (see
+     * RecordedStyle) are made again. Styles that always look the same keep the default.
+     */
+    default long getRevision() {
+        return 0;
+    }
+
+    /**
+     * Screen bounds covering the hour, minute and second hands at the given time, or empty if the
+     * style does not know where its hands are painted (the whole clock is then repainted every update).
+     */
+    default Optional<Rectangle2D> getHandsBounds(OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        return Optional.empty();
+    }
+
+    /**
+     * Writes the face and hands as SVG. By default the style paints into a Graphics2D turning
+     * everything painted into SVG paths.
+     */
+    default void writeSvg(SvgWriter svg, OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        Graphics2D graphics2D = new RenderTargetGraphics2D(svg);
+        graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        paintClockFace(graphics2D, offsetRadius, hoursMinutesSeconds);
+        paintAnimatedElements(graphics2D, offsetRadius, hoursMinutesSeconds);
+        paintMinuteHand(graphics2D, offsetRadius, hoursMinutesSeconds.minutes());
+        paintHourHand(graphics2D, offsetRadius, hoursMinutesSeconds.hours());
+        paintSecondHand(graphics2D, offsetRadius, hoursMinutesSeconds.seconds());
+        graphics2D.dispose();
+    }
+
+    /**
+     * Compiles the face and the hands, each in its hand's scope and pointing to 12:00, into the
+     * display list. By default the painting is recorded through a Graphics2D, which fails for
+     * styles painting images. Animated elements change with time and are not compiled.
+     */
+    default void compile(DisplayList.Builder builder, HoursMinutesSeconds hoursMinutesSeconds) {
+        OffsetRadius offsetRadius = new OffsetRadius(0, 0, DisplayList.RADIUS);
+        Graphics2D graphics2D = new RenderTargetGraphics2D(builder);
+        graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        paintClockFace(graphics2D, offsetRadius, hoursMinutesSeconds);
+        builder.pushHand(DisplayList.MINUTE_HAND);
+        paintMinuteHand(graphics2D, offsetRadius, 0);
+        builder.pop();
+        builder.pushHand(DisplayList.HOUR_HAND);
+        paintHourHand(graphics2D, offsetRadius, 0);
+        builder.pop();
+        builder.pushHand(DisplayList.SECOND_HAND);
+        paintSecondHand(graphics2D, offsetRadius, 0);
+        builder.pop();
+        graphics2D.dispose();
+    }
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Provides a Java style. Providers are found with {@link ServiceLoader}, list them in
+ * META-INF/services/org.clock.StyleProvider. The name and description must be available
+ * without creating the style, so the style's classes and constants are only loaded once the
+ * style is used.
+ */
+public interface StyleProvider {
+    String getName();
+    String getDescription();
+    Style create();
+
+    /** Styles of all providers on the class path in service file order, each created when first used. */
+    static List<Style> loadStyles() {
+        return ServiceLoader.load(StyleProvider.class).stream()
+                .map(provider -> (Style) new LazyStyle(provider.get()))
+                .toList();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import org.clock.styles.gsonstyle.StyleGroup;
+import org.clock.styles.gsonstyle.StyleGroups;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Thread-safe registry of the built-in styles and the style groups.
+ * Readers take an immutable {@link Snapshot}, changes build a new snapshot and swap it in
+ * atomically, so a reader never sees a half updated registry and never blocks.
+ */
+public class StyleRegistry {
+
+    /** Immutable state of the registry, groupsAndStyles lists the built-in styles followed by each group's styles. */
+    public record Snapshot(List<Style> clockStyles, StyleGroups styleGroups, List<ClockPanel.GroupAndStyle> groupsAndStyles) {
+        static Snapshot of(List<Style> clockStyles, StyleGroups styleGroups) {
+            ArrayList<ClockPanel.GroupAndStyle> list = new ArrayList<>();
+            clockStyles.forEach(s -> list.add(new ClockPanel.GroupAndStyle(null, s)));
+            styleGroups.groups().forEach(g -> g.getStyles().forEach(s -> list.add(new ClockPanel.GroupAndStyle(g, s))));
+            return new Snapshot(List.copyOf(clockStyles), styleGroups, List.copyOf(list));
+        }
+    }
+
+    private final AtomicReference<Snapshot> snapshot;
+
+    public StyleRegistry(List<Style> clockStyles, StyleGroups styleGroups) {
+        snapshot = new AtomicReference<>(Snapshot.of(clockStyles, styleGroups));
+    }
+
+    public Snapshot snapshot() {
+        return snapshot.get();
+    }
+
+    /** Replaces all style groups, returns the snapshot that was replaced. */
+    public Snapshot replaceStyleGroups(StyleGroups styleGroups) {
+        return snapshot.getAndUpdate(s -> Snapshot.of(s.clockStyles(), styleGroups));
+    }
+
+    /** Adds the group, or replaces the group with the same name, returns the snapshot that was replaced. */
+    public Snapshot addStyleGroup(StyleGroup group) {
+        return snapshot.getAndUpdate(s -> {
+            List<StyleGroup> groups = new ArrayList<>(s.styleGroups().groups());
+            groups.removeIf(g -> g.getName().equals(group.getName()));
+            groups.add(group);
+            return Snapshot.of(s.clockStyles(), new StyleGroups(s.styleGroups().name(), groups));
+        });
+    }
+}
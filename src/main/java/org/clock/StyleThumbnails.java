@@ -0,0 +1,162 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import org.clock.graphical.OffsetRadius;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Thumbnails of styles painted at a fixed time, for the style picker.
+ * Thumbnails are rendered on a small pool of low priority daemon threads, so opening a picker with
+ * many styles never renders on the event dispatch thread. Rendered thumbnails are kept in memory
+ * and as PNGs in the "thumbnails" cache directory, named by a hash of the style's content.
+ */
+public class StyleThumbnails {
+    public static final int THUMBNAIL_SIZE = 32;
+    // Thumbnails are also keyed by CacheFiles.BUILD, change this for unversioned builds when rendering changes.
+    private static final String THUMBNAIL_VERSION = "1";
+    private static final int THREADS = Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1));
+
+    private final int size;
+    private final Path cacheDirectory;
+    private final ExecutorService executor;
+    // Thumbnails and callbacks of thumbnails being rendered, by style identity. The content hash
+    // naming the cache file is only computed on the rendering threads.
+    private final Map<Style, Icon> icons = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Map<Style, List<Consumer<Icon>>> pending = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    public StyleThumbnails() {
+        this(THUMBNAIL_SIZE, CacheFiles.directory("thumbnails"));
+    }
+
+    public StyleThumbnails(int size, Path cacheDirectory) {
+        this.size = size;
+        this.cacheDirectory = cacheDirectory;
+        this.executor = Executors.newFixedThreadPool(THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "style-thumbnails");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /** Blank icon of the thumbnail size, shown until the thumbnail is ready. */
+    public Icon placeholder() {
+        return new ImageIcon(new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB));
+    }
+
+    /**
+     * Calls onReady on the event dispatch thread with the style's thumbnail, right away if it is
+     * in memory, otherwise once it has been loaded from disk or rendered in the background. When
+     * painting the style fails, onReady gets the placeholder.
+     */
+    public void request(Style style, Consumer<Icon> onReady) {
+        Icon icon = icons.get(style);
+        if (icon != null) {
+            onReady.accept(icon);
+            return;
+        }
+        boolean first;
+        synchronized (pending) {
+            List<Consumer<Icon>> callbacks = pending.get(style);
+            first = callbacks == null;
+            if (first) {
+                callbacks = new ArrayList<>();
+                pending.put(style, callbacks);
+            }
+            callbacks.add(onReady);
+        }
+        if (first) {
+            executor.execute(() -> {
+                Icon thumbnail = placeholder();
+                try {
+                    String key = CacheFiles.styleContentHash(style, CacheFiles.BUILD, THUMBNAIL_VERSION, Integer.toString(size));
+                    Icon rendered = new ImageIcon(loadOrRender(style, key));
+                    Icon previous = icons.putIfAbsent(style, rendered);
+                    thumbnail = previous == null ? rendered : previous;
+                } catch (RuntimeException ex) {
+                    // The placeholder is not kept, a later request tries again.
+                } finally {
+                    List<Consumer<Icon>> callbacks = pending.remove(style);
+                    Icon ready = thumbnail;
+                    SwingUtilities.invokeLater(() -> callbacks.forEach(c -> c.accept(ready)));
+                }
+            });
+        }
+    }
+
+    private BufferedImage loadOrRender(Style style, String key) {
+        Path file = cacheDirectory.resolve(key + ".png");
+        try {
+            if (Files.isRegularFile(file)) {
+                BufferedImage image = ImageIO.read(file.toFile());
+                if (image != null && image.getWidth() == size && image.getHeight() == size) {
+                    return image;
+                }
+            }
+        } catch (IOException ignored) {
+            // unreadable cache file, render the thumbnail again.
+        }
+        BufferedImage image = render(style, size);
+        try {
+            ByteArrayOutputStream png = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", png);
+            CacheFiles.writeAtomically(file, png.toByteArray());
+        } catch (IOException | UncheckedIOException ignored) {
+            // the thumbnail is still usable from memory.
+        }
+        return image;
+    }
+
+    /** Paints the style at 10:08:37, clipped to the round shape of the clock window. */
+    public static BufferedImage render(Style style, int size) {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics2D = image.createGraphics();
+        graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics2D.clip(new Ellipse2D.Double(0, 0, size, size));
+        OffsetRadius offsetRadius = new OffsetRadius(size / 2d, size / 2d, size / 2d);
+        Calendar calendar = new GregorianCalendar(2025, Calendar.JUNE, 1, 10, 8, 37);
+        HoursMinutesSeconds hoursMinutesSeconds =
+                HoursMinutesSeconds.getHoursMinutesSeconds(calendar, style.discreteTimeIntervals());
+        style.paintClockFace(graphics2D, offsetRadius, hoursMinutesSeconds);
+        style.paintMinuteHand(graphics2D, offsetRadius, hoursMinutesSeconds.minutes());
+        style.paintHourHand(graphics2D, offsetRadius, hoursMinutesSeconds.hours());
+        style.paintSecondHand(graphics2D, offsetRadius, hoursMinutesSeconds.seconds());
+        graphics2D.dispose();
+        return image;
+    }
+}
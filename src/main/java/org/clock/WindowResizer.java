@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import javax.swing.Timer;
+import java.awt.*;
+import java.awt.geom.RoundRectangle2D;
+
+/**
+ * Resizes the clock's window while the user drags. Drag events only record the wanted size, the
+ * window is resized (and reshaped, when it uses a window shape instead of per-pixel translucency)
+ * at most once per display frame. While resizing the clock draws its last face scaled instead of
+ * rendering a new one for every size.
+ */
+class WindowResizer {
+    private final Window window;
+    private final ClockPanel clock;
+    private final Timer frameTimer;
+    private int pendingSize = -1;
+
+    WindowResizer(Window window, ClockPanel clock) {
+        this.window = window;
+        this.clock = clock;
+        frameTimer = new Timer(FrameTiming.frameMillis(window.getGraphicsConfiguration()), e -> applyPendingSize());
+        frameTimer.setRepeats(false);
+    }
+
+    /** Records the size, the window is resized on the next frame. */
+    void requestSize(int size) {
+        if (!clock.isResizing()) {
+            clock.setResizing(true);
+        }
+        pendingSize = size;
+        if (!frameTimer.isRunning()) {
+            frameTimer.start();
+        }
+    }
+
+    /** Applies the last requested size and lets the clock render its face at the final size. */
+    void finish() {
+        frameTimer.stop();
+        applyPendingSize();
+        clock.setResizing(false);
+    }
+
+    private void applyPendingSize() {
+        if (pendingSize < 0) {
+            return;
+        }
+        int size = pendingSize;
+        pendingSize = -1;
+        if (window.getWidth() == size && window.getHeight() == size) {
+            return;
+        }
+        window.setSize(size, size);
+        if (window.getShape() != null) {
+            window.setShape(new RoundRectangle2D.Double(0, 0, size, size, size, size));
+        }
+    }
+
+    /** Whether the window can have transparent pixels, which avoids reshaping it on every resize. */
+    static boolean perPixelTranslucencySupported(GraphicsConfiguration configuration) {
+        return configuration.isTranslucencyCapable()
+                && configuration.getDevice().isWindowTranslucencySupported(
+                        GraphicsDevice.WindowTranslucency.PERPIXEL_TRANSLUCENT);
+    }
+}
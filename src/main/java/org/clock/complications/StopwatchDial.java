@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.complications;
+
+import java.awt.*;
+import java.awt.geom.Point2D;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+
+/**
+ * Sub-dial showing the elapsed seconds and minutes of a stopwatch, changing every second while it
+ * runs and not at all while it is stopped. A stopwatch of a style counts the time since the clock
+ * started showing the style.
+ */
+public final class StopwatchDial extends SubDial {
+    private Duration elapsed = Duration.ZERO;
+    private Instant startedAt;
+
+    public StopwatchDial(Point2D center, double radius, Color color, Color background, String label) {
+        super(center, radius, color, background, label);
+    }
+
+    @Override
+    public Cadence getCadence() {
+        return Cadence.SECOND;
+    }
+
+    /** Starts again from zero. */
+    @Override
+    public synchronized void shown(Instant now) {
+        elapsed = Duration.ZERO;
+        startedAt = now;
+    }
+
+    public synchronized void start(Instant now) {
+        if (startedAt == null) {
+            startedAt = now;
+        }
+    }
+
+    public synchronized void stop(Instant now) {
+        if (startedAt != null) {
+            elapsed = elapsed.plus(Duration.between(startedAt, now));
+            startedAt = null;
+        }
+    }
+
+    public synchronized void reset(Instant now) {
+        elapsed = Duration.ZERO;
+        if (startedAt != null) {
+            startedAt = now;
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return startedAt != null;
+    }
+
+    public synchronized Duration getElapsed(Instant now) {
+        return startedAt == null ? elapsed : elapsed.plus(Duration.between(startedAt, now));
+    }
+
+    @Override
+    public long step(ZonedDateTime time) {
+        return getElapsed(time.toInstant()).getSeconds();
+    }
+
+    @Override
+    protected double[] handFractions(ZonedDateTime time) {
+        long seconds = getElapsed(time.toInstant()).getSeconds();
+        return new double[]{(seconds % 60) / 60d, (seconds / 60 % 60) / 60d};
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.complications;
+
+import org.clock.Complication;
+import org.clock.graphical.OffsetRadius;
+
+import java.awt.*;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.time.ZonedDateTime;
+
+/**
+ * Small round dial with 12 ticks, an optional label and hands. Subclasses give the hands' positions
+ * as fractions of a turn, the first hand is the longest and thinnest.
+ */
+public abstract class SubDial implements Complication {
+    private final Point2D center;
+    private final double radius;
+    private final Color color;
+    private final Color background;
+    private final String label;
+
+    /**
+     * @param background color filling the dial, null for none.
+     * @param label text under the dial's center, null for none.
+     */
+    protected SubDial(Point2D center, double radius, Color color, Color background, String label) {
+        this.center = center;
+        this.radius = radius;
+        this.color = color;
+        this.background = background;
+        this.label = label;
+    }
+
+    /** Positions of the hands at the clock's time, in turns from 12:00. */
+    protected abstract double[] handFractions(ZonedDateTime time);
+
+    @Override
+    public Rectangle2D getBounds() {
+        return new Rectangle2D.Double(center.getX() - radius, center.getY() - radius, 2 * radius, 2 * radius);
+    }
+
+    @Override
+    public void paint(Graphics2D graphics2D, OffsetRadius offsetRadius, ZonedDateTime time) {
+        Point2D c = offsetRadius.adjust(center);
+        double r = offsetRadius.adjustDimension(radius);
+        if (background != null) {
+            graphics2D.setColor(background);
+            graphics2D.fill(new Ellipse2D.Double(c.getX() - r, c.getY() - r, 2 * r, 2 * r));
+        }
+        graphics2D.setColor(color);
+        graphics2D.setStroke(new BasicStroke((float) (r * 0.04d)));
+        for (int i = 0; i < 12; i++) {
+            graphics2D.draw(radial(c, i / 12d, r * 0.8d, r * 0.95d));
+        }
+        if (label != null) {
+            Font font = new Font(Font.SANS_SERIF, Font.PLAIN, 1).deriveFont((float) (r * 0.25d));
+            FontMetrics metrics = graphics2D.getFontMetrics(font);
+            graphics2D.setFont(font);
+            graphics2D.drawString(label, (float) (c.getX() - metrics.stringWidth(label) / 2d), (float) (c.getY() + r * 0.5d));
+        }
+        double[] fractions = handFractions(time);
+        for (int i = 0; i < fractions.length; i++) {
+            graphics2D.setStroke(new BasicStroke((float) (r * (0.05d + 0.03d * i)), BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+            graphics2D.draw(radial(c, fractions[i], 0, r * (0.75d - 0.2d * i)));
+        }
+        graphics2D.fill(new Ellipse2D.Double(c.getX() - r * 0.08d, c.getY() - r * 0.08d, r * 0.16d, r * 0.16d));
+    }
+
+    private static Line2D radial(Point2D center, double fraction, double from, double to) {
+        double angle = 2 * Math.PI * fraction;
+        double x = Math.sin(angle);
+        double y = -Math.cos(angle);
+        return new Line2D.Double(
+                center.getX() + x * from, center.getY() + y * from,
+                center.getX() + x * to, center.getY() + y * to);
+    }
+}
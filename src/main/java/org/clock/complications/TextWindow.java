@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.complications;
+
+import org.clock.Complication;
+import org.clock.graphical.OffsetRadius;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.TextLayout;
+import java.awt.geom.Rectangle2D;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Window showing the time formatted as text, like the date or the day of the week. The text is
+ * centered in the window and sized to its height.
+ */
+public final class TextWindow implements Complication {
+    private static final double TEXT_HEIGHT = 0.6d;
+
+    private final Rectangle2D bounds;
+    private final Color color;
+    private final Color background;
+    private final String fontName;
+    private final DateTimeFormatter formatter;
+    private final Cadence cadence;
+    private final ZoneId zone;
+
+    /**
+     * @param background color filling the window, null for none.
+     * @param zone time zone of the text, null for the clock's.
+     */
+    public TextWindow(Rectangle2D bounds, Color color, Color background, String fontName, DateTimeFormatter formatter,
+                      Cadence cadence, ZoneId zone) {
+        this.bounds = bounds;
+        this.color = color;
+        this.background = background;
+        this.fontName = fontName;
+        this.formatter = formatter;
+        this.cadence = cadence;
+        this.zone = zone;
+    }
+
+    /** Day of the month, changing at midnight. */
+    public static TextWindow date(Rectangle2D bounds, Color color, Color background, String fontName) {
+        return new TextWindow(bounds, color, background, fontName, DateTimeFormatter.ofPattern("d"), Cadence.DAY, null);
+    }
+
+    /** Short name of the day of the week, changing at midnight. */
+    public static TextWindow dayOfWeek(Rectangle2D bounds, Color color, Color background, String fontName) {
+        return new TextWindow(bounds, color, background, fontName, DateTimeFormatter.ofPattern("EEE"), Cadence.DAY, null);
+    }
+
+    @Override
+    public Cadence getCadence() {
+        return cadence;
+    }
+
+    @Override
+    public long step(ZonedDateTime time) {
+        return cadence.step(localTime(time));
+    }
+
+    @Override
+    public Rectangle2D getBounds() {
+        return bounds;
+    }
+
+    String getText(ZonedDateTime time) {
+        return formatter.format(localTime(time));
+    }
+
+    @Override
+    public void paint(Graphics2D graphics2D, OffsetRadius offsetRadius, ZonedDateTime time) {
+        Rectangle2D window = offsetRadius.adjust(bounds);
+        if (background != null) {
+            graphics2D.setColor(background);
+            graphics2D.fill(window);
+        }
+        String text = getText(time);
+        if (text.isEmpty()) {
+            return;
+        }
+        Font font = new Font(fontName, Font.PLAIN, 1).deriveFont((float) (window.getHeight() * TEXT_HEIGHT));
+        FontRenderContext context = graphics2D.getFontRenderContext();
+        TextLayout layout = new TextLayout(text, font, context);
+        Rectangle2D textBounds = layout.getBounds();
+        graphics2D.setColor(color);
+        layout.draw(graphics2D,
+                (float) (window.getCenterX() - textBounds.getCenterX()),
+                (float) (window.getCenterY() - textBounds.getCenterY()));
+    }
+
+    private ZonedDateTime localTime(ZonedDateTime time) {
+        return zone == null ? time : time.withZoneSameInstant(zone);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.complications;
+
+import java.awt.*;
+import java.awt.geom.Point2D;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/** Sub-dial showing the hours and minutes in another time zone, changing every minute. */
+public final class TimeZoneDial extends SubDial {
+    private final ZoneId zone;
+
+    public TimeZoneDial(Point2D center, double radius, Color color, Color background, String label, ZoneId zone) {
+        super(center, radius, color, background, label);
+        this.zone = zone;
+    }
+
+    @Override
+    public Cadence getCadence() {
+        return Cadence.MINUTE;
+    }
+
+    @Override
+    public long step(ZonedDateTime time) {
+        return Cadence.MINUTE.step(time.withZoneSameInstant(zone));
+    }
+
+    @Override
+    protected double[] handFractions(ZonedDateTime time) {
+        ZonedDateTime local = time.withZoneSameInstant(zone);
+        double minutes = local.getMinute();
+        return new double[]{minutes / 60d, (local.getHour() % 12 + minutes / 60d) / 12d};
+    }
+}
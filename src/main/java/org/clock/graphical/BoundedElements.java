@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.clock.ClockUtils.boundsOnClock;
+import static org.clock.ClockUtils.paintOnClock;
+import static org.clock.ClockUtils.toRadians;
+
+/**
+ * Immutable list of elements with their local space bounds computed once, so painting can skip
+ * elements that fall outside the clip and callers can find where elements are drawn.
+ */
+public final class BoundedElements {
+    // Anti-aliasing can touch pixels just outside of the geometric bounds.
+    private static final double ANTIALIAS_PADDING = 1d;
+
+    private final List<GraphicalElement> elements;
+    private final List<Rectangle2D> bounds;
+    private final Rectangle2D unionBounds;
+
+    public BoundedElements(List<GraphicalElement> elements) {
+        this.elements = List.copyOf(elements);
+        ArrayList<Rectangle2D> boundsList = new ArrayList<>();
+        Rectangle2D union = null;
+        for (GraphicalElement element : this.elements) {
+            Rectangle2D elementBounds = element.getBounds();
+            boundsList.add(elementBounds);
+            if (union == null) {
+                union = (Rectangle2D) elementBounds.clone();
+            } else {
+                union.add(elementBounds);
+            }
+        }
+        this.bounds = List.copyOf(boundsList);
+        this.unionBounds = union;
+    }
+
+    public List<GraphicalElement> getElements() {
+        return elements;
+    }
+
+    /** Local space bounds of each element, in the same order as {@link #getElements()}. */
+    public List<Rectangle2D> getElementBounds() {
+        return bounds;
+    }
+
+    /** Local space bounds of all elements, empty if there are no elements. */
+    public Optional<Rectangle2D> getBounds() {
+        return Optional.ofNullable(unionBounds).map(b -> (Rectangle2D) b.clone());
+    }
+
+    /** Screen bounds of all elements when painted on the clock at the given fraction of a turn. */
+    public Optional<Rectangle2D> getBoundsOnClock(OffsetRadius offsetRadius, double fraction) {
+        return Optional.ofNullable(unionBounds).map(b -> pad(boundsOnClock(b, offsetRadius, fraction)));
+    }
+
+    public void draw(Graphics2D graphics2D, OffsetRadius offsetRadius) {
+        Rectangle clip = graphics2D.getClipBounds();
+        for (int i = 0; i < elements.size(); i++) {
+            if (clip == null || pad(offsetRadius.adjust(bounds.get(i))).intersects(clip)) {
+                elements.get(i).adjust(offsetRadius).draw(graphics2D);
+            }
+        }
+    }
+
+    public void drawOnClock(Graphics2D graphics2D, OffsetRadius offsetRadius, double fraction) {
+        Rectangle clip = graphics2D.getClipBounds();
+        for (int i = 0; i < elements.size(); i++) {
+            if (clip == null || pad(boundsOnClock(bounds.get(i), offsetRadius, fraction)).intersects(clip)) {
+                paintOnClock(graphics2D, elements.get(i), offsetRadius, fraction);
+            }
+        }
+    }
+
+    /** Renders the elements without Java2D, see {@link GraphicalElement#render}. */
+    public void render(RenderTarget target, OffsetRadius offsetRadius) {
+        elements.forEach(e -> e.adjust(offsetRadius).render(target));
+    }
+
+    public void renderOnClock(RenderTarget target, OffsetRadius offsetRadius, double fraction) {
+        double theta = toRadians(0.5d + fraction);
+        elements.forEach(e -> e.rotate(theta).adjust(offsetRadius).render(target));
+    }
+
+    /** Elements simplified for drawing where details smaller than minimumSize (unit space) are not visible. */
+    public BoundedElements levelOfDetail(double minimumSize) {
+        if (minimumSize <= 0) {
+            return this;
+        }
+        ArrayList<GraphicalElement> simplified = new ArrayList<>();
+        elements.forEach(e -> e.levelOfDetail(minimumSize).ifPresent(simplified::add));
+        return new BoundedElements(simplified);
+    }
+
+    private static Rectangle2D pad(Rectangle2D screenBounds) {
+        return new Rectangle2D.Double(
+                screenBounds.getX() - ANTIALIAS_PADDING,
+                screenBounds.getY() - ANTIALIAS_PADDING,
+                screenBounds.getWidth() + 2 * ANTIALIAS_PADDING,
+                screenBounds.getHeight() + 2 * ANTIALIAS_PADDING);
+    }
+}
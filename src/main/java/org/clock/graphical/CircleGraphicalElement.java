@@ -18,6 +18,8 @@ package org.clock.graphical;
 import java.awt.*;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Optional;
 
 import static org.clock.graphical.FilledPoly.rotatePoint;
 
@@ -38,8 +40,31 @@ public record CircleGraphicalElement(Color color, Point2D center, double radius)
 
     @Override
     public void draw(Graphics2D graphics2D) {
-        double diameter = radius * 2;
         graphics2D.setColor(color);
-        graphics2D.fill(new Ellipse2D.Double(center.getX() - radius, center.getY() - radius, diameter, diameter));
+        graphics2D.fill(toShape());
+    }
+
+    @Override
+    public void render(RenderTarget target) {
+        target.fill(toShape(), color);
+    }
+
+    public Shape toShape() {
+        double diameter = radius * 2;
+        return new Ellipse2D.Double(center.getX() - radius, center.getY() - radius, diameter, diameter);
+    }
+
+    @Override
+    public Rectangle2D getBounds() {
+        double diameter = radius * 2;
+        return new Rectangle2D.Double(center.getX() - radius, center.getY() - radius, diameter, diameter);
+    }
+
+    @Override
+    public Optional<GraphicalElement> levelOfDetail(double minimumSize) {
+        if (Math.PI * radius * radius < minimumSize * minimumSize) {
+            return Optional.empty();
+        }
+        return Optional.of(this);
     }
 }
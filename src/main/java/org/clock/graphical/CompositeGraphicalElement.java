@@ -16,12 +16,16 @@
 package org.clock.graphical;
 
 import java.awt.*;
+import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
+import java.util.Optional;
 
 import static org.clock.ClockUtils.toRadians;
 
 public class CompositeGraphicalElement implements GraphicalElement {
     final java.util.List<GraphicalElement> elements;
+    // Unrotated element repeated by ticks(), kept so the ticks can be drawn from a SpriteAtlas.
+    private final GraphicalElement tickBase;
 
     public static CompositeGraphicalElement ticks(GraphicalElement base, int ticks) {
         java.util.List<GraphicalElement> elements = new ArrayList<>();
@@ -29,12 +33,38 @@ public class CompositeGraphicalElement implements GraphicalElement {
             double theta = toRadians(0.5d + i/ticks);
             elements.add(base.rotate(theta));
         }
-        return new CompositeGraphicalElement(elements);
+        return new CompositeGraphicalElement(elements, base);
     }
 
     private CompositeGraphicalElement(java.util.List<GraphicalElement> elements) {
+        this(elements, null);
+    }
+
+    private CompositeGraphicalElement(java.util.List<GraphicalElement> elements, GraphicalElement tickBase) {
         this.elements = elements;
+        this.tickBase = tickBase;
+    }
+
+    /** The element repeated around the clock, when this composite was made by ticks(). */
+    public Optional<GraphicalElement> getTickBase() {
+        return Optional.ofNullable(tickBase);
+    }
+
+    /**
+     * Whether each tick is the base rotated around the center. Text ticks aren't: their position
+     * turns but the text stays upright.
+     */
+    public boolean isRotatedTicks() {
+        return tickBase != null && !(tickBase instanceof TextGraphicalElement);
     }
+
+    public int getTickCount() {
+        return tickBase == null ? 0 : elements.size();
+    }
+    public java.util.List<GraphicalElement> getElements() {
+        return java.util.Collections.unmodifiableList(elements);
+    }
+
     @Override
     public GraphicalElement rotate(double theta) {
         return new CompositeGraphicalElement(elements.stream().map(e -> e.rotate(theta)).toList());
@@ -49,4 +79,32 @@ public class CompositeGraphicalElement implements GraphicalElement {
     public void draw(Graphics2D graphics2D) {
         elements.forEach(e -> e.draw(graphics2D));
     }
+
+    @Override
+    public void render(RenderTarget target) {
+        elements.forEach(e -> e.render(target));
+    }
+
+    @Override
+    public Rectangle2D getBounds() {
+        Rectangle2D bounds = null;
+        for (GraphicalElement element : elements) {
+            if (bounds == null) {
+                bounds = element.getBounds();
+            } else {
+                bounds.add(element.getBounds());
+            }
+        }
+        return bounds == null ? new Rectangle2D.Double() : bounds;
+    }
+
+    @Override
+    public Optional<GraphicalElement> levelOfDetail(double minimumSize) {
+        java.util.List<GraphicalElement> simplified = new ArrayList<>();
+        elements.forEach(e -> e.levelOfDetail(minimumSize).ifPresent(simplified::add));
+        if (simplified.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new CompositeGraphicalElement(simplified));
+    }
 }
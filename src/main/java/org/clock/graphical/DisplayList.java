@@ -0,0 +1,400 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import org.clock.HoursMinutesSeconds;
+import org.clock.Style;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import static org.clock.ClockUtils.toRadians;
+
+/**
+ * Flat, immutable list of drawing operations a style compiles into (see {@link Style#compile}),
+ * drawn by {@link #draw} without running the style's code or creating element objects.
+ * Operations are packed into arrays: one opcode per operation, int operands (paint index,
+ * winding rule, segment count, hand), path segment types and float coordinates, each read in
+ * order. The clock is compiled centered on the origin with a radius of {@link #RADIUS}; the hands
+ * are in PUSH_HAND scopes rotated by the time when drawing.
+ * {@link #getOps()} decodes the operations for inspection and {@link DisplayListOptimizer}'s
+ * passes, {@link #dump()} lists them for debugging.
+ */
+public final class DisplayList {
+    /** Radius the clock is compiled at, large enough that text outlines aren't distorted by hinting. */
+    public static final double RADIUS = 512;
+    public static final int MINUTE_HAND = 0;
+    public static final int HOUR_HAND = 1;
+    public static final int SECOND_HAND = 2;
+
+    static final byte SET_PAINT = 0;
+    static final byte FILL = 1;
+    static final byte PUSH_TRANSFORM = 2;
+    static final byte PUSH_HAND = 3;
+    static final byte POP = 4;
+
+    private static final String[] HAND_NAMES = {"minute", "hour", "second"};
+
+    private final byte[] opcodes;
+    private final int[] operands;
+    private final byte[] segments;
+    private final float[] coords;
+    private final Paint[] paints;
+
+    /** Decoded operation, see {@link #getOps()}. */
+    public sealed interface Op permits SetPaint, Fill, PushTransform, PushHand, Pop {
+    }
+
+    public record SetPaint(Paint paint) implements Op {
+    }
+
+    /** Fills the path, which must not be modified. */
+    public record Fill(Path2D.Float path) implements Op {
+    }
+
+    /** Concatenates a transform known when compiling, until the matching Pop. */
+    public record PushTransform(AffineTransform transform) implements Op {
+    }
+
+    /** Rotates by the hand's fraction of a turn when drawing, until the matching Pop. */
+    public record PushHand(int hand) implements Op {
+    }
+
+    public record Pop() implements Op {
+    }
+
+    private DisplayList(byte[] opcodes, int[] operands, byte[] segments, float[] coords, Paint[] paints) {
+        this.opcodes = opcodes;
+        this.operands = operands;
+        this.segments = segments;
+        this.coords = coords;
+        this.paints = paints;
+    }
+
+    /** Compiles the style at the given time (only the face of a non-static face depends on it) and optimizes it. */
+    public static DisplayList compile(Style style, HoursMinutesSeconds hoursMinutesSeconds) {
+        Builder builder = new Builder();
+        style.compile(builder, hoursMinutesSeconds);
+        return DisplayListOptimizer.optimize(builder.build());
+    }
+
+    public static DisplayList of(List<Op> ops) {
+        Builder builder = new Builder();
+        ops.forEach(builder::add);
+        return builder.build();
+    }
+
+    /** Draws the clock at the offset and radius, with the hands at the given time. */
+    public void draw(Graphics2D graphics2D, OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        double[] fractions = {
+                hoursMinutesSeconds.minutes() / 60d, hoursMinutesSeconds.hours() / 12d, hoursMinutesSeconds.seconds() / 60d};
+        Graphics2D g = (Graphics2D) graphics2D.create();
+        try {
+            g.translate(offsetRadius.offsetX(), offsetRadius.offsetY());
+            g.scale(offsetRadius.radius() / RADIUS, offsetRadius.radius() / RADIUS);
+            Deque<AffineTransform> saved = new ArrayDeque<>();
+            Path2D.Float path = new Path2D.Float();
+            int operand = 0;
+            int segment = 0;
+            int coord = 0;
+            for (byte opcode : opcodes) {
+                switch (opcode) {
+                    case SET_PAINT -> g.setPaint(paints[operands[operand++]]);
+                    case FILL -> {
+                        path.reset();
+                        path.setWindingRule(operands[operand++]);
+                        int end = segment + operands[operand++];
+                        coord = appendSegments(path, segment, end, coord);
+                        segment = end;
+                        g.fill(path);
+                    }
+                    case PUSH_TRANSFORM -> {
+                        saved.push(g.getTransform());
+                        g.transform(new AffineTransform(coords[coord], coords[coord + 1], coords[coord + 2],
+                                coords[coord + 3], coords[coord + 4], coords[coord + 5]));
+                        coord += 6;
+                    }
+                    case PUSH_HAND -> {
+                        saved.push(g.getTransform());
+                        g.rotate(toRadians(fractions[operands[operand++]]));
+                    }
+                    case POP -> g.setTransform(saved.pop());
+                    default -> throw new IllegalStateException("Unknown opcode " + opcode);
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /** Appends the segments from start to end to the path, returning the index of the next coordinate. */
+    private int appendSegments(Path2D.Float path, int start, int end, int coord) {
+        for (int i = start; i < end; i++) {
+            switch (segments[i]) {
+                case PathIterator.SEG_MOVETO -> path.moveTo(coords[coord++], coords[coord++]);
+                case PathIterator.SEG_LINETO -> path.lineTo(coords[coord++], coords[coord++]);
+                case PathIterator.SEG_QUADTO -> path.quadTo(coords[coord++], coords[coord++],
+                        coords[coord++], coords[coord++]);
+                case PathIterator.SEG_CUBICTO -> path.curveTo(coords[coord++], coords[coord++],
+                        coords[coord++], coords[coord++], coords[coord++], coords[coord++]);
+                case PathIterator.SEG_CLOSE -> path.closePath();
+            }
+        }
+        return coord;
+    }
+
+    /** The operations, decoded from the packed arrays. */
+    public List<Op> getOps() {
+        List<Op> ops = new ArrayList<>(opcodes.length);
+        int operand = 0;
+        int segment = 0;
+        int coord = 0;
+        for (byte opcode : opcodes) {
+            switch (opcode) {
+                case SET_PAINT -> ops.add(new SetPaint(paints[operands[operand++]]));
+                case FILL -> {
+                    Path2D.Float path = new Path2D.Float(operands[operand++]);
+                    int end = segment + operands[operand++];
+                    coord = appendSegments(path, segment, end, coord);
+                    segment = end;
+                    ops.add(new Fill(path));
+                }
+                case PUSH_TRANSFORM -> {
+                    ops.add(new PushTransform(new AffineTransform(Arrays.copyOfRange(coords, coord, coord + 6))));
+                    coord += 6;
+                }
+                case PUSH_HAND -> ops.add(new PushHand(operands[operand++]));
+                case POP -> ops.add(new Pop());
+                default -> throw new IllegalStateException("Unknown opcode " + opcode);
+            }
+        }
+        return ops;
+    }
+
+    public int getOpCount() {
+        return opcodes.length;
+    }
+
+    public int getFillCount() {
+        int fills = 0;
+        for (byte opcode : opcodes) {
+            if (opcode == FILL) {
+                fills++;
+            }
+        }
+        return fills;
+    }
+
+    /** Size of the packed arrays in bytes, not counting the paints. */
+    public long getBytes() {
+        return opcodes.length + 4L * operands.length + segments.length + 4L * coords.length;
+    }
+
+    /** One line per operation, fills with their segment count and bounds. */
+    public String dump() {
+        StringBuilder dump = new StringBuilder(toString()).append('\n');
+        String indent = "";
+        int index = 0;
+        for (Op op : getOps()) {
+            if (op instanceof Pop) {
+                indent = indent.substring(2);
+            }
+            dump.append(String.format("%5d ", index++)).append(indent);
+            if (op instanceof SetPaint setPaint) {
+                dump.append("SET_PAINT ").append(describe(setPaint.paint()));
+            } else if (op instanceof Fill fill) {
+                Rectangle2D bounds = fill.path().getBounds2D();
+                int segmentCount = 0;
+                for (PathIterator i = fill.path().getPathIterator(null); !i.isDone(); i.next()) {
+                    segmentCount++;
+                }
+                dump.append(String.format("FILL %s, %d segments, bounds %.1f,%.1f %.1fx%.1f",
+                        fill.path().getWindingRule() == Path2D.WIND_EVEN_ODD ? "evenodd" : "nonzero", segmentCount,
+                        bounds.getX(), bounds.getY(), bounds.getWidth(), bounds.getHeight()));
+            } else if (op instanceof PushTransform push) {
+                double[] matrix = new double[6];
+                push.transform().getMatrix(matrix);
+                dump.append("PUSH_TRANSFORM ").append(Arrays.toString(matrix));
+            } else if (op instanceof PushHand push) {
+                dump.append("PUSH_HAND ").append(HAND_NAMES[push.hand()]);
+            } else {
+                dump.append("POP");
+            }
+            dump.append('\n');
+            if (op instanceof PushTransform || op instanceof PushHand) {
+                indent += "  ";
+            }
+        }
+        return dump.toString();
+    }
+
+    private static String describe(Paint paint) {
+        if (paint instanceof Color color) {
+            return String.format("#%08x", color.getRGB());
+        }
+        return paint.getClass().getSimpleName();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DisplayList: %d ops, %d fills, %d paints, %d segments, %d bytes",
+                opcodes.length, getFillCount(), paints.length, segments.length, getBytes());
+    }
+
+    /**
+     * Appends operations and packs them into a DisplayList. As a RenderTarget each filled shape
+     * becomes a SET_PAINT and a FILL, {@link DisplayListOptimizer} removes the repeated paints.
+     */
+    public static final class Builder implements RenderTarget {
+        private byte[] opcodes = new byte[64];
+        private int opcodeCount = 0;
+        private int[] operands = new int[128];
+        private int operandCount = 0;
+        private byte[] segments = new byte[256];
+        private int segmentCount = 0;
+        private float[] coords = new float[512];
+        private int coordCount = 0;
+        private final List<Paint> paints = new ArrayList<>();
+        private int depth = 0;
+
+        @Override
+        public void fill(Shape shape, Paint paint) {
+            setPaint(paint);
+            fill(shape);
+        }
+
+        public void setPaint(Paint paint) {
+            int index = paints.indexOf(paint);
+            if (index < 0) {
+                index = paints.size();
+                paints.add(paint);
+            }
+            opcode(SET_PAINT);
+            operand(index);
+        }
+
+        public void fill(Shape shape) {
+            PathIterator iterator = shape.getPathIterator(null);
+            opcode(FILL);
+            operand(iterator.getWindingRule());
+            int segmentCountOperand = operandCount;
+            operand(0);
+            float[] segment = new float[6];
+            int start = segmentCount;
+            for (; !iterator.isDone(); iterator.next()) {
+                int type = iterator.currentSegment(segment);
+                int count = switch (type) {
+                    case PathIterator.SEG_MOVETO, PathIterator.SEG_LINETO -> 2;
+                    case PathIterator.SEG_QUADTO -> 4;
+                    case PathIterator.SEG_CUBICTO -> 6;
+                    default -> 0;
+                };
+                if (segmentCount == segments.length) {
+                    segments = Arrays.copyOf(segments, segmentCount * 2);
+                }
+                segments[segmentCount++] = (byte) type;
+                coords(segment, count);
+            }
+            operands[segmentCountOperand] = segmentCount - start;
+        }
+
+        public void pushTransform(AffineTransform transform) {
+            double[] matrix = new double[6];
+            transform.getMatrix(matrix);
+            float[] floats = new float[6];
+            for (int i = 0; i < 6; i++) {
+                floats[i] = (float) matrix[i];
+            }
+            opcode(PUSH_TRANSFORM);
+            coords(floats, 6);
+            depth++;
+        }
+
+        /** Starts the scope of one of the hands, MINUTE_HAND, HOUR_HAND or SECOND_HAND. */
+        public void pushHand(int hand) {
+            if (hand < MINUTE_HAND || hand > SECOND_HAND) {
+                throw new IllegalArgumentException("Unknown hand " + hand);
+            }
+            opcode(PUSH_HAND);
+            operand(hand);
+            depth++;
+        }
+
+        public void pop() {
+            if (depth == 0) {
+                throw new IllegalStateException("Pop without a push.");
+            }
+            opcode(POP);
+            depth--;
+        }
+
+        public void add(Op op) {
+            if (op instanceof SetPaint setPaint) {
+                setPaint(setPaint.paint());
+            } else if (op instanceof Fill fill) {
+                fill(fill.path());
+            } else if (op instanceof PushTransform push) {
+                pushTransform(push.transform());
+            } else if (op instanceof PushHand push) {
+                pushHand(push.hand());
+            } else {
+                pop();
+            }
+        }
+
+        public DisplayList build() {
+            if (depth != 0) {
+                throw new IllegalStateException(depth + " pushes without a pop.");
+            }
+            return new DisplayList(
+                    Arrays.copyOf(opcodes, opcodeCount),
+                    Arrays.copyOf(operands, operandCount),
+                    Arrays.copyOf(segments, segmentCount),
+                    Arrays.copyOf(coords, coordCount),
+                    paints.toArray(new Paint[0]));
+        }
+
+        private void opcode(byte opcode) {
+            if (opcodeCount == opcodes.length) {
+                opcodes = Arrays.copyOf(opcodes, opcodeCount * 2);
+            }
+            opcodes[opcodeCount++] = opcode;
+        }
+
+        private void operand(int operand) {
+            if (operandCount == operands.length) {
+                operands = Arrays.copyOf(operands, operandCount * 2);
+            }
+            operands[operandCount++] = operand;
+        }
+
+        private void coords(float[] values, int count) {
+            if (coordCount + count > coords.length) {
+                coords = Arrays.copyOf(coords, Math.max(coords.length * 2, coordCount + count));
+            }
+            System.arraycopy(values, 0, coords, coordCount, count);
+            coordCount += count;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import org.clock.graphical.DisplayList.*;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Area;
+import java.awt.geom.Path2D;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Passes rewriting a display list into one drawing the same picture with fewer operations:
+ * - transforms known when compiling are folded into the coordinates of the fills they scope,
+ *   unless a hand, whose rotation is only known when drawing, is inside their scope; gradients
+ *   are folded with the transform of the fills they paint,
+ * - paints set again to the current paint or replaced before any fill are removed,
+ * - consecutive fills of the same opaque color are merged into one path.
+ * As in ShapeOptimizer only fully opaque solid colors are merged, since overlapping translucent
+ * shapes blend differently when filled as one.
+ */
+public final class DisplayListOptimizer {
+
+    public static DisplayList optimize(DisplayList displayList) {
+        List<Op> ops = displayList.getOps();
+        ops = foldTransforms(ops);
+        ops = removeRedundantPaints(ops);
+        ops = mergeFills(ops);
+        return DisplayList.of(ops);
+    }
+
+    public static List<Op> foldTransforms(List<Op> ops) {
+        boolean[] containsHand = new boolean[ops.size()];
+        Deque<Integer> open = new ArrayDeque<>();
+        for (int i = 0; i < ops.size(); i++) {
+            Op op = ops.get(i);
+            if (op instanceof PushTransform) {
+                open.push(i);
+            } else if (op instanceof PushHand) {
+                open.forEach(index -> containsHand[index] = true);
+                open.push(i);
+            } else if (op instanceof Pop) {
+                open.pop();
+            }
+        }
+        List<Op> folded = new ArrayList<>();
+        // The transform folded into the coordinates of each open scope, null where the push was kept.
+        Deque<AffineTransform> scopes = new ArrayDeque<>();
+        AffineTransform fold = new AffineTransform();
+        // The paint last set, and the fold its SET_PAINT was written with.
+        Paint paint = null;
+        AffineTransform paintFold = fold;
+        for (int i = 0; i < ops.size(); i++) {
+            Op op = ops.get(i);
+            if (op instanceof PushTransform push && !containsHand[i]) {
+                scopes.push(fold);
+                fold = new AffineTransform(fold);
+                fold.concatenate(push.transform());
+            } else if (op instanceof PushTransform || op instanceof PushHand) {
+                // Folded scopes contain no hands, so the kept push isn't inside one and fold is the identity.
+                scopes.push(fold);
+                folded.add(op);
+            } else if (op instanceof Pop) {
+                AffineTransform outer = scopes.pop();
+                if (outer == fold) {
+                    folded.add(op);
+                }
+                fold = outer;
+            } else if (op instanceof SetPaint setPaint) {
+                paint = setPaint.paint();
+                paintFold = fold;
+                folded.add(fold.isIdentity() ? op : new SetPaint(RenderTargetGraphics2D.devicePaint(paint, fold)));
+            } else if (op instanceof Fill fill) {
+                // Paints apply in the space of the fill, a gradient set in another scope is folded again.
+                if (paint != null && !(paint instanceof Color) && !paintFold.equals(fold)) {
+                    folded.add(new SetPaint(RenderTargetGraphics2D.devicePaint(paint, fold)));
+                    paintFold = fold;
+                }
+                folded.add(fold.isIdentity() ? op : new Fill(new Path2D.Float(fill.path(), fold)));
+            } else {
+                folded.add(op);
+            }
+        }
+        return folded;
+    }
+
+    public static List<Op> removeRedundantPaints(List<Op> ops) {
+        List<Op> kept = new ArrayList<>();
+        Paint current = null;
+        Paint pending = null;
+        for (Op op : ops) {
+            if (op instanceof SetPaint setPaint) {
+                pending = setPaint.paint();
+            } else if (op instanceof Fill) {
+                if (pending != null && !pending.equals(current)) {
+                    kept.add(new SetPaint(pending));
+                    current = pending;
+                }
+                pending = null;
+                kept.add(op);
+            } else {
+                kept.add(op);
+            }
+        }
+        return kept;
+    }
+
+    public static List<Op> mergeFills(List<Op> ops) {
+        List<Op> merged = new ArrayList<>();
+        Paint current = null;
+        int i = 0;
+        while (i < ops.size()) {
+            Op op = ops.get(i);
+            if (op instanceof SetPaint setPaint) {
+                current = setPaint.paint();
+            }
+            int end = i + 1;
+            if (op instanceof Fill && current instanceof Color color && color.getAlpha() == 255) {
+                while (end < ops.size() && ops.get(end) instanceof Fill) {
+                    end++;
+                }
+            }
+            if (end - i > 1) {
+                Area area = new Area();
+                for (int j = i; j < end; j++) {
+                    area.add(new Area(((Fill) ops.get(j)).path()));
+                }
+                merged.add(new Fill(new Path2D.Float(area)));
+            } else {
+                merged.add(op);
+            }
+            i = end;
+        }
+        return merged;
+    }
+
+    private DisplayListOptimizer() {}
+}
@@ -18,13 +18,19 @@ package org.clock.graphical;
 import java.awt.*;
 import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 
 import static java.lang.Math.cos;
 import static java.lang.Math.sin;
 
 public class FilledPoly implements GraphicalElement {
+    private static final double COLLINEAR_TOLERANCE = 1e-9;
+
     protected final Point2D[] points;
     private final Paint paint;
 
@@ -34,14 +40,89 @@ public class FilledPoly implements GraphicalElement {
     }
 
     public void draw(Graphics2D graphics2D) {
+        graphics2D.setPaint(paint);
+        graphics2D.fill(toPath());
+    }
+
+    @Override
+    public void render(RenderTarget target) {
+        target.fill(toPath(), paint);
+    }
+
+    public Paint getPaint() {
+        return paint;
+    }
+
+    public Path2D toPath() {
         Path2D path2D = new Path2D.Double();
         path2D.moveTo(points[0].getX(), points[0].getY());
         for (int i = 1; i < points.length; i++) {
             path2D.lineTo(points[i].getX(), points[i].getY());
         }
         path2D.closePath();
-        graphics2D.setPaint(paint);
-        graphics2D.fill(path2D);
+        return path2D;
+    }
+
+    /** Same polygon without repeated points and points lying on the line between their neighbours. */
+    public FilledPoly withoutCollinearPoints() {
+        List<Point2D> kept = new ArrayList<>();
+        for (int i = 0; i < points.length; i++) {
+            Point2D previous = kept.isEmpty() ? points[points.length - 1] : kept.get(kept.size() - 1);
+            Point2D next = points[(i + 1) % points.length];
+            if (!isCollinear(previous, points[i], next)) {
+                kept.add(points[i]);
+            }
+        }
+        if (kept.size() < 3 || kept.size() == points.length) {
+            return this;
+        }
+        return new FilledPoly(paint, kept.toArray(new Point2D[0]));
+    }
+
+    private static boolean isCollinear(Point2D a, Point2D b, Point2D c) {
+        double cross = (b.getX() - a.getX()) * (c.getY() - a.getY()) - (b.getY() - a.getY()) * (c.getX() - a.getX());
+        double scale = Math.max(a.distanceSq(b), a.distanceSq(c));
+        return Math.abs(cross) <= COLLINEAR_TOLERANCE * scale;
+    }
+
+    @Override
+    public Rectangle2D getBounds() {
+        Rectangle2D bounds = new Rectangle2D.Double(points[0].getX(), points[0].getY(), 0, 0);
+        for (int i = 1; i < points.length; i++) {
+            bounds.add(points[i]);
+        }
+        return bounds;
+    }
+
+    @Override
+    public Optional<GraphicalElement> levelOfDetail(double minimumSize) {
+        Rectangle2D bounds = getBounds();
+        if (bounds.getWidth() * bounds.getHeight() < minimumSize * minimumSize) {
+            return Optional.empty();
+        }
+        // drop vertices that are closer than minimumSize to the line between their neighbours.
+        List<Point2D> kept = new ArrayList<>();
+        kept.add(points[0]);
+        for (int i = 1; i < points.length; i++) {
+            Point2D next = points[(i + 1) % points.length];
+            if (distanceToLine(points[i], kept.get(kept.size() - 1), next) >= minimumSize) {
+                kept.add(points[i]);
+            }
+        }
+        if (kept.size() < 3 || kept.size() == points.length) {
+            return Optional.of(this);
+        }
+        return Optional.of(new FilledPoly(paint, kept.toArray(new Point2D[0])));
+    }
+
+    private static double distanceToLine(Point2D point, Point2D lineStart, Point2D lineEnd) {
+        double length = lineStart.distance(lineEnd);
+        if (length == 0) {
+            return point.distance(lineStart);
+        }
+        double cross = (lineEnd.getX() - lineStart.getX()) * (lineStart.getY() - point.getY())
+                - (lineStart.getX() - point.getX()) * (lineEnd.getY() - lineStart.getY());
+        return Math.abs(cross) / length;
     }
 
     public FilledPoly transform(Function<Point2D, Point2D> func) {
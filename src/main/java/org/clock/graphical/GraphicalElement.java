@@ -16,6 +16,8 @@
 package org.clock.graphical;
 
 import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.util.Optional;
 
 public interface GraphicalElement {
     GraphicalElement rotate(double theta);
@@ -23,4 +25,16 @@ public interface GraphicalElement {
     GraphicalElement adjust(OffsetRadius offsetRadius);
 
     void draw(Graphics2D graphics2D);
+
+    /** Fills the element's shapes into the target, the same shapes draw() fills with Java2D. */
+    void render(RenderTarget target);
+
+    /** Bounds of the element in its current coordinate space. */
+    Rectangle2D getBounds();
+
+    /**
+     * Simplified version of the element for drawing where details smaller than minimumSize (in the
+     * element's coordinate space) cannot be seen, or empty if the whole element is too small to draw.
+     */
+    Optional<GraphicalElement> levelOfDetail(double minimumSize);
 }
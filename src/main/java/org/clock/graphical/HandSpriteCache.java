@@ -0,0 +1,157 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import org.clock.ClockUtils;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+
+/**
+ * Pre-rendered images of hands at a fixed number of angles per turn. A hand is drawn by copying
+ * the image for the nearest angle instead of filling its rotated shapes, sprites are rendered the
+ * first time their angle, size and position is needed. The cache holds at most maxBytes of images
+ * and evicts the least recently drawn sprites beyond that.
+ */
+public final class HandSpriteCache {
+    private final int angles;
+    private final long maxBytes;
+    private final LinkedHashMap<Key, Sprite> sprites = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    // OffsetRadius in device pixels, so a sprite is only reused at the same size and sub-pixel position.
+    private record Key(BoundedElements hand, OffsetRadius deviceOffsetRadius, int angle) {}
+
+    private record Sprite(BufferedImage image, int x, int y) {
+        long bytes() {
+            return 4L * image.getWidth() * image.getHeight();
+        }
+    }
+
+    public HandSpriteCache(int angles, long maxBytes) {
+        if (angles <= 0) {
+            throw new IllegalArgumentException("angles must be positive: " + angles);
+        }
+        this.angles = angles;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Draws the hand like {@link BoundedElements#drawOnClock} at the nearest cached angle. Graphics
+     * that rotate or shear are drawn with the hand's shapes.
+     */
+    public void drawOnClock(Graphics2D graphics2D, BoundedElements hand, OffsetRadius offsetRadius, double fraction) {
+        AffineTransform transform = graphics2D.getTransform();
+        OptionalDouble deviceScale = ClockUtils.deviceScale(transform);
+        if (deviceScale.isEmpty()) {
+            hand.drawOnClock(graphics2D, offsetRadius, fraction);
+            return;
+        }
+        double scale = deviceScale.getAsDouble();
+        OffsetRadius deviceOffsetRadius = new OffsetRadius(
+                offsetRadius.offsetX() * scale, offsetRadius.offsetY() * scale, offsetRadius.radius() * scale);
+        int angle = Math.floorMod(Math.round(fraction * angles), angles);
+        Optional<Sprite> sprite = sprite(new Key(hand, deviceOffsetRadius, angle), graphics2D);
+        if (sprite.isEmpty()) {
+            hand.drawOnClock(graphics2D, offsetRadius, fraction);
+            return;
+        }
+        graphics2D.setTransform(AffineTransform.getTranslateInstance(transform.getTranslateX(), transform.getTranslateY()));
+        graphics2D.drawImage(sprite.get().image(), sprite.get().x(), sprite.get().y(), null);
+        graphics2D.setTransform(transform);
+    }
+
+    /** The fraction of a turn a hand is drawn at, the nearest of the cached angles. */
+    public double quantize(double fraction) {
+        return Math.floorMod(Math.round(fraction * angles), angles) / (double) angles;
+    }
+
+    /** Bytes of sprite images currently cached. */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized int getSpriteCount() {
+        return sprites.size();
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public int getAngles() {
+        return angles;
+    }
+
+    /** The cached sprite, or a newly rendered one; empty for empty hands or sprites larger than the cache. */
+    private Optional<Sprite> sprite(Key key, Graphics2D graphics2D) {
+        synchronized (this) {
+            Sprite sprite = sprites.get(key);
+            if (sprite != null) {
+                return Optional.of(sprite);
+            }
+        }
+        Optional<Sprite> rendered = render(key, graphics2D);
+        if (rendered.isEmpty() || rendered.get().bytes() > maxBytes) {
+            return Optional.empty();
+        }
+        synchronized (this) {
+            Sprite previous = sprites.put(key, rendered.get());
+            bytes += rendered.get().bytes() - (previous == null ? 0 : previous.bytes());
+            Iterator<Map.Entry<Key, Sprite>> eldest = sprites.entrySet().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().getValue().bytes();
+                eldest.remove();
+            }
+        }
+        return rendered;
+    }
+
+    private Optional<Sprite> render(Key key, Graphics2D graphics2D) {
+        double fraction = key.angle() / (double) angles;
+        Optional<Rectangle2D> bounds = key.hand().getBoundsOnClock(key.deviceOffsetRadius(), fraction);
+        if (bounds.isEmpty()) {
+            return Optional.empty();
+        }
+        int x = (int) Math.floor(bounds.get().getMinX());
+        int y = (int) Math.floor(bounds.get().getMinY());
+        int width = (int) Math.ceil(bounds.get().getMaxX()) - x;
+        int height = (int) Math.ceil(bounds.get().getMaxY()) - y;
+        if (width <= 0 || height <= 0) {
+            return Optional.empty();
+        }
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D spriteGraphics = image.createGraphics();
+        spriteGraphics.setRenderingHints(graphics2D.getRenderingHints());
+        spriteGraphics.translate(-x, -y);
+        key.hand().drawOnClock(spriteGraphics, key.deviceOffsetRadius(), fraction);
+        spriteGraphics.dispose();
+        return Optional.of(new Sprite(image, x, y));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Hand sprites: %d at %d angles, %.1f of %.1f MB",
+                getSpriteCount(), angles, getBytes() / 1e6, maxBytes / 1e6);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+
+/**
+ * Maps clock radii to levels of detail. Level 0 draws everything, each further level halves the
+ * radius it is used for and doubles the size (in unit space) of details that are dropped.
+ */
+public final class LevelOfDetail {
+    // Clocks with at least this radius in pixels are drawn with full detail.
+    public static final double FULL_DETAIL_RADIUS = 128d;
+    // Details smaller than this many pixels are dropped or simplified.
+    private static final double PIXEL_THRESHOLD = 1d;
+    private static final int MAX_LEVEL = 6;
+
+    public static int level(double radius) {
+        if (radius >= FULL_DETAIL_RADIUS) {
+            return 0;
+        }
+        if (radius <= 0) {
+            return MAX_LEVEL;
+        }
+        int level = 1 + (int) Math.floor(Math.log(FULL_DETAIL_RADIUS / radius) / Math.log(2d));
+        return Math.min(MAX_LEVEL, level);
+    }
+
+    /** Level for a clock drawn with the graphics, whose transform may scale to device pixels (HiDPI screens). */
+    public static int level(Graphics2D graphics2D, double radius) {
+        AffineTransform transform = graphics2D.getTransform();
+        return level(radius * Math.sqrt(Math.abs(transform.getDeterminant())));
+    }
+
+    /** Smallest unit space size drawn at the level, sized for the largest radius using the level. */
+    public static double minimumSize(int level) {
+        if (level == 0) {
+            return 0d;
+        }
+        return PIXEL_THRESHOLD * (1 << (level - 1)) / FULL_DETAIL_RADIUS;
+    }
+
+    private LevelOfDetail() {}
+}
@@ -40,6 +40,14 @@ public record OffsetRadius(double offsetX, double offsetY, double radius) {
         return new Point2D.Double(newx, newy);
     }
 
+    public Rectangle2D adjust(Rectangle2D bounds) {
+        return new Rectangle2D.Double(
+                bounds.getX() * radius + offsetX,
+                bounds.getY() * radius + offsetY,
+                bounds.getWidth() * radius,
+                bounds.getHeight() * radius);
+    }
+
     public double adjustDimension(double value) {
         return radius * value;
     }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Optional;
+
+/** Filled path, typically the union of several shapes merged by {@link ShapeOptimizer}. */
+public record PathGraphicalElement(Paint paint, Path2D path) implements GraphicalElement {
+    @Override
+    public GraphicalElement rotate(double theta) {
+        return transform(AffineTransform.getRotateInstance(theta));
+    }
+
+    @Override
+    public GraphicalElement adjust(OffsetRadius offsetRadius) {
+        AffineTransform transform = AffineTransform.getTranslateInstance(offsetRadius.offsetX(), offsetRadius.offsetY());
+        transform.scale(offsetRadius.radius(), offsetRadius.radius());
+        return transform(transform);
+    }
+
+    private PathGraphicalElement transform(AffineTransform transform) {
+        return new PathGraphicalElement(paint, new Path2D.Double(path, transform));
+    }
+
+    @Override
+    public void draw(Graphics2D graphics2D) {
+        graphics2D.setPaint(paint);
+        graphics2D.fill(path);
+    }
+
+    @Override
+    public void render(RenderTarget target) {
+        target.fill(path, paint);
+    }
+
+    @Override
+    public Rectangle2D getBounds() {
+        return path.getBounds2D();
+    }
+
+    @Override
+    public Optional<GraphicalElement> levelOfDetail(double minimumSize) {
+        Rectangle2D bounds = getBounds();
+        if (bounds.getWidth() * bounds.getHeight() < minimumSize * minimumSize) {
+            return Optional.empty();
+        }
+        return Optional.of(this);
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Filled shapes captured once and replayed under any transform, so the code drawing them (for
+ * example a Java style painting through a {@link RenderTargetGraphics2D}) doesn't run again.
+ * Commands are packed into arrays: the segment types and float coordinates of every path, and
+ * per command the end of its segments, its paint index and winding rule. Consecutive commands
+ * with the same paint share its index and replaying only sets the paint when it changes.
+ * A recording is filled by one thread and must not be filled again once it is replayed.
+ */
+public final class Recording implements RenderTarget {
+    private byte[] segmentTypes = new byte[64];
+    private int segmentCount = 0;
+    private float[] coords = new float[256];
+    private int coordCount = 0;
+    private int[] commandSegmentEnds = new int[8];
+    private int[] commandPaints = new int[8];
+    private boolean[] commandEvenOdd = new boolean[8];
+    private int commandCount = 0;
+    private final List<Paint> paints = new ArrayList<>();
+    private Rectangle2D bounds;
+    // Built from the packed arrays on the first replay.
+    private volatile Path2D.Float[] paths;
+
+    @Override
+    public void fill(Shape shape, Paint paint) {
+        if (commandCount == commandSegmentEnds.length) {
+            int length = commandCount * 2;
+            commandSegmentEnds = Arrays.copyOf(commandSegmentEnds, length);
+            commandPaints = Arrays.copyOf(commandPaints, length);
+            commandEvenOdd = Arrays.copyOf(commandEvenOdd, length);
+        }
+        PathIterator iterator = shape.getPathIterator(null);
+        commandEvenOdd[commandCount] = iterator.getWindingRule() == PathIterator.WIND_EVEN_ODD;
+        float[] segment = new float[6];
+        while (!iterator.isDone()) {
+            int type = iterator.currentSegment(segment);
+            int count = switch (type) {
+                case PathIterator.SEG_MOVETO, PathIterator.SEG_LINETO -> 2;
+                case PathIterator.SEG_QUADTO -> 4;
+                case PathIterator.SEG_CUBICTO -> 6;
+                default -> 0;
+            };
+            if (segmentCount == segmentTypes.length) {
+                segmentTypes = Arrays.copyOf(segmentTypes, segmentCount * 2);
+            }
+            segmentTypes[segmentCount++] = (byte) type;
+            if (coordCount + count > coords.length) {
+                coords = Arrays.copyOf(coords, Math.max(coords.length * 2, coordCount + count));
+            }
+            System.arraycopy(segment, 0, coords, coordCount, count);
+            coordCount += count;
+            iterator.next();
+        }
+        commandSegmentEnds[commandCount] = segmentCount;
+        int lastPaint = paints.size() - 1;
+        if (lastPaint < 0 || !paints.get(lastPaint).equals(paint)) {
+            paints.add(paint);
+            lastPaint++;
+        }
+        commandPaints[commandCount] = lastPaint;
+        commandCount++;
+        Rectangle2D shapeBounds = shape.getBounds2D();
+        if (bounds == null) {
+            bounds = shapeBounds;
+        } else {
+            bounds.add(shapeBounds);
+        }
+        paths = null;
+    }
+
+    /** Fills the recorded shapes into the graphics, transformed by the transform. */
+    public void replay(Graphics2D graphics2D, AffineTransform transform) {
+        Path2D.Float[] replayed = paths();
+        Graphics2D g = (Graphics2D) graphics2D.create();
+        try {
+            g.transform(transform);
+            int currentPaint = -1;
+            for (int i = 0; i < replayed.length; i++) {
+                if (commandPaints[i] != currentPaint) {
+                    currentPaint = commandPaints[i];
+                    g.setPaint(paints.get(currentPaint));
+                }
+                g.fill(replayed[i]);
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /** Fills the recorded shapes, transformed along with their paints, into another target. */
+    public void replay(RenderTarget target, AffineTransform transform) {
+        Path2D.Float[] replayed = paths();
+        for (int i = 0; i < replayed.length; i++) {
+            target.fill(transform.createTransformedShape(replayed[i]),
+                    RenderTargetGraphics2D.devicePaint(paints.get(commandPaints[i]), transform));
+        }
+    }
+
+    private Path2D.Float[] paths() {
+        Path2D.Float[] result = paths;
+        if (result == null) {
+            result = new Path2D.Float[commandCount];
+            int segment = 0;
+            int coord = 0;
+            for (int i = 0; i < commandCount; i++) {
+                Path2D.Float path = new Path2D.Float(
+                        commandEvenOdd[i] ? Path2D.WIND_EVEN_ODD : Path2D.WIND_NON_ZERO,
+                        commandSegmentEnds[i] - segment);
+                for (; segment < commandSegmentEnds[i]; segment++) {
+                    switch (segmentTypes[segment]) {
+                        case PathIterator.SEG_MOVETO -> path.moveTo(coords[coord++], coords[coord++]);
+                        case PathIterator.SEG_LINETO -> path.lineTo(coords[coord++], coords[coord++]);
+                        case PathIterator.SEG_QUADTO -> path.quadTo(coords[coord++], coords[coord++],
+                                coords[coord++], coords[coord++]);
+                        case PathIterator.SEG_CUBICTO -> path.curveTo(coords[coord++], coords[coord++],
+                                coords[coord++], coords[coord++], coords[coord++], coords[coord++]);
+                        case PathIterator.SEG_CLOSE -> path.closePath();
+                    }
+                }
+                result[i] = path;
+            }
+            paths = result;
+        }
+        return result;
+    }
+
+    /** Bounds of the recorded shapes before any transform, empty if nothing was filled. */
+    public Optional<Rectangle2D> getBounds() {
+        return Optional.ofNullable(bounds).map(b -> (Rectangle2D) b.clone());
+    }
+
+    public int getCommandCount() {
+        return commandCount;
+    }
+
+    /** Number of paint changes when replaying. */
+    public int getPaintCount() {
+        return paints.size();
+    }
+
+    /** Size of the packed path arrays in bytes. */
+    public long getBytes() {
+        return segmentCount + 4L * coordCount + 9L * commandCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Recording: %d commands, %d paints, %d segments, %d bytes",
+                commandCount, paints.size(), segmentCount, getBytes());
+    }
+}
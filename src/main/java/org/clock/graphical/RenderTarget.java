@@ -0,0 +1,31 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import java.awt.*;
+
+/** Destination of the filled shapes of graphical elements, see {@link GraphicalElement#render}. */
+public interface RenderTarget {
+    void fill(Shape shape, Paint paint);
+
+    /** Target filling the shapes with Java2D. */
+    static RenderTarget of(Graphics2D graphics2D) {
+        return (shape, paint) -> {
+            graphics2D.setPaint(paint);
+            graphics2D.fill(shape);
+        };
+    }
+}
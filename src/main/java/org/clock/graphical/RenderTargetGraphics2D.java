@@ -0,0 +1,492 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.font.TextLayout;
+import java.awt.geom.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.text.AttributedCharacterIterator;
+import java.util.Map;
+
+/**
+ * Graphics2D turning everything drawn into filled shapes on a {@link RenderTarget}, so styles
+ * written against Graphics2D (the Java styles) can be rendered by any target. Shapes and paints
+ * are passed on in device space: the current transform is applied to both, outlines are filled
+ * as their stroked shape, text as its glyph outlines and the clip is intersected with each shape.
+ * Images cannot be turned into shapes and are not supported.
+ */
+public class RenderTargetGraphics2D extends Graphics2D {
+    // Only used to measure fonts.
+    private static final Graphics2D FONT_METRICS_GRAPHICS =
+            new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+
+    private final RenderTarget target;
+    private AffineTransform transform = new AffineTransform();
+    private Paint paint = Color.BLACK;
+    private Color background = Color.WHITE;
+    private Stroke stroke = new BasicStroke();
+    private Font font = new Font(Font.SANS_SERIF, Font.PLAIN, 12);
+    private Composite composite = AlphaComposite.SrcOver;
+    private Shape clip;
+    private final RenderingHints hints = new RenderingHints(null);
+
+    public RenderTargetGraphics2D(RenderTarget target) {
+        this.target = target;
+    }
+
+    private RenderTargetGraphics2D(RenderTargetGraphics2D other) {
+        this(other.target);
+        transform = new AffineTransform(other.transform);
+        paint = other.paint;
+        background = other.background;
+        stroke = other.stroke;
+        font = other.font;
+        composite = other.composite;
+        clip = other.clip;
+        hints.putAll(other.hints);
+    }
+
+    @Override
+    public void fill(Shape shape) {
+        Shape deviceShape = transform.createTransformedShape(shape);
+        if (clip != null) {
+            Area clipped = new Area(deviceShape);
+            clipped.intersect(new Area(clip));
+            deviceShape = clipped;
+        }
+        target.fill(deviceShape, devicePaint(paint, transform));
+    }
+
+    @Override
+    public void draw(Shape shape) {
+        fill(stroke.createStrokedShape(shape));
+    }
+
+    /** The paint as seen in device space, gradients are transformed along with the shapes. */
+    static Paint devicePaint(Paint paint, AffineTransform transform) {
+        if (transform.isIdentity() || paint instanceof Color) {
+            return paint;
+        }
+        if (paint instanceof LinearGradientPaint linear) {
+            AffineTransform gradientTransform = new AffineTransform(transform);
+            gradientTransform.concatenate(linear.getTransform());
+            return new LinearGradientPaint(linear.getStartPoint(), linear.getEndPoint(), linear.getFractions(),
+                    linear.getColors(), linear.getCycleMethod(), linear.getColorSpace(), gradientTransform);
+        }
+        if (paint instanceof RadialGradientPaint radial) {
+            AffineTransform gradientTransform = new AffineTransform(transform);
+            gradientTransform.concatenate(radial.getTransform());
+            return new RadialGradientPaint(radial.getCenterPoint(), radial.getRadius(), radial.getFocusPoint(),
+                    radial.getFractions(), radial.getColors(), radial.getCycleMethod(), radial.getColorSpace(),
+                    gradientTransform);
+        }
+        if (paint instanceof GradientPaint gradient) {
+            return new GradientPaint(transform.transform(gradient.getPoint1(), null), gradient.getColor1(),
+                    transform.transform(gradient.getPoint2(), null), gradient.getColor2(), gradient.isCyclic());
+        }
+        return paint;
+    }
+
+    @Override
+    public void drawString(String str, float x, float y) {
+        if (!str.isEmpty()) {
+            fill(new TextLayout(str, font, getFontRenderContext()).getOutline(AffineTransform.getTranslateInstance(x, y)));
+        }
+    }
+
+    @Override
+    public void drawString(String str, int x, int y) {
+        drawString(str, (float) x, (float) y);
+    }
+
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, float x, float y) {
+        fill(new TextLayout(iterator, getFontRenderContext()).getOutline(AffineTransform.getTranslateInstance(x, y)));
+    }
+
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, int x, int y) {
+        drawString(iterator, (float) x, (float) y);
+    }
+
+    @Override
+    public void drawGlyphVector(GlyphVector glyphs, float x, float y) {
+        fill(glyphs.getOutline(x, y));
+    }
+
+    @Override
+    public boolean hit(Rectangle rect, Shape shape, boolean onStroke) {
+        Shape deviceShape = transform.createTransformedShape(onStroke ? stroke.createStrokedShape(shape) : shape);
+        return deviceShape.intersects(rect);
+    }
+
+    @Override
+    public GraphicsConfiguration getDeviceConfiguration() {
+        return FONT_METRICS_GRAPHICS.getDeviceConfiguration();
+    }
+
+    @Override
+    public void setComposite(Composite composite) {
+        this.composite = composite;
+    }
+
+    @Override
+    public Composite getComposite() {
+        return composite;
+    }
+
+    @Override
+    public void setPaint(Paint paint) {
+        if (paint != null) {
+            this.paint = paint;
+        }
+    }
+
+    @Override
+    public Paint getPaint() {
+        return paint;
+    }
+
+    @Override
+    public void setColor(Color color) {
+        setPaint(color);
+    }
+
+    @Override
+    public Color getColor() {
+        return paint instanceof Color color ? color : null;
+    }
+
+    @Override
+    public void setStroke(Stroke stroke) {
+        this.stroke = stroke;
+    }
+
+    @Override
+    public Stroke getStroke() {
+        return stroke;
+    }
+
+    @Override
+    public void setRenderingHint(RenderingHints.Key key, Object value) {
+        hints.put(key, value);
+    }
+
+    @Override
+    public Object getRenderingHint(RenderingHints.Key key) {
+        return hints.get(key);
+    }
+
+    @Override
+    public void setRenderingHints(Map<?, ?> hints) {
+        this.hints.clear();
+        this.hints.putAll(hints);
+    }
+
+    @Override
+    public void addRenderingHints(Map<?, ?> hints) {
+        this.hints.putAll(hints);
+    }
+
+    @Override
+    public RenderingHints getRenderingHints() {
+        return (RenderingHints) hints.clone();
+    }
+
+    @Override
+    public void translate(int x, int y) {
+        transform.translate(x, y);
+    }
+
+    @Override
+    public void translate(double tx, double ty) {
+        transform.translate(tx, ty);
+    }
+
+    @Override
+    public void rotate(double theta) {
+        transform.rotate(theta);
+    }
+
+    @Override
+    public void rotate(double theta, double x, double y) {
+        transform.rotate(theta, x, y);
+    }
+
+    @Override
+    public void scale(double sx, double sy) {
+        transform.scale(sx, sy);
+    }
+
+    @Override
+    public void shear(double shx, double shy) {
+        transform.shear(shx, shy);
+    }
+
+    @Override
+    public void transform(AffineTransform tx) {
+        transform.concatenate(tx);
+    }
+
+    @Override
+    public void setTransform(AffineTransform tx) {
+        transform = new AffineTransform(tx);
+    }
+
+    @Override
+    public AffineTransform getTransform() {
+        return new AffineTransform(transform);
+    }
+
+    @Override
+    public void setBackground(Color color) {
+        background = color;
+    }
+
+    @Override
+    public Color getBackground() {
+        return background;
+    }
+
+    @Override
+    public void clip(Shape shape) {
+        Shape deviceShape = transform.createTransformedShape(shape);
+        if (clip == null) {
+            clip = deviceShape;
+        } else {
+            Area area = new Area(clip);
+            area.intersect(new Area(deviceShape));
+            clip = area;
+        }
+    }
+
+    @Override
+    public void setClip(Shape shape) {
+        clip = shape == null ? null : transform.createTransformedShape(shape);
+    }
+
+    @Override
+    public Shape getClip() {
+        if (clip == null) {
+            return null;
+        }
+        try {
+            return transform.createInverse().createTransformedShape(clip);
+        } catch (NoninvertibleTransformException ex) {
+            return null;
+        }
+    }
+
+    @Override
+    public Rectangle getClipBounds() {
+        Shape userClip = getClip();
+        return userClip == null ? null : userClip.getBounds();
+    }
+
+    @Override
+    public void clipRect(int x, int y, int width, int height) {
+        clip(new Rectangle(x, y, width, height));
+    }
+
+    @Override
+    public void setClip(int x, int y, int width, int height) {
+        setClip(new Rectangle(x, y, width, height));
+    }
+
+    @Override
+    public FontRenderContext getFontRenderContext() {
+        boolean antialiased = RenderingHints.VALUE_TEXT_ANTIALIAS_ON.equals(hints.get(RenderingHints.KEY_TEXT_ANTIALIASING))
+                || RenderingHints.VALUE_ANTIALIAS_ON.equals(hints.get(RenderingHints.KEY_ANTIALIASING));
+        boolean fractionalMetrics = RenderingHints.VALUE_FRACTIONALMETRICS_ON.equals(
+                hints.get(RenderingHints.KEY_FRACTIONALMETRICS));
+        return new FontRenderContext(transform, antialiased, fractionalMetrics);
+    }
+
+    @Override
+    public Graphics create() {
+        return new RenderTargetGraphics2D(this);
+    }
+
+    @Override
+    public void setPaintMode() {
+        composite = AlphaComposite.SrcOver;
+    }
+
+    @Override
+    public void setXORMode(Color color) {
+        throw new UnsupportedOperationException("XOR mode is not supported.");
+    }
+
+    @Override
+    public Font getFont() {
+        return font;
+    }
+
+    @Override
+    public void setFont(Font font) {
+        if (font != null) {
+            this.font = font;
+        }
+    }
+
+    @Override
+    public FontMetrics getFontMetrics(Font font) {
+        return FONT_METRICS_GRAPHICS.getFontMetrics(font);
+    }
+
+    @Override
+    public void copyArea(int x, int y, int width, int height, int dx, int dy) {
+        throw new UnsupportedOperationException("Copying pixels is not supported.");
+    }
+
+    @Override
+    public void drawLine(int x1, int y1, int x2, int y2) {
+        draw(new Line2D.Double(x1, y1, x2, y2));
+    }
+
+    @Override
+    public void fillRect(int x, int y, int width, int height) {
+        fill(new Rectangle(x, y, width, height));
+    }
+
+    @Override
+    public void clearRect(int x, int y, int width, int height) {
+        Paint previous = paint;
+        paint = background;
+        fillRect(x, y, width, height);
+        paint = previous;
+    }
+
+    @Override
+    public void drawRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+        draw(new RoundRectangle2D.Double(x, y, width, height, arcWidth, arcHeight));
+    }
+
+    @Override
+    public void fillRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+        fill(new RoundRectangle2D.Double(x, y, width, height, arcWidth, arcHeight));
+    }
+
+    @Override
+    public void drawOval(int x, int y, int width, int height) {
+        draw(new Ellipse2D.Double(x, y, width, height));
+    }
+
+    @Override
+    public void fillOval(int x, int y, int width, int height) {
+        fill(new Ellipse2D.Double(x, y, width, height));
+    }
+
+    @Override
+    public void drawArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+        draw(new Arc2D.Double(x, y, width, height, startAngle, arcAngle, Arc2D.OPEN));
+    }
+
+    @Override
+    public void fillArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+        fill(new Arc2D.Double(x, y, width, height, startAngle, arcAngle, Arc2D.PIE));
+    }
+
+    @Override
+    public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+        Path2D.Double path = new Path2D.Double();
+        for (int i = 0; i < nPoints; i++) {
+            if (i == 0) {
+                path.moveTo(xPoints[i], yPoints[i]);
+            } else {
+                path.lineTo(xPoints[i], yPoints[i]);
+            }
+        }
+        draw(path);
+    }
+
+    @Override
+    public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+        draw(new Polygon(xPoints, yPoints, nPoints));
+    }
+
+    @Override
+    public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+        fill(new Polygon(xPoints, yPoints, nPoints));
+    }
+
+    @Override
+    public boolean drawImage(Image img, AffineTransform xform, ImageObserver obs) {
+        throw imagesNotSupported();
+    }
+
+    @Override
+    public void drawImage(BufferedImage img, BufferedImageOp op, int x, int y) {
+        throw imagesNotSupported();
+    }
+
+    @Override
+    public void drawRenderedImage(RenderedImage img, AffineTransform xform) {
+        throw imagesNotSupported();
+    }
+
+    @Override
+    public void drawRenderableImage(RenderableImage img, AffineTransform xform) {
+        throw imagesNotSupported();
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, ImageObserver observer) {
+        throw imagesNotSupported();
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height, ImageObserver observer) {
+        throw imagesNotSupported();
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, Color bgcolor, ImageObserver observer) {
+        throw imagesNotSupported();
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height, Color bgcolor, ImageObserver observer) {
+        throw imagesNotSupported();
+    }
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2,
+                             ImageObserver observer) {
+        throw imagesNotSupported();
+    }
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2,
+                             Color bgcolor, ImageObserver observer) {
+        throw imagesNotSupported();
+    }
+
+    private static UnsupportedOperationException imagesNotSupported() {
+        return new UnsupportedOperationException("Images cannot be rendered as shapes.");
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import java.awt.*;
+import java.awt.geom.Area;
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Rewrites a list of elements into one that draws the same picture with fewer paint calls:
+ * - tick expansions are flattened so their copies can be merged,
+ * - polygons lose repeated and collinear points,
+ * - shapes completely covered by later opaque shapes are removed,
+ * - consecutive opaque shapes of the same color are merged into one path.
+ * Only fully opaque solid colors are merged or used as occluders, since overlapping translucent
+ * shapes blend differently when drawn as one.
+ */
+public final class ShapeOptimizer {
+
+    public static List<GraphicalElement> optimize(List<GraphicalElement> elements) {
+        List<GraphicalElement> flattened = new ArrayList<>();
+        elements.forEach(e -> flatten(e, flattened));
+        return mergeSameColor(removeOccluded(flattened));
+    }
+
+    private static void flatten(GraphicalElement element, List<GraphicalElement> flattened) {
+        if (element instanceof CompositeGraphicalElement composite) {
+            composite.getElements().forEach(e -> flatten(e, flattened));
+        } else if (element instanceof FilledPoly poly) {
+            flattened.add(poly.withoutCollinearPoints());
+        } else {
+            flattened.add(element);
+        }
+    }
+
+    private static List<GraphicalElement> removeOccluded(List<GraphicalElement> elements) {
+        List<GraphicalElement> visible = new ArrayList<>();
+        Area occluders = new Area();
+        for (int i = elements.size() - 1; i >= 0; i--) {
+            GraphicalElement element = elements.get(i);
+            if (!isCovered(element, occluders)) {
+                visible.add(0, element);
+            }
+            opaqueShape(element).ifPresent(shape -> occluders.add(new Area(shape)));
+        }
+        return visible;
+    }
+
+    private static boolean isCovered(GraphicalElement element, Area occluders) {
+        if (occluders.isEmpty() || !occluders.getBounds2D().contains(element.getBounds())) {
+            return false;
+        }
+        Shape shape = element instanceof TextGraphicalElement ? element.getBounds() : shape(element).orElse(null);
+        if (shape == null) {
+            return false;
+        }
+        Area uncovered = new Area(shape);
+        uncovered.subtract(occluders);
+        return uncovered.isEmpty();
+    }
+
+    private static List<GraphicalElement> mergeSameColor(List<GraphicalElement> elements) {
+        List<GraphicalElement> merged = new ArrayList<>();
+        int i = 0;
+        while (i < elements.size()) {
+            GraphicalElement element = elements.get(i);
+            Optional<Color> color = opaqueColor(element);
+            int end = i + 1;
+            while (color.isPresent() && end < elements.size() && color.equals(opaqueColor(elements.get(end)))) {
+                end++;
+            }
+            if (end - i > 1) {
+                Area area = new Area();
+                for (int j = i; j < end; j++) {
+                    area.add(new Area(shape(elements.get(j)).orElseThrow()));
+                }
+                merged.add(new PathGraphicalElement(color.get(), new Path2D.Double(area)));
+            } else {
+                merged.add(element);
+            }
+            i = end;
+        }
+        return merged;
+    }
+
+    private static Optional<Shape> opaqueShape(GraphicalElement element) {
+        return opaqueColor(element).flatMap(c -> shape(element));
+    }
+
+    private static Optional<Color> opaqueColor(GraphicalElement element) {
+        Paint paint;
+        if (element instanceof FilledPoly poly) {
+            paint = poly.getPaint();
+        } else if (element instanceof CircleGraphicalElement circle) {
+            paint = circle.color();
+        } else if (element instanceof PathGraphicalElement path) {
+            paint = path.paint();
+        } else {
+            return Optional.empty();
+        }
+        if (paint instanceof Color color && color.getAlpha() == 255) {
+            return Optional.of(color);
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Shape> shape(GraphicalElement element) {
+        if (element instanceof FilledPoly poly) {
+            return Optional.of(poly.toPath());
+        } else if (element instanceof CircleGraphicalElement circle) {
+            return Optional.of(circle.toShape());
+        } else if (element instanceof PathGraphicalElement path) {
+            return Optional.of(path.path());
+        }
+        return Optional.empty();
+    }
+
+    private ShapeOptimizer() {}
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.Raster;
+import java.util.Arrays;
+
+/**
+ * Renders filled shapes into an int[] of premultiplied ARGB pixels without Java2D's rendering
+ * pipeline. Shapes are flattened to lines whose signed area is accumulated per pixel, a running
+ * sum along each row then gives each pixel's exact coverage, which is used as the anti-aliasing
+ * alpha. Overlapping contours are filled as with the non-zero winding rule (coverage is clamped to 1).
+ * Colors are blended directly, other paints (gradients) are sampled through their PaintContext.
+ */
+public final class SoftwareRasterizer implements RenderTarget {
+    private static final double FLATNESS = 0.1d;
+    private static final RenderingHints PAINT_HINTS = new RenderingHints(
+            RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+    private final int width;
+    private final int height;
+    private final BufferedImage image;
+    private final int[] pixels;
+    // Signed area per pixel of the shape being filled, rows of boundsWidth + 2 cells. Only the
+    // cells from rowStarts to rowEnds are touched, they are zeroed again when read.
+    private float[] accumulation = new float[0];
+    private float[] coverage = new float[0];
+    private int[] rowStarts = new int[0];
+    private int[] rowEnds = new int[0];
+    private int boundsWidth;
+    private int boundsHeight;
+
+    public SoftwareRasterizer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
+    /** Image sharing the rasterizer's pixels. */
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    /** Premultiplied ARGB pixels, row by row. */
+    public int[] getPixels() {
+        return pixels;
+    }
+
+    public void clear() {
+        Arrays.fill(pixels, 0);
+    }
+
+    @Override
+    public void fill(Shape shape, Paint paint) {
+        Rectangle2D shapeBounds = shape.getBounds2D();
+        int x0 = Math.max(0, (int) Math.floor(shapeBounds.getMinX()));
+        int y0 = Math.max(0, (int) Math.floor(shapeBounds.getMinY()));
+        int x1 = Math.min(width, (int) Math.ceil(shapeBounds.getMaxX()));
+        int y1 = Math.min(height, (int) Math.ceil(shapeBounds.getMaxY()));
+        if (x1 <= x0 || y1 <= y0) {
+            return;
+        }
+        boundsWidth = x1 - x0;
+        boundsHeight = y1 - y0;
+        int cells = (boundsWidth + 2) * boundsHeight;
+        if (accumulation.length < cells) {
+            accumulation = new float[cells];
+        }
+        if (coverage.length < boundsWidth + 2) {
+            coverage = new float[boundsWidth + 2];
+        }
+        if (rowStarts.length < boundsHeight) {
+            rowStarts = new int[boundsHeight];
+            rowEnds = new int[boundsHeight];
+        }
+        Arrays.fill(rowStarts, 0, boundsHeight, Integer.MAX_VALUE);
+        Arrays.fill(rowEnds, 0, boundsHeight, -1);
+        accumulate(shape, x0, y0);
+        if (paint instanceof Color color) {
+            blendColor(color, x0, y0);
+        } else {
+            blendPaint(paint, x0, y0);
+        }
+    }
+
+    private void accumulate(Shape shape, int x0, int y0) {
+        double[] coordinates = new double[6];
+        double startX = 0;
+        double startY = 0;
+        double lastX = 0;
+        double lastY = 0;
+        for (PathIterator iterator = shape.getPathIterator(null, FLATNESS); !iterator.isDone(); iterator.next()) {
+            switch (iterator.currentSegment(coordinates)) {
+                case PathIterator.SEG_MOVETO -> {
+                    if (lastX != startX || lastY != startY) {
+                        clippedLine(lastX, lastY, startX, startY);
+                    }
+                    startX = lastX = coordinates[0] - x0;
+                    startY = lastY = coordinates[1] - y0;
+                }
+                case PathIterator.SEG_LINETO -> {
+                    double x = coordinates[0] - x0;
+                    double y = coordinates[1] - y0;
+                    clippedLine(lastX, lastY, x, y);
+                    lastX = x;
+                    lastY = y;
+                }
+                case PathIterator.SEG_CLOSE -> {
+                    clippedLine(lastX, lastY, startX, startY);
+                    lastX = startX;
+                    lastY = startY;
+                }
+                default -> throw new IllegalStateException("Flattened paths only have lines.");
+            }
+        }
+        if (lastX != startX || lastY != startY) {
+            clippedLine(lastX, lastY, startX, startY);
+        }
+    }
+
+    /**
+     * Splits the line where it leaves the bounds horizontally. Parts left or right of the bounds
+     * are moved onto the bounds' edge, where they still contribute the coverage of the area they
+     * enclose to the pixels inside.
+     */
+    private void clippedLine(double xa, double ya, double xb, double yb) {
+        if (ya == yb) {
+            return;
+        }
+        double[] splits = new double[4];
+        int count = 1;
+        for (double edge : new double[] {0, boundsWidth}) {
+            if ((xa < edge) != (xb < edge)) {
+                double t = (edge - xa) / (xb - xa);
+                if (t > 0 && t < 1) {
+                    splits[count++] = t;
+                }
+            }
+        }
+        if (count == 3 && splits[1] > splits[2]) {
+            double swap = splits[1];
+            splits[1] = splits[2];
+            splits[2] = swap;
+        }
+        splits[count] = 1;
+        for (int i = 0; i < count; i++) {
+            double fromX = Math.min(boundsWidth, Math.max(0, xa + (xb - xa) * splits[i]));
+            double fromY = ya + (yb - ya) * splits[i];
+            double toX = Math.min(boundsWidth, Math.max(0, xa + (xb - xa) * splits[i + 1]));
+            double toY = ya + (yb - ya) * splits[i + 1];
+            line(fromX, fromY, toX, toY);
+        }
+    }
+
+    /** Adds the signed area the line covers to the cells of the rows it crosses, x within [0, boundsWidth]. */
+    private void line(double xa, double ya, double xb, double yb) {
+        if (ya == yb) {
+            return;
+        }
+        float direction = 1f;
+        if (ya > yb) {
+            direction = -1f;
+            double swap = xa;
+            xa = xb;
+            xb = swap;
+            swap = ya;
+            ya = yb;
+            yb = swap;
+        }
+        double dxdy = (xb - xa) / (yb - ya);
+        double x = xa;
+        if (ya < 0) {
+            x = Math.min(boundsWidth, Math.max(0d, x - ya * dxdy));
+            ya = 0;
+        }
+        yb = Math.min(yb, boundsHeight);
+        int stride = boundsWidth + 2;
+        for (int y = (int) ya; y < yb; y++) {
+            int rowStart = y * stride;
+            double dy = Math.min(y + 1, yb) - Math.max(y, ya);
+            // Clamped: rounding may step just outside of the bounds the line was clipped to.
+            double xNext = Math.min(boundsWidth, Math.max(0d, x + dxdy * dy));
+            float d = (float) dy * direction;
+            double left = Math.min(x, xNext);
+            double right = Math.max(x, xNext);
+            double leftFloor = Math.floor(left);
+            int leftIndex = (int) leftFloor;
+            double rightCeil = Math.ceil(right);
+            int rightIndex = (int) rightCeil;
+            rowStarts[y] = Math.min(rowStarts[y], leftIndex);
+            rowEnds[y] = Math.max(rowEnds[y], Math.max(leftIndex + 1, rightIndex));
+            if (rightIndex <= leftIndex + 1) {
+                // Within one pixel: the part right of the line's mid point is covered.
+                float rightShare = (float) (0.5d * (x + xNext) - leftFloor);
+                accumulation[rowStart + leftIndex] += d - d * rightShare;
+                accumulation[rowStart + leftIndex + 1] += d * rightShare;
+            } else {
+                double slope = 1d / (right - left);
+                double leftFraction = left - leftFloor;
+                float firstArea = (float) (0.5d * slope * (1d - leftFraction) * (1d - leftFraction));
+                double rightFraction = right - rightCeil + 1d;
+                float lastArea = (float) (0.5d * slope * rightFraction * rightFraction);
+                accumulation[rowStart + leftIndex] += d * firstArea;
+                if (rightIndex == leftIndex + 2) {
+                    accumulation[rowStart + leftIndex + 1] += d * (1f - firstArea - lastArea);
+                } else {
+                    float secondArea = (float) (slope * (1.5d - leftFraction));
+                    accumulation[rowStart + leftIndex + 1] += d * (secondArea - firstArea);
+                    float step = (float) slope;
+                    for (int i = leftIndex + 2; i < rightIndex - 1; i++) {
+                        accumulation[rowStart + i] += d * step;
+                    }
+                    float beforeLastArea = secondArea + (rightIndex - leftIndex - 3) * step;
+                    accumulation[rowStart + rightIndex - 1] += d * (1f - beforeLastArea - lastArea);
+                }
+                accumulation[rowStart + rightIndex] += d * lastArea;
+            }
+            x = xNext;
+        }
+    }
+
+    /**
+     * Running sum of a row's signed areas, clamped to [0, 1], for the touched cells. Coverage is 0
+     * outside of them: the areas of a closed shape sum to 0 along a row.
+     */
+    private void rowCoverage(int row) {
+        int rowStart = row * (boundsWidth + 2);
+        float sum = 0f;
+        for (int x = rowStarts[row]; x <= rowEnds[row]; x++) {
+            sum += accumulation[rowStart + x];
+            accumulation[rowStart + x] = 0f;
+            coverage[x] = Math.min(1f, Math.abs(sum));
+        }
+    }
+
+    private int rowEnd(int row) {
+        return Math.min(boundsWidth - 1, rowEnds[row]);
+    }
+
+    private void blendColor(Color color, int x0, int y0) {
+        int argb = color.getRGB();
+        float alpha = (argb >>> 24) / 255f;
+        float red = (argb >> 16) & 0xFF;
+        float green = (argb >> 8) & 0xFF;
+        float blue = argb & 0xFF;
+        boolean opaque = (argb >>> 24) == 0xFF;
+        for (int y = 0; y < boundsHeight; y++) {
+            rowCoverage(y);
+            int offset = (y0 + y) * width + x0;
+            for (int x = rowStarts[y], end = rowEnd(y); x <= end; x++) {
+                float c = coverage[x];
+                if (opaque && c == 1f) {
+                    // Most pixels of large shapes: fully covered by an opaque color.
+                    pixels[offset + x] = argb;
+                } else if (c > 0f) {
+                    pixels[offset + x] = blend(pixels[offset + x], alpha * c, red, green, blue);
+                }
+            }
+        }
+    }
+
+    private void blendPaint(Paint paint, int x0, int y0) {
+        Rectangle deviceBounds = new Rectangle(x0, y0, boundsWidth, boundsHeight);
+        PaintContext context = paint.createContext(
+                ColorModel.getRGBdefault(), deviceBounds, deviceBounds, new AffineTransform(), PAINT_HINTS);
+        try {
+            Raster raster = context.getRaster(x0, y0, boundsWidth, boundsHeight);
+            ColorModel colorModel = context.getColorModel();
+            boolean intPixels = colorModel instanceof DirectColorModel && raster.getTransferType() == DataBuffer.TYPE_INT;
+            int[] row = new int[boundsWidth];
+            Object data = null;
+            for (int y = 0; y < boundsHeight; y++) {
+                rowCoverage(y);
+                if (intPixels) {
+                    raster.getDataElements(raster.getMinX(), raster.getMinY() + y, boundsWidth, 1, row);
+                }
+                int offset = (y0 + y) * width + x0;
+                for (int x = rowStarts[y], end = rowEnd(y); x <= end; x++) {
+                    if (coverage[x] > 0f) {
+                        int argb;
+                        if (intPixels) {
+                            argb = colorModel.getRGB(row[x]);
+                        } else {
+                            data = raster.getDataElements(raster.getMinX() + x, raster.getMinY() + y, data);
+                            argb = colorModel.getRGB(data);
+                        }
+                        float a = (argb >>> 24) / 255f * coverage[x];
+                        pixels[offset + x] = blend(pixels[offset + x],
+                                a, (argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF);
+                    }
+                }
+            }
+        } finally {
+            context.dispose();
+        }
+    }
+
+    /** Source over of a straight color with alpha a onto a premultiplied pixel. */
+    private static int blend(int destination, float a, float red, float green, float blue) {
+        float keep = 1f - a;
+        int outAlpha = (int) (255f * a + (destination >>> 24) * keep + 0.5f);
+        int outRed = (int) (red * a + ((destination >> 16) & 0xFF) * keep + 0.5f);
+        int outGreen = (int) (green * a + ((destination >> 8) & 0xFF) * keep + 0.5f);
+        int outBlue = (int) (blue * a + (destination & 0xFF) * keep + 0.5f);
+        return (outAlpha << 24) | (outRed << 16) | (outGreen << 8) | outBlue;
+    }
+}
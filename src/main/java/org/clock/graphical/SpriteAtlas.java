@@ -0,0 +1,170 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.clock.ClockUtils.toRadians;
+
+/**
+ * Unique elements (tick marks, numerals) rasterized once for a clock radius and packed into a
+ * single image. Drawing an element on the clock is then a rotated copy of its part of the image,
+ * which is much cheaper than filling the element's shapes when a face with many repeated elements
+ * has to be generated often, at the cost of some blur from resampling.
+ */
+public final class SpriteAtlas {
+    // Transparent pixels around each sprite, so bilinear sampling never picks up a neighbour.
+    private static final int PADDING = 2;
+
+    private final double radius;
+    private final BufferedImage image;
+    private final Map<GraphicalElement, Region> regions;
+
+    /** Where an element is in the image, and where the element's local origin is in its region. */
+    private record Region(BufferedImage image, double originX, double originY) {}
+
+    private record Placement(GraphicalElement element, Rectangle2D pixelBounds, int x, int y, int width, int height) {}
+
+    private SpriteAtlas(double radius, BufferedImage image, Map<GraphicalElement, Region> regions) {
+        this.radius = radius;
+        this.image = image;
+        this.regions = regions;
+    }
+
+    /**
+     * Packs the elements, rasterized for a clock of the radius, with shelf packing: sprites sorted
+     * by height fill rows left to right, each row as high as its first sprite.
+     */
+    public static SpriteAtlas pack(List<? extends GraphicalElement> elements, double radius) {
+        List<Placement> placements = new ArrayList<>();
+        long area = 0;
+        int widest = 1;
+        for (GraphicalElement element : new LinkedHashSet<>(elements)) {
+            Rectangle2D bounds = new OffsetRadius(0, 0, radius).adjust(element.getBounds());
+            int width = (int) Math.ceil(bounds.getWidth()) + 2 * PADDING + 1;
+            int height = (int) Math.ceil(bounds.getHeight()) + 2 * PADDING + 1;
+            placements.add(new Placement(element, bounds, 0, 0, width, height));
+            area += (long) width * height;
+            widest = Math.max(widest, width);
+        }
+        int atlasWidth = Integer.highestOneBit(Math.max(widest, (int) Math.ceil(Math.sqrt(area))) - 1) << 1;
+        placements.sort(Comparator.comparingInt(Placement::height).reversed());
+
+        List<Placement> packed = new ArrayList<>();
+        int x = 0;
+        int y = 0;
+        int shelfHeight = 0;
+        for (Placement placement : placements) {
+            if (x + placement.width() > atlasWidth) {
+                x = 0;
+                y += shelfHeight;
+                shelfHeight = 0;
+            }
+            packed.add(new Placement(placement.element(), placement.pixelBounds(), x, y, placement.width(), placement.height()));
+            x += placement.width();
+            shelfHeight = Math.max(shelfHeight, placement.height());
+        }
+        int atlasHeight = Math.max(1, y + shelfHeight);
+
+        BufferedImage image = new BufferedImage(Math.max(1, atlasWidth), atlasHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D graphics2D = image.createGraphics();
+        graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        Map<GraphicalElement, Region> regions = new IdentityHashMap<>();
+        for (Placement placement : packed) {
+            // Element origin inside the region, chosen so the element's bounds start at the padding.
+            double originX = PADDING - Math.floor(placement.pixelBounds().getMinX());
+            double originY = PADDING - Math.floor(placement.pixelBounds().getMinY());
+            Graphics2D spriteGraphics = (Graphics2D) graphics2D.create(
+                    placement.x(), placement.y(), placement.width(), placement.height());
+            placement.element().adjust(new OffsetRadius(originX, originY, radius)).draw(spriteGraphics);
+            spriteGraphics.dispose();
+            regions.put(placement.element(), new Region(
+                    image.getSubimage(placement.x(), placement.y(), placement.width(), placement.height()),
+                    originX, originY));
+        }
+        graphics2D.dispose();
+        return new SpriteAtlas(radius, image, regions);
+    }
+
+    public double getRadius() {
+        return radius;
+    }
+
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    public boolean contains(GraphicalElement element) {
+        return regions.containsKey(element);
+    }
+
+    /**
+     * Draws an element of the atlas like {@link org.clock.ClockUtils#paintOnClock}, the clock must
+     * have the atlas radius.
+     */
+    public void drawOnClock(Graphics2D graphics2D, GraphicalElement element, OffsetRadius offsetRadius, double fraction) {
+        Region region = regions.get(element);
+        if (region == null) {
+            throw new IllegalArgumentException("Element is not in the atlas.");
+        }
+        AffineTransform transform = AffineTransform.getTranslateInstance(offsetRadius.offsetX(), offsetRadius.offsetY());
+        transform.rotate(toRadians(0.5d + fraction));
+        transform.translate(-region.originX(), -region.originY());
+        graphics2D.drawImage(region.image(), transform, null);
+    }
+
+    /** Draws the elements, tick composites with their base element in the atlas are drawn from the atlas. */
+    public void draw(Graphics2D graphics2D, BoundedElements elements, OffsetRadius offsetRadius) {
+        Graphics2D g = (Graphics2D) graphics2D.create();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            for (GraphicalElement element : elements.getElements()) {
+                if (element instanceof CompositeGraphicalElement composite && composite.isRotatedTicks()
+                        && composite.getTickBase().filter(this::contains).isPresent()) {
+                    GraphicalElement base = composite.getTickBase().get();
+                    for (int i = 0; i < composite.getTickCount(); i++) {
+                        drawOnClock(g, base, offsetRadius, i / (double) composite.getTickCount());
+                    }
+                } else {
+                    element.adjust(offsetRadius).draw(g);
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /** Base elements of the rotated tick composites among the elements, the candidates for an atlas. */
+    public static List<GraphicalElement> tickBases(BoundedElements elements) {
+        List<GraphicalElement> bases = new ArrayList<>();
+        for (GraphicalElement element : elements.getElements()) {
+            if (element instanceof CompositeGraphicalElement composite && composite.isRotatedTicks()) {
+                composite.getTickBase().ifPresent(bases::add);
+            }
+        }
+        return bases;
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import org.clock.HoursMinutesSeconds;
+import org.clock.Style;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.ColorModel;
+import java.awt.image.Raster;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.clock.ClockUtils.toRadians;
+
+/**
+ * Streams SVG to a Writer as shapes are filled, without building a document in memory. Ticked
+ * elements (see {@link CompositeGraphicalElement#ticks}) are written once in {@code <defs>} and
+ * repeated with {@code <use>}, so a face with 60 ticks doesn't hold 60 copies of the tick's path.
+ * Coordinates are written with two decimals, a hundredth of a pixel at the exported size.
+ * Write errors are thrown as UncheckedIOException since {@link RenderTarget#fill} can't throw
+ * IOException, {@link #write(Style, Writer, int, HoursMinutesSeconds)} unwraps them.
+ */
+public final class SvgWriter implements RenderTarget {
+    private final Writer out;
+    private final boolean shareTicks;
+    private final Map<GraphicalElement, String> tickIds = new IdentityHashMap<>();
+    private final StringBuilder buffer = new StringBuilder(256);
+    private int nextId = 0;
+
+    /** Starts the document, ticked elements are shared. */
+    public SvgWriter(Writer out, int width, int height) {
+        this(out, width, height, true);
+    }
+
+    /** Starts the document, shareTicks false writes every tick in full (to compare output sizes). */
+    public SvgWriter(Writer out, int width, int height, boolean shareTicks) {
+        this.out = out;
+        this.shareTicks = shareTicks;
+        buffer.append("<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\"")
+                .append(width).append("\" height=\"").append(height)
+                .append("\" viewBox=\"0 0 ").append(width).append(' ').append(height).append("\">\n");
+        flushBuffer();
+    }
+
+    /** Writes the clock at the given time, size by size pixels. */
+    public static void write(Style style, Writer out, int size, HoursMinutesSeconds hoursMinutesSeconds) throws IOException {
+        try {
+            SvgWriter svg = new SvgWriter(out, size, size);
+            style.writeSvg(svg, new OffsetRadius(size / 2d, size / 2d, size / 2d), hoursMinutesSeconds);
+            svg.finish();
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    @Override
+    public void fill(Shape shape, Paint paint) {
+        String fill = paint(shape, paint);
+        buffer.append("<path d=\"");
+        appendPath(shape.getPathIterator(null));
+        buffer.append("\" ").append(fill);
+        if (shape.getPathIterator(null).getWindingRule() == PathIterator.WIND_EVEN_ODD) {
+            buffer.append(" fill-rule=\"evenodd\"");
+        }
+        buffer.append("/>\n");
+        flushBuffer();
+    }
+
+    /** Writes the elements, ticked elements are shared between the ticks. */
+    public void writeElements(BoundedElements elements, OffsetRadius offsetRadius) {
+        for (GraphicalElement element : elements.getElements()) {
+            if (shareTicks && element instanceof CompositeGraphicalElement composite && composite.isRotatedTicks()) {
+                writeTicks(composite.getTickBase().get(), composite.getTickCount(), offsetRadius);
+            } else {
+                element.adjust(offsetRadius).render(this);
+            }
+        }
+    }
+
+    /**
+     * Writes the elements in a group rotated to the fraction of a turn, as drawn by
+     * {@link BoundedElements#drawOnClock}, so the hand can be turned by changing one attribute.
+     */
+    public void writeElementsOnClock(BoundedElements elements, OffsetRadius offsetRadius, double fraction) {
+        buffer.append("<g transform=\"rotate(");
+        appendNumber(Math.toDegrees(toRadians(0.5d + fraction)));
+        buffer.append(' ');
+        appendNumber(offsetRadius.offsetX());
+        buffer.append(' ');
+        appendNumber(offsetRadius.offsetY());
+        buffer.append(")\">\n");
+        flushBuffer();
+        writeElements(elements, offsetRadius);
+        write("</g>\n");
+    }
+
+    private void writeTicks(GraphicalElement base, int ticks, OffsetRadius offsetRadius) {
+        String id = tickIds.get(base);
+        if (id == null) {
+            id = "t" + nextId++;
+            tickIds.put(base, id);
+            write("<defs><g id=\"" + id + "\">\n");
+            // Scaled but not moved, the ticks are placed by their <use>.
+            base.adjust(new OffsetRadius(0, 0, offsetRadius.radius())).render(this);
+            write("</g></defs>\n");
+        }
+        for (int i = 0; i < ticks; i++) {
+            buffer.append("<use xlink:href=\"#").append(id).append("\" transform=\"translate(");
+            appendNumber(offsetRadius.offsetX());
+            buffer.append(' ');
+            appendNumber(offsetRadius.offsetY());
+            buffer.append(") rotate(");
+            appendNumber(Math.toDegrees(toRadians(0.5d + (double) i / ticks)));
+            buffer.append(")\"/>\n");
+            flushBuffer();
+        }
+    }
+
+    /** Ends the document and flushes the Writer, which is left open. */
+    public void finish() {
+        write("</svg>\n");
+        try {
+            out.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /** The fill attributes for the paint, gradients are defined before the path using them. */
+    private String paint(Shape shape, Paint paint) {
+        if (paint instanceof Color color) {
+            return colorAttributes("fill", color);
+        }
+        if (paint instanceof LinearGradientPaint linear) {
+            String id = "g" + nextId++;
+            buffer.append("<defs><linearGradient id=\"").append(id).append("\" gradientUnits=\"userSpaceOnUse\" x1=\"");
+            appendNumber(linear.getStartPoint().getX());
+            buffer.append("\" y1=\"");
+            appendNumber(linear.getStartPoint().getY());
+            buffer.append("\" x2=\"");
+            appendNumber(linear.getEndPoint().getX());
+            buffer.append("\" y2=\"");
+            appendNumber(linear.getEndPoint().getY());
+            appendGradient(linear, "linearGradient");
+            return "fill=\"url(#" + id + ")\"";
+        }
+        if (paint instanceof RadialGradientPaint radial) {
+            String id = "g" + nextId++;
+            buffer.append("<defs><radialGradient id=\"").append(id).append("\" gradientUnits=\"userSpaceOnUse\" cx=\"");
+            appendNumber(radial.getCenterPoint().getX());
+            buffer.append("\" cy=\"");
+            appendNumber(radial.getCenterPoint().getY());
+            buffer.append("\" r=\"");
+            appendNumber(radial.getRadius());
+            buffer.append("\" fx=\"");
+            appendNumber(radial.getFocusPoint().getX());
+            buffer.append("\" fy=\"");
+            appendNumber(radial.getFocusPoint().getY());
+            appendGradient(radial, "radialGradient");
+            return "fill=\"url(#" + id + ")\"";
+        }
+        if (paint instanceof GradientPaint gradient) {
+            return paint(shape, new LinearGradientPaint(gradient.getPoint1(), gradient.getPoint2(), new float[]{0f, 1f},
+                    new Color[]{gradient.getColor1(), gradient.getColor2()},
+                    gradient.isCyclic() ? MultipleGradientPaint.CycleMethod.REFLECT : MultipleGradientPaint.CycleMethod.NO_CYCLE));
+        }
+        // Other paints have no SVG equivalent, the shape is filled with the paint's color at its center.
+        return colorAttributes("fill", centerColor(shape, paint));
+    }
+
+    private void appendGradient(MultipleGradientPaint gradient, String element) {
+        buffer.append('"');
+        if (gradient.getCycleMethod() == MultipleGradientPaint.CycleMethod.REPEAT) {
+            buffer.append(" spreadMethod=\"repeat\"");
+        } else if (gradient.getCycleMethod() == MultipleGradientPaint.CycleMethod.REFLECT) {
+            buffer.append(" spreadMethod=\"reflect\"");
+        }
+        AffineTransform transform = gradient.getTransform();
+        if (!transform.isIdentity()) {
+            double[] matrix = new double[6];
+            transform.getMatrix(matrix);
+            buffer.append(" gradientTransform=\"matrix(");
+            for (int i = 0; i < matrix.length; i++) {
+                if (i > 0) {
+                    buffer.append(' ');
+                }
+                // The linear part is not in pixels, keep more precision than for coordinates.
+                buffer.append(i < 4 ? (float) matrix[i] : (float) Math.round(matrix[i] * 100) / 100f);
+            }
+            buffer.append(")\"");
+        }
+        buffer.append(">\n");
+        float[] fractions = gradient.getFractions();
+        Color[] colors = gradient.getColors();
+        for (int i = 0; i < fractions.length; i++) {
+            buffer.append("<stop offset=\"").append(fractions[i]).append("\" ")
+                    .append(colorAttributes("stop-color", colors[i])).append("/>\n");
+        }
+        buffer.append("</").append(element).append("></defs>\n");
+    }
+
+    private static String colorAttributes(String attribute, Color color) {
+        String attributes = String.format(Locale.ROOT, "%s=\"#%06x\"", attribute, color.getRGB() & 0xffffff);
+        if (color.getAlpha() < 255) {
+            String opacity = attribute.equals("fill") ? "fill-opacity" : "stop-opacity";
+            attributes += String.format(Locale.ROOT, " %s=\"%.3f\"", opacity, color.getAlpha() / 255f);
+        }
+        return attributes;
+    }
+
+    private static Color centerColor(Shape shape, Paint paint) {
+        Rectangle2D bounds = shape.getBounds2D();
+        PaintContext context = paint.createContext(ColorModel.getRGBdefault(), shape.getBounds(), bounds,
+                new AffineTransform(), new RenderingHints(null));
+        try {
+            Raster raster = context.getRaster((int) bounds.getCenterX(), (int) bounds.getCenterY(), 1, 1);
+            return new Color(context.getColorModel().getRGB(raster.getDataElements(0, 0, null)), true);
+        } finally {
+            context.dispose();
+        }
+    }
+
+    private void appendPath(PathIterator path) {
+        double[] coords = new double[6];
+        while (!path.isDone()) {
+            switch (path.currentSegment(coords)) {
+                case PathIterator.SEG_MOVETO -> appendSegment('M', coords, 2);
+                case PathIterator.SEG_LINETO -> appendSegment('L', coords, 2);
+                case PathIterator.SEG_QUADTO -> appendSegment('Q', coords, 4);
+                case PathIterator.SEG_CUBICTO -> appendSegment('C', coords, 6);
+                case PathIterator.SEG_CLOSE -> buffer.append('Z');
+            }
+            path.next();
+        }
+    }
+
+    private void appendSegment(char command, double[] coords, int count) {
+        buffer.append(command);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                buffer.append(' ');
+            }
+            appendNumber(coords[i]);
+        }
+    }
+
+    /** Appends the number rounded to two decimals without trailing zeros, faster than String.format. */
+    private void appendNumber(double value) {
+        long hundredths = Math.round(value * 100);
+        if (hundredths < 0) {
+            buffer.append('-');
+            hundredths = -hundredths;
+        }
+        buffer.append(hundredths / 100);
+        long fraction = hundredths % 100;
+        if (fraction != 0) {
+            buffer.append('.').append(fraction / 10);
+            if (fraction % 10 != 0) {
+                buffer.append(fraction % 10);
+            }
+        }
+    }
+
+    private void write(String text) {
+        buffer.append(text);
+        flushBuffer();
+    }
+
+    private void flushBuffer() {
+        try {
+            out.append(buffer);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        buffer.setLength(0);
+    }
+}
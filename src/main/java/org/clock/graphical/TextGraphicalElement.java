@@ -16,14 +16,24 @@
 package org.clock.graphical;
 
 import java.awt.*;
+import java.awt.font.FontRenderContext;
 import java.awt.font.TextLayout;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.util.Optional;
 
 public record TextGraphicalElement(Color color, String text, Point2D center, String fontName, double size, int styles) implements GraphicalElement {
 
     private static final boolean SHOW_TEXT_DIMENSIONS = false;
+    private static final FontRenderContext BOUNDS_FONT_RENDER_CONTEXT = new FontRenderContext(null, true, true);
+    // Unit space font sizes are a fraction of a point, so bounds are measured at this size and scaled down.
+    private static final float BOUNDS_LAYOUT_SIZE = 100f;
+    // Text shorter than this many minimum sizes is unreadable and is drawn as a box instead.
+    private static final double READABLE_HEIGHT = 4d;
+    // Roughly the fraction of a text box covered by glyphs, used for the alpha of the box.
+    private static final double INK_COVERAGE = 0.4d;
+
     @Override
     public GraphicalElement rotate(double theta) {
         return new TextGraphicalElement(color, text, FilledPoly.rotatePoint(theta, center), fontName, size, styles);
@@ -46,11 +56,7 @@ public record TextGraphicalElement(Color color, String text, Point2D center, Str
         // derive text shape
         TextLayout textLayout = new TextLayout(text, font, graphics2D.getFontRenderContext());
         Rectangle2D bounds = textLayout.getBounds();
-
-        AffineTransform transform = AffineTransform.getTranslateInstance(
-                center.getX() - bounds.getX() - bounds.getWidth() / 2d,
-                center.getY() + bounds.getHeight() / 2d);
-        Shape textShape = textLayout.getOutline(transform);
+        Shape textShape = outline(textLayout);
 
         // fill text
         graphics2D.setPaint(color);
@@ -65,4 +71,51 @@ public record TextGraphicalElement(Color color, String text, Point2D center, Str
             graphics2D.fill(new Rectangle2D.Double(center.getX() - 4, center.getY() - 4, 8, 8));
         }
     }
+
+    @Override
+    public void render(RenderTarget target) {
+        Font font = new Font(fontName, styles, 10).deriveFont((float) size);
+        target.fill(outline(new TextLayout(text, font, BOUNDS_FONT_RENDER_CONTEXT)), color);
+    }
+
+    /** Outline of the text, horizontally centered with the baseline half the text height below center. */
+    private Shape outline(TextLayout textLayout) {
+        Rectangle2D bounds = textLayout.getBounds();
+        AffineTransform transform = AffineTransform.getTranslateInstance(
+                center.getX() - bounds.getX() - bounds.getWidth() / 2d,
+                center.getY() + bounds.getHeight() / 2d);
+        return textLayout.getOutline(transform);
+    }
+
+    @Override
+    public Rectangle2D getBounds() {
+        Font font = new Font(fontName, styles, 10).deriveFont(BOUNDS_LAYOUT_SIZE);
+        Rectangle2D layoutBounds = new TextLayout(text, font, BOUNDS_FONT_RENDER_CONTEXT).getBounds();
+        double scale = size / BOUNDS_LAYOUT_SIZE;
+        double width = layoutBounds.getWidth() * scale;
+        double height = layoutBounds.getHeight() * scale;
+        // same placement as draw(): horizontally centered, baseline half the text height below center.
+        return new Rectangle2D.Double(
+                center.getX() - width / 2d,
+                center.getY() + height / 2d + layoutBounds.getY() * scale,
+                width,
+                height);
+    }
+
+    @Override
+    public Optional<GraphicalElement> levelOfDetail(double minimumSize) {
+        Rectangle2D bounds = getBounds();
+        if (bounds.getWidth() * bounds.getHeight() < minimumSize * minimumSize) {
+            return Optional.empty();
+        }
+        if (bounds.getHeight() < READABLE_HEIGHT * minimumSize) {
+            Color boxColor = new Color(
+                    color.getRed(), color.getGreen(), color.getBlue(), (int) Math.round(color.getAlpha() * INK_COVERAGE));
+            return Optional.of(FilledPoly.rectangle(
+                    boxColor,
+                    new Point2D.Double(bounds.getMinX(), bounds.getMinY()),
+                    new Point2D.Double(bounds.getMaxX(), bounds.getMaxY())));
+        }
+        return Optional.of(this);
+    }
 }
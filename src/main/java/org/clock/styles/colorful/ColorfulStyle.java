@@ -32,6 +32,9 @@ import static org.clock.styles.colorful.ColorfulConstants.FACE_BACKGROUND_COLORS
 import static org.clock.styles.colorful.ColorfulConstants.FACE_BACKGROUND_COLOR_FRACTIONS;
 
 public class ColorfulStyle implements Style {
+    // Constants, so StyleProvider can answer them without loading this class.
+    public static final String NAME = "Colorful Clock";
+    public static final String DESCRIPTION = "Rotating background gradient acts as a second hand.";
 
     private static final Font BASE_FONT = new Font("Academy Engraved LET", Font.PLAIN, 30);
     private static final Paint TEXT_FILL_PAINT = new Color(255, 255, 255, 50);
@@ -39,11 +42,11 @@ public class ColorfulStyle implements Style {
 
     @Override
     public String getName() {
-        return "Colorful Clock";
+        return NAME;
     }
 
     public String getDescription() {
-        return "Rotating background gradient acts as a second hand.";
+        return DESCRIPTION;
     }
 
     public boolean staticClockFace() {
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.styles.gsonstyle;
+
+import org.clock.HoursMinutesSeconds;
+import org.clock.graphical.GraphicalElement;
+import org.clock.graphical.OffsetRadius;
+import org.clock.graphical.RenderTarget;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.util.Optional;
+
+import static org.clock.ClockUtils.toRadians;
+
+/**
+ * Element of a style's "animated" list, painted over the face and under the hands, moved by
+ * "dx"/"dy", turned around the clock's center by "rotate" (in turns), scaled around its own
+ * center by "scale" and faded by "alpha", each an expression of the time (see TimeExpression).
+ * The time is rounded down to the element's update interval, the fastest of its expressions or
+ * "update_ms", so an area repainted early (when a hand passes over it) shows the same state as
+ * the rest of the element.
+ */
+final class AnimatedElement {
+    // Anti-aliasing can touch pixels just outside of the geometric bounds.
+    private static final double ANTIALIAS_PADDING = 1d;
+
+    private final GraphicalElement element;
+    private final Rectangle2D bounds;
+    private final TimeExpression rotate;
+    private final TimeExpression scale;
+    private final TimeExpression dx;
+    private final TimeExpression dy;
+    private final TimeExpression alpha;
+    private final long updateIntervalMillis;
+    private volatile Adjusted adjusted;
+
+    private record Adjusted(OffsetRadius offsetRadius, GraphicalElement element) {
+    }
+
+    private AnimatedElement(GraphicalElement element, TimeExpression rotate, TimeExpression scale, TimeExpression dx,
+                            TimeExpression dy, TimeExpression alpha, long updateIntervalMillis) {
+        this.element = element;
+        this.bounds = element.getBounds();
+        this.rotate = rotate;
+        this.scale = scale;
+        this.dx = dx;
+        this.dy = dy;
+        this.alpha = alpha;
+        this.updateIntervalMillis = updateIntervalMillis;
+    }
+
+    static AnimatedElement of(GraphicalElement element, StyleModel.Animated animated) {
+        long interval = animated.updateMillis();
+        if (interval == 0) {
+            for (TimeExpression expression : new TimeExpression[]{
+                    animated.rotate(), animated.scale(), animated.dx(), animated.dy(), animated.alpha()}) {
+                long expressionInterval = expression.getUpdateIntervalMillis();
+                if (expressionInterval > 0 && (interval == 0 || expressionInterval < interval)) {
+                    interval = expressionInterval;
+                }
+            }
+        }
+        return new AnimatedElement(element, animated.rotate(), animated.scale(), animated.dx(), animated.dy(),
+                animated.alpha(), interval);
+    }
+
+    /** Shortest interval between changes, 0 when none of the expressions depends on the time. */
+    long getUpdateIntervalMillis() {
+        return updateIntervalMillis;
+    }
+
+    void draw(Graphics2D graphics2D, OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        HoursMinutesSeconds time = quantize(hoursMinutesSeconds);
+        double opacity = Math.max(0, Math.min(1, alpha.evaluate(time)));
+        if (opacity == 0) {
+            return;
+        }
+        AffineTransform transform = transform(offsetRadius, time);
+        Rectangle clip = graphics2D.getClipBounds();
+        if (clip != null && !pad(transform.createTransformedShape(offsetRadius.adjust(bounds)).getBounds2D()).intersects(clip)) {
+            return;
+        }
+        Graphics2D g = (Graphics2D) graphics2D.create();
+        try {
+            g.transform(transform);
+            if (opacity < 1) {
+                g.setComposite(AlphaComposite.SrcOver.derive((float) opacity));
+            }
+            adjusted(offsetRadius).draw(g);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /** Renders the element at the time, translucent colors for alpha below 1. */
+    void render(RenderTarget target, OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        HoursMinutesSeconds time = quantize(hoursMinutesSeconds);
+        double opacity = Math.max(0, Math.min(1, alpha.evaluate(time)));
+        if (opacity == 0) {
+            return;
+        }
+        AffineTransform transform = transform(offsetRadius, time);
+        adjusted(offsetRadius).render((shape, paint) -> target.fill(transform.createTransformedShape(shape),
+                opacity < 1 && paint instanceof Color color
+                        ? new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) Math.round(color.getAlpha() * opacity))
+                        : paint));
+    }
+
+    /** Screen bounds at the time, empty while the element is fully transparent. */
+    Optional<Rectangle2D> getBounds(OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        HoursMinutesSeconds time = quantize(hoursMinutesSeconds);
+        if (alpha.evaluate(time) <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(pad(transform(offsetRadius, time).createTransformedShape(offsetRadius.adjust(bounds)).getBounds2D()));
+    }
+
+    private HoursMinutesSeconds quantize(HoursMinutesSeconds hoursMinutesSeconds) {
+        if (updateIntervalMillis == 0) {
+            return hoursMinutesSeconds;
+        }
+        double millis = hoursMinutesSeconds.toMillis();
+        return HoursMinutesSeconds.ofMillis(Math.floor(millis / updateIntervalMillis) * updateIntervalMillis);
+    }
+
+    private AffineTransform transform(OffsetRadius offsetRadius, HoursMinutesSeconds time) {
+        double radius = offsetRadius.radius();
+        double centerX = offsetRadius.offsetX() + bounds.getCenterX() * radius;
+        double centerY = offsetRadius.offsetY() + bounds.getCenterY() * radius;
+        double factor = scale.evaluate(time);
+        AffineTransform transform = AffineTransform.getTranslateInstance(dx.evaluate(time) * radius, dy.evaluate(time) * radius);
+        transform.rotate(toRadians(rotate.evaluate(time)), offsetRadius.offsetX(), offsetRadius.offsetY());
+        transform.translate(centerX, centerY);
+        transform.scale(factor, factor);
+        transform.translate(-centerX, -centerY);
+        return transform;
+    }
+
+    /** The element adjusted to the clock, kept while the clock keeps its size and position. */
+    private GraphicalElement adjusted(OffsetRadius offsetRadius) {
+        Adjusted current = adjusted;
+        if (current == null || !current.offsetRadius().equals(offsetRadius)) {
+            current = new Adjusted(offsetRadius, element.adjust(offsetRadius));
+            adjusted = current;
+        }
+        return current.element();
+    }
+
+    private static Rectangle2D pad(Rectangle2D screenBounds) {
+        return new Rectangle2D.Double(
+                screenBounds.getX() - ANTIALIAS_PADDING,
+                screenBounds.getY() - ANTIALIAS_PADDING,
+                screenBounds.getWidth() + 2 * ANTIALIAS_PADDING,
+                screenBounds.getHeight() + 2 * ANTIALIAS_PADDING);
+    }
+}
@@ -17,50 +17,137 @@ package org.clock.styles.gsonstyle;
 
 import com.google.gson.Gson;
 import org.clock.*;
+import org.clock.complications.StopwatchDial;
+import org.clock.complications.TextWindow;
+import org.clock.complications.TimeZoneDial;
 import org.clock.graphical.*;
 
 import java.awt.*;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-
-import static org.clock.ClockUtils.paintOnClock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 public class GsonStyle implements Style {
+    // Hand sprites are off unless clockapp.handSprites sets the number of angles per turn.
+    private static final int HAND_SPRITE_ANGLES = Integer.getInteger("clockapp.handSprites", 0);
+    private static final long HAND_SPRITE_MAX_BYTES = Long.getLong("clockapp.handSprites.maxBytes", 32L << 20);
 
     private final String name;
     private final String description;
-    private final List<GraphicalElement> clockFaceElements;
-    private final List<GraphicalElement> secondHandElements;
-    private final List<GraphicalElement> minuteHandElements;
-    private final List<GraphicalElement> hourHandElements;
-    private String sourceCode = null;
+    private final StyleCatalog.Entry catalogEntry;
+    private final Supplier<String> sourceReader;
+    private volatile Contents contents;
+    // Levels of detail above 0, level 0 are the contents' layers.
+    private final Map<Integer, Layers> levelsOfDetail = new ConcurrentHashMap<>();
+    // Elements before ShapeOptimizer merged the ticks, for SVG export's shared ticks.
+    private volatile Layers unoptimizedLayers;
+    private volatile HandSpriteCache handSpriteCache =
+            HAND_SPRITE_ANGLES > 0 ? new HandSpriteCache(HAND_SPRITE_ANGLES, HAND_SPRITE_MAX_BYTES) : null;
+
+    private record Layers(BoundedElements clockFace, BoundedElements secondHand, BoundedElements minuteHand, BoundedElements hourHand) {
+        Layers levelOfDetail(double minimumSize) {
+            return new Layers(
+                    clockFace.levelOfDetail(minimumSize),
+                    secondHand.levelOfDetail(minimumSize),
+                    minuteHand.levelOfDetail(minimumSize),
+                    hourHand.levelOfDetail(minimumSize));
+        }
+    }
+
+    /** Everything built from the style's JSON, sourceCode is null for styles built from a model. */
+    private record Contents(StyleModel model, String sourceCode, Layers layers, List<AnimatedElement> animatedElements,
+                            long animationIntervalMillis, List<Complication> complications) {
+        static Contents of(StyleModel model, String sourceCode, boolean optimizeShapes) {
+            List<AnimatedElement> animatedElements = model.animated().stream()
+                    .map(animated -> AnimatedElement.of(toGraphicalElement(animated.shape()), animated))
+                    .toList();
+            long animationIntervalMillis = animatedElements.stream()
+                    .mapToLong(AnimatedElement::getUpdateIntervalMillis).filter(i -> i > 0).min().orElse(0);
+            return new Contents(model, sourceCode, toLayers(model, optimizeShapes), animatedElements,
+                    animationIntervalMillis, model.complications().stream().map(GsonStyle::toComplication).toList());
+        }
+    }
 
-    private GsonStyle(Map<?, ?> jsonClockMap) throws JSONSchemaException {
-        name = jsonClockMap.get("name").toString();
-        description = jsonClockMap.containsKey("description") ? jsonClockMap.get("description").toString() : null;
-        clockFaceElements= toGraphicalElements((List<?>)jsonClockMap.get("clock_face"));
-        secondHandElements = toGraphicalElements((List<?>)jsonClockMap.get("second_hand"));
-        minuteHandElements = toGraphicalElements((List<?>)jsonClockMap.get("minute_hand"));
-        hourHandElements = toGraphicalElements((List<?>)jsonClockMap.get("hour_hand"));
+    private GsonStyle(StyleModel model, String sourceCode, boolean optimizeShapes) {
+        name = model.name();
+        description = model.description();
+        catalogEntry = null;
+        sourceReader = null;
+        contents = Contents.of(model, sourceCode, optimizeShapes);
     }
 
     public GsonStyle(Gson gson, String json) throws JSONSchemaException {
-        this(gson.fromJson(json, Map.class));
-        sourceCode = json;
+        this(gson, json, true);
+    }
+
+    GsonStyle(Gson gson, String json, boolean optimizeShapes) throws JSONSchemaException {
+        this(StyleValidator.validate(gson, json), json, optimizeShapes);
     }
 
     public GsonStyle(Gson gson, InputStream styleStream) throws JSONSchemaException {
         this(gson, readContents(styleStream));
     }
 
+    /** Style of a model StyleValidator already checked, sourceCode is the JSON it was read from. */
+    public GsonStyle(StyleModel model, String sourceCode) {
+        this(model, sourceCode, true);
+    }
+
+    /**
+     * Style listed in a StyleCatalog, its name and description come from the entry and its JSON is
+     * read and parsed when the style is first used.
+     */
+    public GsonStyle(StyleCatalog.Entry catalogEntry, Supplier<String> sourceReader) {
+        this.name = catalogEntry.name();
+        this.description = catalogEntry.description();
+        this.catalogEntry = catalogEntry;
+        this.sourceReader = sourceReader;
+    }
+
+    private Contents contents() {
+        Contents result = contents;
+        if (result == null) {
+            synchronized (this) {
+                result = contents;
+                if (result == null) {
+                    String source = sourceReader.get();
+                    try {
+                        result = Contents.of(StyleValidator.validate(source), source, true);
+                    } catch (JSONSchemaException ex) {
+                        throw new IllegalStateException(
+                                "Style \"" + catalogEntry.resource() + "\" changed since it was indexed:\n" + ex.getMessage(), ex);
+                    }
+                    contents = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Whether the style's JSON was parsed, always true unless the style comes from a catalog. */
+    public boolean isLoaded() {
+        return contents != null;
+    }
+
+    public Optional<StyleCatalog.Entry> getCatalogEntry() {
+        return Optional.ofNullable(catalogEntry);
+    }
+
+    public StyleModel getModel() {
+        return contents().model();
+    }
+
     @Override
     public String getSourceCode() {
-        return sourceCode;
+        return contents().sourceCode();
     }
 
     @Override
@@ -81,54 +168,244 @@ public class GsonStyle implements Style {
         }
     }
 
-    List<GraphicalElement> toGraphicalElements(List<?> shapeList) throws JSONSchemaException {
-        ArrayList<GraphicalElement> graphicalElements = new ArrayList<>();
-        if (shapeList != null) {
-            for (Object object : shapeList) {
-                var map = new JSONShapeMap((Map<?,?>)object);
-                String shape = map.getShape();
-                if (shape == null) {
-                    throw new JSONSchemaException("shape is not specified for graphical element.");
-                }
-                try {
-                    GraphicalElement element = switch (shape) {
-                        case "polygon" -> new FilledPoly(map.getColor(),  map.getPoints().toArray(new Point2D[0]));
-                        case "rectangle" ->
-                                FilledPoly.rectangle(map.getColor(),  map.getPoint("fx", "fy"), map.getPoint("tx", "ty"));
-                        case "circle" -> new CircleGraphicalElement(map.getColor(), map.getPoint(), map.getRadius());
-                        case "text" -> new TextGraphicalElement(map.getColor(), map.getText(), map.getPoint(), map.getFont(), map.getSize(), map.getStyles());
-                        default -> throw new JSONSchemaException("Invalid shape.");
-                    };
-                    Optional<Integer> ticks = map.getTicks();
-                    graphicalElements.add(ticks.map(t -> (GraphicalElement) CompositeGraphicalElement.ticks(element, t)).orElse(element));
-                } catch (JSONSchemaException ex) {
-                    throw ex.setShape(shape);
+    private static Layers toLayers(StyleModel model, boolean optimizeShapes) {
+        return new Layers(
+                new BoundedElements(toGraphicalElements(model.clockFace(), optimizeShapes)),
+                new BoundedElements(toGraphicalElements(model.secondHand(), optimizeShapes)),
+                new BoundedElements(toGraphicalElements(model.minuteHand(), optimizeShapes)),
+                new BoundedElements(toGraphicalElements(model.hourHand(), optimizeShapes)));
+    }
+
+    static List<GraphicalElement> toGraphicalElements(List<StyleModel.Shape> shapes, boolean optimizeShapes) {
+        ArrayList<GraphicalElement> graphicalElements = new ArrayList<>(shapes.size());
+        for (StyleModel.Shape shape : shapes) {
+            graphicalElements.add(toGraphicalElement(shape));
+        }
+        return optimizeShapes ? ShapeOptimizer.optimize(graphicalElements) : graphicalElements;
+    }
+
+    static GraphicalElement toGraphicalElement(StyleModel.Shape shape) {
+        GraphicalElement element;
+        if (shape instanceof StyleModel.Rectangle rectangle) {
+            element = FilledPoly.rectangle(rectangle.color(), point(rectangle.from()), point(rectangle.to()));
+        } else if (shape instanceof StyleModel.Polygon polygon) {
+            element = new FilledPoly(polygon.color(), polygon.points().stream().map(GsonStyle::point).toArray(Point2D[]::new));
+        } else if (shape instanceof StyleModel.Circle circle) {
+            element = new CircleGraphicalElement(circle.color(), point(circle.center()), circle.radius());
+        } else if (shape instanceof StyleModel.Text text) {
+            element = new TextGraphicalElement(text.color(), text.text(), point(text.position()), text.font(), text.size(), text.styles());
+        } else {
+            throw new IllegalArgumentException("Unknown shape: " + shape);
+        }
+        return shape.ticks() > 0 ? CompositeGraphicalElement.ticks(element, shape.ticks()) : element;
+    }
+
+    private static Point2D point(StyleModel.Point point) {
+        return new Point2D.Double(point.x(), point.y());
+    }
+
+    static Complication toComplication(StyleModel.ComplicationSpec spec) {
+        Point2D center = point(spec.center());
+        if (spec instanceof StyleModel.TextWindowSpec window) {
+            Rectangle2D bounds = new Rectangle2D.Double(
+                    center.getX() - window.width() / 2, center.getY() - window.height() / 2, window.width(), window.height());
+            return window.dayOfWeek()
+                    ? TextWindow.dayOfWeek(bounds, window.color(), window.background(), window.font())
+                    : TextWindow.date(bounds, window.color(), window.background(), window.font());
+        } else if (spec instanceof StyleModel.TimeZoneSpec dial) {
+            return new TimeZoneDial(center, dial.radius(), dial.color(), dial.background(), dial.label(), dial.zone());
+        } else if (spec instanceof StyleModel.StopwatchSpec dial) {
+            return new StopwatchDial(center, dial.radius(), dial.color(), dial.background(), dial.label());
+        }
+        throw new IllegalArgumentException("Unknown complication: " + spec);
+    }
+
+    public BoundedElements getClockFaceElements() {
+        return contents().layers().clockFace();
+    }
+
+    public BoundedElements getSecondHandElements() {
+        return contents().layers().secondHand();
+    }
+
+    public BoundedElements getMinuteHandElements() {
+        return contents().layers().minuteHand();
+    }
+
+    public BoundedElements getHourHandElements() {
+        return contents().layers().hourHand();
+    }
+
+    /** Elements for the clock's size, each level of detail is simplified once and then cached. */
+    private Layers layers(Graphics2D graphics2D, OffsetRadius offsetRadius) {
+        return layers(LevelOfDetail.level(graphics2D, offsetRadius.radius()));
+    }
+
+    private Layers layers(int level) {
+        if (level == 0) {
+            return contents().layers();
+        }
+        return levelsOfDetail.computeIfAbsent(
+                level, l -> contents().layers().levelOfDetail(LevelOfDetail.minimumSize(l)));
+    }
+
+    /**
+     * Renders the whole clock (face and hands) into the target without Java2D, for example into a
+     * {@link SoftwareRasterizer} when rendering headless.
+     */
+    public void render(RenderTarget target, OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        Layers layers = layers(LevelOfDetail.level(offsetRadius.radius()));
+        layers.clockFace().render(target, offsetRadius);
+        contents().animatedElements().forEach(e -> e.render(target, offsetRadius, hoursMinutesSeconds));
+        layers.minuteHand().renderOnClock(target, offsetRadius, hoursMinutesSeconds.minutes()/60d);
+        layers.hourHand().renderOnClock(target, offsetRadius, hoursMinutesSeconds.hours()/12d);
+        layers.secondHand().renderOnClock(target, offsetRadius, hoursMinutesSeconds.seconds()/60d);
+    }
+
+    /** Writes the face and hands with the ticked elements shared, the hands are rotated groups. */
+    @Override
+    public void writeSvg(SvgWriter svg, OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        Layers layers = unoptimizedLayers();
+        svg.writeElements(layers.clockFace(), offsetRadius);
+        contents().animatedElements().forEach(e -> e.render(svg, offsetRadius, hoursMinutesSeconds));
+        svg.writeElementsOnClock(layers.minuteHand(), offsetRadius, hoursMinutesSeconds.minutes()/60d);
+        svg.writeElementsOnClock(layers.hourHand(), offsetRadius, hoursMinutesSeconds.hours()/12d);
+        svg.writeElementsOnClock(layers.secondHand(), offsetRadius, hoursMinutesSeconds.seconds()/60d);
+    }
+
+    /**
+     * Compiles the unoptimized elements, ticks as their base element under a rotation and hands
+     * rotated to 12:00, leaving the merging to DisplayListOptimizer.
+     */
+    @Override
+    public void compile(DisplayList.Builder builder, HoursMinutesSeconds hoursMinutesSeconds) {
+        Layers layers = unoptimizedLayers();
+        compile(builder, layers.clockFace());
+        compileHand(builder, DisplayList.MINUTE_HAND, layers.minuteHand());
+        compileHand(builder, DisplayList.HOUR_HAND, layers.hourHand());
+        compileHand(builder, DisplayList.SECOND_HAND, layers.secondHand());
+    }
+
+    private static void compileHand(DisplayList.Builder builder, int hand, BoundedElements elements) {
+        builder.pushHand(hand);
+        builder.pushTransform(AffineTransform.getRotateInstance(ClockUtils.toRadians(0.5d)));
+        compile(builder, elements);
+        builder.pop();
+        builder.pop();
+    }
+
+    private static void compile(DisplayList.Builder builder, BoundedElements elements) {
+        OffsetRadius offsetRadius = new OffsetRadius(0, 0, DisplayList.RADIUS);
+        for (GraphicalElement element : elements.getElements()) {
+            if (element instanceof CompositeGraphicalElement composite && composite.isRotatedTicks()) {
+                GraphicalElement base = composite.getTickBase().get().adjust(offsetRadius);
+                int ticks = composite.getTickCount();
+                for (int i = 0; i < ticks; i++) {
+                    builder.pushTransform(AffineTransform.getRotateInstance(ClockUtils.toRadians(0.5d + (double) i / ticks)));
+                    base.render(builder);
+                    builder.pop();
                 }
+            } else {
+                element.adjust(offsetRadius).render(builder);
             }
         }
-        return graphicalElements;
+    }
+
+    private Layers unoptimizedLayers() {
+        Layers layers = unoptimizedLayers;
+        if (layers == null) {
+            layers = toLayers(contents().model(), false);
+            unoptimizedLayers = layers;
+        }
+        return layers;
     }
 
     @Override
     public void paintClockFace(Graphics2D graphics2D, OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
-        clockFaceElements.forEach(ge -> ge.adjust(offsetRadius).draw(graphics2D));
+        layers(graphics2D, offsetRadius).clockFace().draw(graphics2D, offsetRadius);
+    }
+
+    @Override
+    public void paintAnimatedElements(Graphics2D graphics2D, OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        for (AnimatedElement element : contents().animatedElements()) {
+            element.draw(graphics2D, offsetRadius, hoursMinutesSeconds);
+        }
+    }
+
+    @Override
+    public Optional<Rectangle2D> getAnimatedBounds(OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        Rectangle2D bounds = null;
+        for (AnimatedElement element : contents().animatedElements()) {
+            Optional<Rectangle2D> elementBounds = element.getBounds(offsetRadius, hoursMinutesSeconds);
+            if (elementBounds.isPresent()) {
+                bounds = bounds == null ? elementBounds.get() : bounds.createUnion(elementBounds.get());
+            }
+        }
+        return Optional.ofNullable(bounds);
+    }
+
+    @Override
+    public long getAnimationIntervalMillis() {
+        return contents().animationIntervalMillis();
+    }
+
+    @Override
+    public List<Complication> getComplications() {
+        return contents().complications();
     }
 
     @Override
     public void paintMinuteHand(Graphics2D graphics2D, OffsetRadius offsetRadius, double minutes) {
-        var fraction = minutes/60d;
-        minuteHandElements.forEach(ge -> paintOnClock(graphics2D, ge, offsetRadius, fraction));
+        drawHand(graphics2D, layers(graphics2D, offsetRadius).minuteHand(), offsetRadius, minutes/60d);
     }
 
     @Override
     public void paintHourHand(Graphics2D graphics2D, OffsetRadius offsetRadius, double hour) {
-        var fraction = hour/12d;
-        hourHandElements.forEach(ge -> paintOnClock(graphics2D, ge, offsetRadius, fraction));
+        drawHand(graphics2D, layers(graphics2D, offsetRadius).hourHand(), offsetRadius, hour/12d);
     }
 
     @Override
     public void paintSecondHand(Graphics2D graphics2D, OffsetRadius offsetRadius, double seconds) {
-        var fraction = seconds/60d;
-        secondHandElements.forEach(ge -> paintOnClock(graphics2D, ge, offsetRadius, fraction));
+        drawHand(graphics2D, layers(graphics2D, offsetRadius).secondHand(), offsetRadius, seconds/60d);
+    }
+
+    private void drawHand(Graphics2D graphics2D, BoundedElements hand, OffsetRadius offsetRadius, double fraction) {
+        HandSpriteCache cache = handSpriteCache;
+        if (cache != null) {
+            cache.drawOnClock(graphics2D, hand, offsetRadius, fraction);
+        } else {
+            hand.drawOnClock(graphics2D, offsetRadius, fraction);
+        }
+    }
+
+    /** Sprites are drawn at the nearest cached angle, bounds must cover that angle rather than the exact one. */
+    private double drawnFraction(double fraction) {
+        HandSpriteCache cache = handSpriteCache;
+        return cache != null ? cache.quantize(fraction) : fraction;
+    }
+
+    /** Hands are drawn from the cache's pre-rendered sprites, or with their shapes when the cache is null. */
+    public void setHandSpriteCache(HandSpriteCache handSpriteCache) {
+        this.handSpriteCache = handSpriteCache;
+    }
+
+    public Optional<HandSpriteCache> getHandSpriteCache() {
+        return Optional.ofNullable(handSpriteCache);
+    }
+
+    @Override
+    public Optional<Rectangle2D> getHandsBounds(OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+        // Full detail bounds cover every level of detail, whatever scale the hands are painted at.
+        Layers layers = contents().layers();
+        Rectangle2D bounds = null;
+        for (Optional<Rectangle2D> handBounds : List.of(
+                layers.secondHand().getBoundsOnClock(offsetRadius, drawnFraction(hoursMinutesSeconds.seconds()/60d)),
+                layers.minuteHand().getBoundsOnClock(offsetRadius, drawnFraction(hoursMinutesSeconds.minutes()/60d)),
+                layers.hourHand().getBoundsOnClock(offsetRadius, drawnFraction(hoursMinutesSeconds.hours()/12d)))) {
+            if (handBounds.isPresent()) {
+                bounds = bounds == null ? handBounds.get() : bounds.createUnion(handBounds.get());
+            }
+        }
+        return Optional.ofNullable(bounds);
     }
 }
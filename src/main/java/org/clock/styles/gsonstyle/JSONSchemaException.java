@@ -15,12 +15,26 @@
  */
 package org.clock.styles.gsonstyle;
 
+import java.util.List;
+
 public class JSONSchemaException extends Exception {
+    private final List<String> errors;
     private String resource;
     private String shape;
 
     public JSONSchemaException(String message) {
         super(message);
+        errors = List.of(message);
+    }
+
+    /** Every error found, one per line in the message. */
+    public JSONSchemaException(List<String> errors) {
+        super(String.join("\n", errors));
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<String> getErrors() {
+        return errors;
     }
 
     public JSONSchemaException setResource(String resource) {
@@ -16,88 +16,168 @@
 package org.clock.styles.gsonstyle;
 
 import java.awt.*;
-import java.awt.geom.Point2D;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
-record JSONShapeMap(Map<?, ?> map) {
-    String getShape() {
-        return (String) map.get("shape");
+/**
+ * JSON object read by StyleValidator. The getters add problems to the error list, prefixed with
+ * the key's JSON path, and return a placeholder instead of throwing, so a single pass reports
+ * every error of a style.
+ */
+record JSONShapeMap(Map<?, ?> map, String path, List<String> errors) {
+
+    void error(String key, String message) {
+        errors.add(path + "." + key + ": " + message);
     }
 
-    Color getColor() throws JSONSchemaException {
-        return readColor(map.get("color"));
+    /** Objects of the list at the key, empty when the key is missing. */
+    List<JSONShapeMap> getObjects(String key) {
+        Object object = map.get(key);
+        if (object == null) {
+            return List.of();
+        }
+        if (!(object instanceof List<?> list)) {
+            error(key, "Key value must be a list.");
+            return List.of();
+        }
+        List<JSONShapeMap> objects = new ArrayList<>(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) instanceof Map<?, ?> element) {
+                objects.add(new JSONShapeMap(element, path + "." + key + "[" + i + "]", errors));
+            } else {
+                error(key + "[" + i + "]", "Element must be a JSON object.");
+            }
+        }
+        return objects;
     }
 
-    java.util.List<Point2D> getPoints() throws JSONSchemaException {
-        java.util.List<?> pointList = (java.util.List<?>) map.get("points");
-        List<Point2D> points = new ArrayList<>();
-        for (Object o : pointList) {
-            JSONShapeMap m = new JSONShapeMap((Map<?, ?>) o);
-            points.add(m.readPoint("x", "y"));
+    Optional<String> getString(String key) {
+        Object object = map.get(key);
+        if (object == null) {
+            return Optional.empty();
         }
-        return points;
+        if (!(object instanceof String string)) {
+            error(key, String.format("Key value \"%s\" must be a string.", key));
+            return Optional.empty();
+        }
+        return Optional.of(string);
     }
 
-    Point2D getPoint() throws JSONSchemaException {
-        return getPoint("x", "y");
+    String getRequiredString(String key) {
+        if (!map.containsKey(key)) {
+            error(key, String.format("Key \"%s\" is not specified.", key));
+            return "";
+        }
+        return getString(key).orElse("");
     }
 
-    Point2D getPoint(String xKey, String yKey) throws JSONSchemaException {
-        return readPoint(xKey, yKey);
+    double getDouble(String key) {
+        if (!(map.get(key) instanceof Double d)) {
+            error(key, String.format("Key value \"%s\" must be a number.", key));
+            return 0d;
+        }
+        return d;
     }
 
-    double getRadius() {
-        return (double) map.get("radius");
+    Color getColor() {
+        return getOptionalColor("color").orElse(Color.BLACK);
     }
 
-    double getSize() {
-        return (double) map.get("size");
+    /** Color of the key, empty when the key is missing or invalid. */
+    Optional<Color> getOptionalColor(String key) {
+        Object object = map.get(key);
+        if (object == null) {
+            return Optional.empty();
+        }
+        if (object instanceof String string) {
+            try {
+                return Optional.of(parseColorWithAlpha(string).orElseGet(() -> Color.decode(string)));
+            } catch (NumberFormatException ignored) {
+                // no-op, reported below.
+            }
+        }
+        error(key, "Invalid color format, expecting \"#FFFFFF\" format.");
+        return Optional.empty();
     }
 
-    String getText() {
-        return (String) map.get("text");
+    List<StyleModel.Point> getPoints() {
+        if (!map.containsKey("points")) {
+            error("points", "Key \"points\" is not specified.");
+            return List.of();
+        }
+        List<StyleModel.Point> points = new ArrayList<>();
+        for (JSONShapeMap point : getObjects("points")) {
+            points.add(point.getPoint());
+        }
+        return points;
+    }
+
+    StyleModel.Point getPoint() {
+        return getPoint("x", "y");
     }
 
-    String getFont() {
-        return (String) map.get("font");
+    StyleModel.Point getPoint(String xKey, String yKey) {
+        return new StyleModel.Point(getDouble(xKey), getDouble(yKey));
     }
 
     int getStyles() {
-        String stylesString = (String) map.get("styles");
         int styles = 0;
-        if (stylesString != null) {
-            String[] array = stylesString.split(",");
-            for (String token : array) {
-                styles |= switch (token) {
-                    case "bold" -> Font.BOLD;
-                    case "italic" -> Font.ITALIC;
-                    case "plain" -> Font.PLAIN;
-                    default -> throw new RuntimeException("unknown style:" + token);
-                };
+        Optional<String> stylesString = getString("styles");
+        if (stylesString.isPresent()) {
+            for (String token : stylesString.get().split(",")) {
+                switch (token) {
+                    case "bold" -> styles |= Font.BOLD;
+                    case "italic" -> styles |= Font.ITALIC;
+                    case "plain" -> styles |= Font.PLAIN;
+                    default -> error("styles", "Unknown font style \"" + token + "\".");
+                }
             }
         }
         return styles;
     }
 
-    Optional<Integer> getTicks() throws JSONSchemaException {
+    /** Number of ticks, 0 when the key is missing. */
+    int getTicks() {
         Object object = map.get("ticks");
         if (object != null) {
             if (object instanceof Double d && d == (int) (double) d && d >= 2d && d < 61d) {
-                return Optional.of((int) (double) d);
+                return (int) (double) d;
             }
-            throw new JSONSchemaException("Key value \"ticks\" must be a whole number between 2 and 60.");
+            error("ticks", "Key value \"ticks\" must be a whole number between 2 and 60.");
         }
-        return Optional.empty();
+        return 0;
+    }
+
+    /** The expression of the key, written as a number or as a string, the default when the key is missing. */
+    TimeExpression getExpression(String key, double defaultValue) {
+        Object object = map.get(key);
+        if (object instanceof Double d) {
+            return TimeExpression.constant(d);
+        }
+        if (object instanceof String string) {
+            try {
+                return TimeExpression.compile(string);
+            } catch (JSONSchemaException ex) {
+                error(key, ex.getMessage());
+            }
+        } else if (object != null) {
+            error(key, String.format("Key value \"%s\" must be a number or an expression string.", key));
+        }
+        return TimeExpression.constant(defaultValue);
     }
 
-    private Point2D readPoint(String xKey, String yKey) throws JSONSchemaException {
-        if (!map.containsKey(xKey) || !map.containsKey(yKey)) {
-            throw new JSONSchemaException(String.format("Point specified incorrectly (expecting: %s = <double>, %s = <double>).", xKey, yKey));
+    /** Milliseconds of "update_ms", 0 when the key is missing. */
+    long getUpdateMillis() {
+        Object object = map.get("update_ms");
+        if (object != null) {
+            if (object instanceof Double d && d == Math.rint(d) && d >= 1d) {
+                return (long) (double) d;
+            }
+            error("update_ms", "Key value \"update_ms\" must be a whole number of milliseconds.");
         }
-        return new Point2D.Double((double) map.get(xKey), (double) map.get(yKey));
+        return 0;
     }
 
     private static Optional<Color> parseColorWithAlpha(String hexString) {
@@ -111,18 +191,4 @@ record JSONShapeMap(Map<?, ?> map) {
         // Create the Color object
         return Optional.of(new Color(colorInt, true));
     }
-
-    private static Color readColor(Object object) throws JSONSchemaException {
-        if (object == null) {
-            return Color.BLACK;
-        }
-        if (object instanceof String string) {
-            try {
-                return parseColorWithAlpha(string).orElseGet(() -> Color.decode(string));
-            } catch (NumberFormatException ignored) {
-                // no-op, will throw exception below.
-            }
-        }
-        throw new JSONSchemaException("Invalid color format, expecting \"#FFFFFF\" format.");
-    }
 }
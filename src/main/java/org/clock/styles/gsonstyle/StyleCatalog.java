@@ -0,0 +1,348 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.styles.gsonstyle;
+
+import org.clock.CacheFiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.function.Function;
+
+/**
+ * Index of the JSON styles of a directory tree (or a directory of a jar) laid out like
+ * StyleGroups resources: groups.properties lists the group directories and each group's
+ * group.properties lists its styles. Each entry keeps what lists and searches need (name,
+ * description, group, element counts, a complexity score and a content hash), so styles can be
+ * listed and searched without parsing their JSON.
+ * The index is written to a compact binary file. Building it again from the previous index only
+ * reads the styles whose size or modification time changed, and validates only the ones whose
+ * content changed.
+ */
+public final class StyleCatalog {
+    private static final int MAGIC = 0x434C4B49; // "CLKI"
+    private static final int VERSION = 1;
+
+    /**
+     * Indexed style. resource is the style's path relative to the catalog root, elementCount counts
+     * shapes, animated shapes and complications, complexity weighs them by how much they draw.
+     */
+    public record Entry(String group, String resource, String name, String description, int elementCount,
+                        int complexity, long contentHash, long size, long lastModified) {
+    }
+
+    private final String name;
+    private final List<String> groups;
+    private final List<Entry> entries;
+    // Lower case group, name and description of each entry, searched without allocating.
+    private final String[] searchTexts;
+
+    public StyleCatalog(String name, List<String> groups, List<Entry> entries) {
+        this.name = name;
+        this.groups = List.copyOf(groups);
+        this.entries = List.copyOf(entries);
+        this.searchTexts = new String[entries.size()];
+        for (int i = 0; i < searchTexts.length; i++) {
+            searchTexts[i] = searchText(entries.get(i));
+        }
+    }
+
+    public static StyleCatalog empty() {
+        return new StyleCatalog(null, List.of(), List.of());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** Group names in groups.properties order. */
+    public List<String> getGroups() {
+        return groups;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public Optional<Entry> find(String resource) {
+        return entries.stream().filter(e -> e.resource().equals(resource)).findFirst();
+    }
+
+    /**
+     * Entries whose group, name or description contains every word of the query, ignoring case, in
+     * catalog order. A blank query matches every entry.
+     */
+    public List<Entry> search(String query) {
+        String[] words = words(query);
+        List<Entry> found = new ArrayList<>();
+        for (int i = 0; i < searchTexts.length; i++) {
+            if (matches(searchTexts[i], words)) {
+                found.add(entries.get(i));
+            }
+        }
+        return found;
+    }
+
+    /** Whether the entry matches the query the way {@link #search} does. */
+    public static boolean matches(Entry entry, String query) {
+        return matches(searchText(entry), words(query));
+    }
+
+    /** Lower case group, name and description of the entry, what {@link #search} looks in. */
+    public static String searchText(Entry entry) {
+        return (entry.group() + "\n" + entry.name() + "\n"
+                + (entry.description() == null ? "" : entry.description())).toLowerCase(Locale.ROOT);
+    }
+
+    /** Lower case words of the query, split once to match many search texts. */
+    public static String[] words(String query) {
+        return query.trim().toLowerCase(Locale.ROOT).split("\\s+");
+    }
+
+    /** Whether the search text, see {@link #searchText}, contains every word. */
+    public static boolean matches(String searchText, String[] words) {
+        for (String word : words) {
+            if (!searchText.contains(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static StyleCatalog build(Path root) throws IOException, JSONSchemaException {
+        return build(root, empty());
+    }
+
+    /**
+     * Indexes the styles under root, reusing the previous entries of styles that did not change.
+     * Invalid styles are reported together, see StyleValidator.validateAll.
+     */
+    public static StyleCatalog build(Path root, StyleCatalog previous) throws IOException, JSONSchemaException {
+        Map<String, Entry> previousEntries = new HashMap<>();
+        Map<Long, Entry> previousByHash = new HashMap<>();
+        for (Entry entry : previous.entries) {
+            previousEntries.put(entry.resource(), entry);
+            previousByHash.put(entry.contentHash(), entry);
+        }
+        Properties groupsProperties = properties(root.resolve("groups.properties"));
+        List<String> groupNames = new ArrayList<>();
+        // Entries in catalog order, null where the style must be indexed again.
+        List<Entry> entries = new ArrayList<>();
+        List<String> groupOfEntry = new ArrayList<>();
+        Map<String, String> changedSources = new LinkedHashMap<>();
+        Map<String, BasicFileAttributes> changedAttributes = new HashMap<>();
+        for (String groupDirectory : groupsProperties.getProperty("groups").split(",")) {
+            Properties groupProperties = properties(root.resolve(groupDirectory).resolve("group.properties"));
+            String groupName = groupProperties.getProperty("name");
+            groupNames.add(groupName);
+            for (String styleId : groupProperties.getProperty("styles").split(",")) {
+                String resource = groupDirectory + "/" + styleId + ".json";
+                Path file = root.resolve(groupDirectory).resolve(styleId + ".json");
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                Entry entry = previousEntries.get(resource);
+                long lastModified = attributes.lastModifiedTime().toMillis();
+                if (entry == null || !entry.group().equals(groupName)
+                        || entry.size() != attributes.size() || entry.lastModified() != lastModified) {
+                    String source = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+                    Entry sameContent = previousByHash.get(contentHash(source));
+                    if (sameContent != null) {
+                        entry = new Entry(groupName, resource, sameContent.name(), sameContent.description(),
+                                sameContent.elementCount(), sameContent.complexity(), sameContent.contentHash(),
+                                attributes.size(), lastModified);
+                    } else {
+                        entry = null;
+                        changedSources.put(resource, source);
+                        changedAttributes.put(resource, attributes);
+                    }
+                }
+                entries.add(entry);
+                groupOfEntry.add(groupName);
+            }
+        }
+        Map<String, StyleModel> models = StyleValidator.validateAll(changedSources);
+        int next = 0;
+        for (String resource : changedSources.keySet()) {
+            while (entries.get(next) != null) {
+                next++;
+            }
+            BasicFileAttributes attributes = changedAttributes.get(resource);
+            entries.set(next, entry(groupOfEntry.get(next), resource, models.get(resource), changedSources.get(resource),
+                    attributes.size(), attributes.lastModifiedTime().toMillis()));
+        }
+        return new StyleCatalog(groupsProperties.getProperty("name"), groupNames, entries);
+    }
+
+    /** Indexes the styles of a directory inside of a jar (or zip) file. */
+    public static StyleCatalog buildFromJar(Path jar, String directory, StyleCatalog previous)
+            throws IOException, JSONSchemaException {
+        try (FileSystem fileSystem = FileSystems.newFileSystem(jar)) {
+            return build(fileSystem.getPath(directory), previous);
+        }
+    }
+
+    private static Properties properties(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream stream = Files.newInputStream(file)) {
+            properties.load(stream);
+        }
+        return properties;
+    }
+
+    private static Entry entry(String group, String resource, StyleModel model, String source, long size, long lastModified) {
+        List<List<StyleModel.Shape>> layers = List.of(model.clockFace(), model.secondHand(), model.minuteHand(), model.hourHand());
+        int elementCount = model.animated().size() + model.complications().size();
+        int complexity = 0;
+        for (List<StyleModel.Shape> layer : layers) {
+            elementCount += layer.size();
+            for (StyleModel.Shape shape : layer) {
+                complexity += complexity(shape);
+            }
+        }
+        for (StyleModel.Animated animated : model.animated()) {
+            // Animated shapes are drawn again at every update.
+            complexity += 2 * complexity(animated.shape());
+        }
+        complexity += 8 * model.complications().size();
+        return new Entry(group, resource, model.name(), model.description(), elementCount, complexity,
+                contentHash(source), size, lastModified);
+    }
+
+    /** Rough cost of drawing the shape: its corners, more for circles and text, times its ticks. */
+    private static int complexity(StyleModel.Shape shape) {
+        int cost;
+        if (shape instanceof StyleModel.Polygon polygon) {
+            cost = polygon.points().size();
+        } else if (shape instanceof StyleModel.Rectangle) {
+            cost = 4;
+        } else if (shape instanceof StyleModel.Circle) {
+            cost = 8;
+        } else {
+            cost = 16;
+        }
+        return cost * Math.max(1, shape.ticks());
+    }
+
+    /** First 64 bits of the source's SHA-256. */
+    static long contentHash(String source) {
+        return Long.parseUnsignedLong(CacheFiles.contentHash(source).substring(0, 16), 16);
+    }
+
+    /** Styles of the catalog as groups, each style read with the source reader and parsed when first used. */
+    public StyleGroups toStyleGroups(Function<Entry, String> sourceReader) {
+        Map<String, List<GsonStyle>> stylesByGroup = new LinkedHashMap<>();
+        groups.forEach(group -> stylesByGroup.put(group, new ArrayList<>()));
+        for (Entry entry : entries) {
+            stylesByGroup.get(entry.group()).add(new GsonStyle(entry, () -> sourceReader.apply(entry)));
+        }
+        List<StyleGroup> styleGroups = new ArrayList<>();
+        stylesByGroup.forEach((group, styles) -> styleGroups.add(new StyleGroup(group, styles)));
+        return new StyleGroups(name, styleGroups);
+    }
+
+    public void write(Path file) {
+        CacheFiles.writeAtomically(file, toBytes());
+    }
+
+    byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            writeNullableString(out, name);
+            out.writeInt(groups.size());
+            for (String group : groups) {
+                out.writeUTF(group);
+            }
+            out.writeInt(entries.size());
+            for (Entry entry : entries) {
+                out.writeShort(groups.indexOf(entry.group()));
+                out.writeUTF(entry.resource());
+                out.writeUTF(entry.name());
+                writeNullableString(out, entry.description());
+                out.writeInt(entry.elementCount());
+                out.writeInt(entry.complexity());
+                out.writeLong(entry.contentHash());
+                out.writeLong(entry.size());
+                out.writeLong(entry.lastModified());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Reads a catalog written by {@link #write}, IOException when the file is not a catalog of this version. */
+    public static StyleCatalog read(Path file) throws IOException {
+        return fromBytes(Files.readAllBytes(file));
+    }
+
+    static StyleCatalog fromBytes(byte[] bytes) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                throw new IOException("Not a style catalog of version " + VERSION);
+            }
+            String name = readNullableString(in);
+            int groupCount = in.readInt();
+            List<String> groups = new ArrayList<>(groupCount);
+            for (int i = 0; i < groupCount; i++) {
+                groups.add(in.readUTF());
+            }
+            int entryCount = in.readInt();
+            List<Entry> entries = new ArrayList<>(entryCount);
+            for (int i = 0; i < entryCount; i++) {
+                entries.add(new Entry(groups.get(in.readShort()), in.readUTF(), in.readUTF(), readNullableString(in),
+                        in.readInt(), in.readInt(), in.readLong(), in.readLong(), in.readLong()));
+            }
+            return new StyleCatalog(name, groups, entries);
+        } catch (IndexOutOfBoundsException ex) {
+            throw new IOException("Corrupt style catalog", ex);
+        }
+    }
+
+    private static void writeNullableString(DataOutputStream out, String string) throws IOException {
+        out.writeBoolean(string != null);
+        if (string != null) {
+            out.writeUTF(string);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    @Override
+    public String toString() {
+        return "StyleCatalog[" + name + ", " + groups.size() + " groups, " + entries.size() + " styles]";
+    }
+}
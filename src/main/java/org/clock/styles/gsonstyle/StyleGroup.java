@@ -15,11 +15,10 @@
  */
 package org.clock.styles.gsonstyle;
 
-import com.google.gson.Gson;
-
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -30,7 +29,7 @@ public class StyleGroup {
 
     public StyleGroup(String name, List<GsonStyle> styles) {
         this.name = name;
-        this.styles = new ArrayList<>(styles);
+        this.styles = List.copyOf(styles);
     }
 
     public String getName() {
@@ -41,8 +40,8 @@ public class StyleGroup {
         return styles;
     }
 
+    /** Reads the group's styles, then validates them in parallel before building them. */
     static StyleGroup loadFromResource(String directoryResource) throws JSONSchemaException {
-        Gson gson = new Gson();
         String propertiesResource = directoryResource + "/group.properties";
         try (InputStream groupPropertiesStream = StyleGroup.class.getResourceAsStream(propertiesResource)) {
             Properties groupProperties = new Properties();
@@ -50,21 +49,20 @@ public class StyleGroup {
             String name = groupProperties.getProperty("name");
             String stylesString = groupProperties.getProperty("styles");
             String[] styleIds = stylesString.split(",");
-            ArrayList<GsonStyle> gsonStyleList = new ArrayList<>();
+            Map<String, String> sources = new LinkedHashMap<>();
             for (String styleId : styleIds) {
-                InputStream styleStream;
                 String resource = directoryResource + "/" + styleId + ".json";
-                styleStream = StyleGroup.class.getResourceAsStream(resource);
-
-                if (styleStream == null) {
-                    throw new RuntimeException("Resource InputStream is null: " + resource);
-                }
-                try {
-                    gsonStyleList.add(new GsonStyle(gson, styleStream));
-                } catch (JSONSchemaException exception) {
-                    throw exception.setResource(resource);
+                try (InputStream styleStream = StyleGroup.class.getResourceAsStream(resource)) {
+                    if (styleStream == null) {
+                        throw new RuntimeException("Resource InputStream is null: " + resource);
+                    }
+                    sources.put(resource, GsonStyle.readContents(styleStream));
                 }
             }
+            ArrayList<GsonStyle> gsonStyleList = new ArrayList<>();
+            for (Map.Entry<String, StyleModel> entry : StyleValidator.validateAll(sources).entrySet()) {
+                gsonStyleList.add(new GsonStyle(entry.getValue(), sources.get(entry.getKey())));
+            }
             return new StyleGroup(name, gsonStyleList);
         } catch (IOException e) {
             throw new RuntimeException(e);
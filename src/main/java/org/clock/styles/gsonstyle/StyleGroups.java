@@ -17,11 +17,36 @@ package org.clock.styles.gsonstyle;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public record StyleGroups(String name, List<StyleGroup> groups) {
+    /** Style files read at the same time when loading a style pack. */
+    public static final int MAX_CONCURRENT_READS = 8;
+
+    public StyleGroups {
+        groups = List.copyOf(groups);
+    }
+
     public static StyleGroups loadFromResource(String directoryResource) throws JSONSchemaException {
         String propertyResource = directoryResource + "/groups.properties";
         try (InputStream groupsPropertiesStream = StyleGroups.class.getResourceAsStream(propertyResource)) {
@@ -40,4 +65,164 @@ public record StyleGroups(String name, List<StyleGroup> groups) {
             throw new JSONSchemaException("IOException when reading property resource: " + propertyResource);
         }
     }
+
+    /**
+     * Groups of a style pack directory laid out like the resources: groups.properties next to a
+     * directory per group, each with its group.properties and JSON styles. Adding a face to the pack
+     * does not need a new jar. The style files are read in parallel by at most
+     * {@link #MAX_CONCURRENT_READS} threads and each file is decoded once, the same String is
+     * validated and kept as the style's source code.
+     */
+    public static StyleGroups loadFromDirectory(Path directory) throws JSONSchemaException {
+        try {
+            Properties groupsProperties = properties(directory.resolve("groups.properties"));
+            List<String> groupNames = new ArrayList<>();
+            List<Integer> groupOfFile = new ArrayList<>();
+            List<String> resources = new ArrayList<>();
+            List<Path> files = new ArrayList<>();
+            for (String groupDirectory : groupsProperties.getProperty("groups").split(",")) {
+                Properties groupProperties = properties(directory.resolve(groupDirectory).resolve("group.properties"));
+                for (String styleId : groupProperties.getProperty("styles").split(",")) {
+                    groupOfFile.add(groupNames.size());
+                    resources.add(groupDirectory + "/" + styleId + ".json");
+                    files.add(directory.resolve(groupDirectory).resolve(styleId + ".json"));
+                }
+                groupNames.add(groupProperties.getProperty("name"));
+            }
+            List<String> contents = readAll(files);
+            Map<String, String> sources = new LinkedHashMap<>();
+            for (int i = 0; i < resources.size(); i++) {
+                sources.put(resources.get(i), contents.get(i));
+            }
+            Map<String, StyleModel> models = StyleValidator.validateAll(sources);
+            List<List<GsonStyle>> stylesOfGroups = new ArrayList<>();
+            groupNames.forEach(g -> stylesOfGroups.add(new ArrayList<>()));
+            for (int i = 0; i < resources.size(); i++) {
+                String resource = resources.get(i);
+                stylesOfGroups.get(groupOfFile.get(i)).add(new GsonStyle(models.get(resource), sources.get(resource)));
+            }
+            List<StyleGroup> groups = new ArrayList<>();
+            for (int i = 0; i < groupNames.size(); i++) {
+                groups.add(new StyleGroup(groupNames.get(i), stylesOfGroups.get(i)));
+            }
+            return new StyleGroups(groupsProperties.getProperty("name"), groups);
+        } catch (IOException ex) {
+            throw new JSONSchemaException("IOException when reading style pack: " + directory + ": " + ex.getMessage());
+        }
+    }
+
+    /** Groups of a .zip style pack, laid out like a style pack directory from the root of the archive. */
+    public static StyleGroups loadFromZip(Path zip) throws JSONSchemaException {
+        try (FileSystem fileSystem = FileSystems.newFileSystem(zip)) {
+            return loadFromDirectory(fileSystem.getPath("/"));
+        } catch (IOException ex) {
+            throw new JSONSchemaException("IOException when reading style pack: " + zip + ": " + ex.getMessage());
+        }
+    }
+
+    /** Groups of a style pack, a .zip file or a directory. */
+    public static StyleGroups loadFromPath(Path path) throws JSONSchemaException {
+        return path.getFileName() != null && path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".zip")
+                ? loadFromZip(path)
+                : loadFromDirectory(path);
+    }
+
+    private static Properties properties(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream stream = Files.newInputStream(file)) {
+            properties.load(stream);
+        }
+        return properties;
+    }
+
+    /** Contents of the files in their order, read by a pool of at most MAX_CONCURRENT_READS threads. */
+    private static List<String> readAll(List<Path> files) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(MAX_CONCURRENT_READS, files.size())));
+        try {
+            List<Future<String>> reads = new ArrayList<>(files.size());
+            for (Path file : files) {
+                reads.add(executor.submit(() -> Files.readString(file)));
+            }
+            List<String> contents = new ArrayList<>(files.size());
+            for (Future<String> read : reads) {
+                contents.add(read.get());
+            }
+            return contents;
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted reading styles");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Groups listed from a StyleCatalog of the resource directory (a directory or a jar on the class
+     * path), kept in catalogFile and brought up to date incrementally. The styles' JSON is only read
+     * and parsed when a style is first used.
+     */
+    public static StyleGroups loadIndexed(String directoryResource, Path catalogFile) throws JSONSchemaException {
+        StyleCatalog previous;
+        try {
+            previous = StyleCatalog.read(catalogFile);
+        } catch (IOException ex) {
+            previous = StyleCatalog.empty();
+        }
+        StyleCatalog catalog;
+        try {
+            catalog = buildCatalog(directoryResource, previous);
+        } catch (IOException ex) {
+            throw new JSONSchemaException("IOException when indexing resource: " + directoryResource + ": " + ex.getMessage());
+        }
+        if (!catalog.getEntries().equals(previous.getEntries()) || !catalog.getGroups().equals(previous.getGroups())) {
+            try {
+                catalog.write(catalogFile);
+            } catch (UncheckedIOException ex) {
+                // The catalog is only a cache, it is built again next time.
+            }
+        }
+        return catalog.toStyleGroups(entry -> readResource(directoryResource + "/" + entry.resource()));
+    }
+
+    private static StyleCatalog buildCatalog(String directoryResource, StyleCatalog previous)
+            throws IOException, JSONSchemaException {
+        URL url = StyleGroups.class.getResource(directoryResource);
+        if (url == null) {
+            throw new IOException("Resource not found: " + directoryResource);
+        }
+        URI uri;
+        try {
+            uri = url.toURI();
+        } catch (URISyntaxException ex) {
+            throw new IOException(ex);
+        }
+        if (!"jar".equals(uri.getScheme())) {
+            return StyleCatalog.build(Path.of(uri), previous);
+        }
+        FileSystem fileSystem;
+        try {
+            fileSystem = FileSystems.newFileSystem(uri, Map.of());
+        } catch (FileSystemAlreadyExistsException ex) {
+            return StyleCatalog.build(Path.of(uri), previous);
+        }
+        try (fileSystem) {
+            return StyleCatalog.build(fileSystem.provider().getPath(uri), previous);
+        }
+    }
+
+    private static String readResource(String resource) {
+        try (InputStream stream = StyleGroups.class.getResourceAsStream(resource)) {
+            if (stream == null) {
+                throw new UncheckedIOException(new IOException("Resource not found: " + resource));
+            }
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
 }
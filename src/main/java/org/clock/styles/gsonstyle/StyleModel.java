@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.styles.gsonstyle;
+
+import java.awt.Color;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * A JSON style after validation (see StyleValidator): colors, font styles, tick counts and
+ * expressions are parsed and every required value is present, so building the style needs no
+ * further checks. Lists are unmodifiable, ticks are 0 for shapes drawn once.
+ */
+public record StyleModel(String name, String description, List<Shape> clockFace, List<Shape> secondHand,
+                         List<Shape> minuteHand, List<Shape> hourHand, List<Animated> animated,
+                         List<ComplicationSpec> complications) {
+    public StyleModel {
+        clockFace = List.copyOf(clockFace);
+        secondHand = List.copyOf(secondHand);
+        minuteHand = List.copyOf(minuteHand);
+        hourHand = List.copyOf(hourHand);
+        animated = List.copyOf(animated);
+        complications = List.copyOf(complications);
+    }
+
+    public record Point(double x, double y) {
+    }
+
+    public sealed interface Shape permits Rectangle, Polygon, Circle, Text {
+        Color color();
+
+        int ticks();
+    }
+
+    public record Rectangle(Color color, Point from, Point to, int ticks) implements Shape {
+    }
+
+    public record Polygon(Color color, List<Point> points, int ticks) implements Shape {
+        public Polygon {
+            points = List.copyOf(points);
+        }
+    }
+
+    public record Circle(Color color, Point center, double radius, int ticks) implements Shape {
+    }
+
+    /** Text at the position, font is null for the default font and styles are java.awt.Font styles. */
+    public record Text(Color color, String text, Point position, String font, double size, int styles, int ticks)
+            implements Shape {
+    }
+
+    /** Shape of the "animated" list with its expressions, updateMillis is 0 unless "update_ms" is given. */
+    public record Animated(Shape shape, TimeExpression rotate, TimeExpression scale, TimeExpression dx,
+                           TimeExpression dy, TimeExpression alpha, long updateMillis) {
+    }
+
+    /** Complication of the "complications" list, background and label are null when not given. */
+    public sealed interface ComplicationSpec permits TextWindowSpec, TimeZoneSpec, StopwatchSpec {
+        Point center();
+    }
+
+    public record TextWindowSpec(boolean dayOfWeek, Point center, double width, double height, Color color,
+                                 Color background, String font) implements ComplicationSpec {
+    }
+
+    public record TimeZoneSpec(Point center, double radius, Color color, Color background, String label, ZoneId zone)
+            implements ComplicationSpec {
+    }
+
+    public record StopwatchSpec(Point center, double radius, Color color, Color background, String label)
+            implements ComplicationSpec {
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.styles.gsonstyle;
+
+import com.google.gson.Gson;
+import org.clock.ClockUtils;
+import org.clock.Complication;
+import org.clock.HoursMinutesSeconds;
+import org.clock.graphical.GraphicalElement;
+import org.clock.graphical.OffsetRadius;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Measures what a JSON style costs to paint: the time and allocations of each of its elements (one
+ * per JSON shape, with its ticks) and of a whole frame painted from scratch, from which the frames
+ * per second on this machine are estimated. Elements are measured before ShapeOptimizer merges
+ * them, so their costs point at the JSON to change; the frame is painted like the clock paints it.
+ * Allocations are only reported where the JVM counts them per thread, otherwise they are -1.
+ * <p>
+ * Run from the command line with the styles (JSON files, style pack directories or zips) and
+ * options, it prints a report per style and size and exits with 1 when a style is over budget:
+ * mvn compile exec:java -Dexec.mainClass=org.clock.styles.gsonstyle.StyleProfiler -Dexec.args="face.json --size=200"
+ * Options: --size=pixels (repeatable, default 300), --element-us, --element-bytes and --min-fps set the budget.
+ * <p>
+ * In tests, {@link #assertWithinBudget} fails with the elements over budget.
+ */
+public final class StyleProfiler {
+    public static final int DEFAULT_SIZE = 300;
+    public static final Duration DEFAULT_MEASURE_TIME = Duration.ofMillis(50);
+    private static final HoursMinutesSeconds TIME = new HoursMinutesSeconds(10 + 8 / 60d, 8 + 37 / 60d, 37.25);
+
+    /** Cost limits, an element's time and allocations per frame and the whole frame's rate. */
+    public record Budget(double maxElementMicros, long maxElementBytes, double minFramesPerSecond) {
+        /** A frame painted from scratch at 30 fps with no element above 1 ms or 256 KiB. */
+        public static final Budget DEFAULT = new Budget(1000, 256 * 1024, 30);
+    }
+
+    /**
+     * Cost of painting one element once, path is its JSON path and ticks its tick count (0 when not
+     * repeated). bytes is -1 when allocations are not counted.
+     */
+    public record ElementCost(String path, String kind, int ticks, double nanos, long bytes) {
+        public double nanosPerTick() {
+            return ticks > 0 ? nanos / ticks : nanos;
+        }
+    }
+
+    /** Costs of a style at a size in pixels, frameNanos and frameBytes for a whole frame painted from scratch. */
+    public record Report(String style, int size, List<ElementCost> elements, double frameNanos, long frameBytes) {
+        public double framesPerSecond() {
+            return 1e9 / frameNanos;
+        }
+
+        /** What is over the budget, empty when the style is within it. */
+        public List<String> overBudget(Budget budget) {
+            List<String> problems = new ArrayList<>();
+            for (ElementCost element : elements) {
+                if (element.nanos() / 1e3 > budget.maxElementMicros()) {
+                    problems.add(String.format(Locale.ROOT, "%s (%s) takes %.1f us at %d px, budget %.1f us",
+                            element.path(), describe(element), element.nanos() / 1e3, size, budget.maxElementMicros()));
+                }
+                if (element.bytes() > budget.maxElementBytes()) {
+                    problems.add(String.format(Locale.ROOT, "%s (%s) allocates %d bytes at %d px, budget %d bytes",
+                            element.path(), describe(element), element.bytes(), size, budget.maxElementBytes()));
+                }
+            }
+            if (framesPerSecond() < budget.minFramesPerSecond()) {
+                problems.add(String.format(Locale.ROOT, "%.1f fps at %d px, budget %.1f fps",
+                        framesPerSecond(), size, budget.minFramesPerSecond()));
+            }
+            return problems;
+        }
+
+        public String format(Budget budget) {
+            StringBuilder text = new StringBuilder(String.format(Locale.ROOT, "%s at %d px: %.1f fps (%.2f ms, %s per frame)%n",
+                    style, size, framesPerSecond(), frameNanos / 1e6, bytes(frameBytes)));
+            for (ElementCost element : elements) {
+                boolean over = element.nanos() / 1e3 > budget.maxElementMicros() || element.bytes() > budget.maxElementBytes();
+                text.append(String.format(Locale.ROOT, "  %-24s %-16s %10.1f us %10s%s%s%n",
+                        element.path(), describe(element), element.nanos() / 1e3, bytes(element.bytes()),
+                        element.ticks() > 0 ? String.format(Locale.ROOT, " (%.1f us per tick)", element.nanosPerTick() / 1e3) : "",
+                        over ? "  OVER BUDGET" : ""));
+            }
+            overBudget(budget).forEach(problem -> text.append("  ! ").append(problem).append(System.lineSeparator()));
+            return text.toString();
+        }
+
+        private static String describe(ElementCost element) {
+            return element.ticks() > 0 ? element.kind() + " x" + element.ticks() : element.kind();
+        }
+
+        private static String bytes(long bytes) {
+            return bytes < 0 ? "n/a" : bytes < 10 * 1024 ? bytes + " B" : bytes / 1024 + " KiB";
+        }
+    }
+
+    private final long measureNanos;
+
+    public StyleProfiler() {
+        this(DEFAULT_MEASURE_TIME);
+    }
+
+    /** measureTime is spent painting each element and the frame, after a quarter of it warming up. */
+    public StyleProfiler(Duration measureTime) {
+        this.measureNanos = measureTime.toNanos();
+    }
+
+    public Report profile(GsonStyle style, int size) {
+        StyleModel model = style.getModel();
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D graphics2D = image.createGraphics();
+        try {
+            graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            OffsetRadius offsetRadius = new OffsetRadius(size / 2d, size / 2d, size / 2d);
+            ZonedDateTime now = ZonedDateTime.now();
+            List<Complication> complications = style.getComplications();
+            Runnable paintFrame = () -> {
+                style.paintClockFace(graphics2D, offsetRadius, TIME);
+                style.paintAnimatedElements(graphics2D, offsetRadius, TIME);
+                complications.forEach(c -> c.paint(graphics2D, offsetRadius, now));
+                style.paintMinuteHand(graphics2D, offsetRadius, TIME.minutes());
+                style.paintHourHand(graphics2D, offsetRadius, TIME.hours());
+                style.paintSecondHand(graphics2D, offsetRadius, TIME.seconds());
+            };
+            // Whole frames first, so the first elements are not measured while the painting code is compiled.
+            run(paintFrame, measureNanos);
+            List<ElementCost> elements = new ArrayList<>();
+            profileShapes(elements, graphics2D, offsetRadius, "clock_face", model.clockFace(), -1);
+            for (int i = 0; i < model.animated().size(); i++) {
+                StyleModel.Animated animated = model.animated().get(i);
+                AnimatedElement element = AnimatedElement.of(GsonStyle.toGraphicalElement(animated.shape()), animated);
+                elements.add(measure("$.animated[" + i + "]", kind(animated.shape()), animated.shape().ticks(),
+                        () -> element.draw(graphics2D, offsetRadius, TIME)));
+            }
+            for (int i = 0; i < model.complications().size(); i++) {
+                StyleModel.ComplicationSpec spec = model.complications().get(i);
+                Complication complication = GsonStyle.toComplication(spec);
+                elements.add(measure("$.complications[" + i + "]", kind(spec), 0,
+                        () -> complication.paint(graphics2D, offsetRadius, now)));
+            }
+            profileShapes(elements, graphics2D, offsetRadius, "minute_hand", model.minuteHand(), TIME.minutes() / 60d);
+            profileShapes(elements, graphics2D, offsetRadius, "hour_hand", model.hourHand(), TIME.hours() / 12d);
+            profileShapes(elements, graphics2D, offsetRadius, "second_hand", model.secondHand(), TIME.seconds() / 60d);
+            ElementCost frame = measure("$", "frame", 0, paintFrame);
+            return new Report(style.getName(), size, elements, frame.nanos(), frame.bytes());
+        } finally {
+            graphics2D.dispose();
+        }
+    }
+
+    /** Profiles the style at each size and throws an AssertionError listing what is over the budget. */
+    public void assertWithinBudget(GsonStyle style, Budget budget, int... sizes) {
+        StringBuilder problems = new StringBuilder();
+        for (int size : sizes) {
+            profile(style, size).overBudget(budget).forEach(problem -> problems.append(System.lineSeparator()).append(problem));
+        }
+        if (!problems.isEmpty()) {
+            throw new AssertionError("Style \"" + style.getName() + "\" is over budget:" + problems);
+        }
+    }
+
+    /** Shapes of a layer, fraction is the turn of a hand's layer or negative for the face. */
+    private void profileShapes(List<ElementCost> costs, Graphics2D graphics2D, OffsetRadius offsetRadius,
+                               String layer, List<StyleModel.Shape> shapes, double fraction) {
+        for (int i = 0; i < shapes.size(); i++) {
+            StyleModel.Shape shape = shapes.get(i);
+            GraphicalElement element = GsonStyle.toGraphicalElement(shape);
+            Runnable paint = fraction < 0
+                    ? () -> element.adjust(offsetRadius).draw(graphics2D)
+                    : () -> ClockUtils.paintOnClock(graphics2D, element, offsetRadius, fraction);
+            costs.add(measure("$." + layer + "[" + i + "]", kind(shape), shape.ticks(), paint));
+        }
+    }
+
+    private ElementCost measure(String path, String kind, int ticks, Runnable paint) {
+        run(paint, measureNanos / 4);
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        int paints = run(paint, measureNanos);
+        long elapsed = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+        long bytes = allocatedBefore < 0 || allocatedAfter < 0 ? -1 : (allocatedAfter - allocatedBefore) / paints;
+        return new ElementCost(path, kind, ticks, (double) elapsed / paints, bytes);
+    }
+
+    private static int run(Runnable paint, long nanos) {
+        long start = System.nanoTime();
+        int paints = 0;
+        do {
+            paint.run();
+            paints++;
+        } while (System.nanoTime() - start < nanos);
+        return paints;
+    }
+
+    /** Bytes allocated by the current thread, or -1 when the JVM doesn't count them. */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static String kind(StyleModel.Shape shape) {
+        return shape.getClass().getSimpleName().toLowerCase(Locale.ROOT);
+    }
+
+    private static String kind(StyleModel.ComplicationSpec spec) {
+        if (spec instanceof StyleModel.TextWindowSpec window) {
+            return window.dayOfWeek() ? "day_of_week" : "date";
+        } else if (spec instanceof StyleModel.TimeZoneSpec) {
+            return "time_zone";
+        }
+        return "stopwatch";
+    }
+
+    public static void main(String[] args) throws IOException, JSONSchemaException {
+        List<Integer> sizes = new ArrayList<>();
+        double maxElementMicros = Budget.DEFAULT.maxElementMicros();
+        long maxElementBytes = Budget.DEFAULT.maxElementBytes();
+        double minFramesPerSecond = Budget.DEFAULT.minFramesPerSecond();
+        List<GsonStyle> styles = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--size=")) {
+                sizes.add(Integer.parseInt(arg.substring("--size=".length())));
+            } else if (arg.startsWith("--element-us=")) {
+                maxElementMicros = Double.parseDouble(arg.substring("--element-us=".length()));
+            } else if (arg.startsWith("--element-bytes=")) {
+                maxElementBytes = Long.parseLong(arg.substring("--element-bytes=".length()));
+            } else if (arg.startsWith("--min-fps=")) {
+                minFramesPerSecond = Double.parseDouble(arg.substring("--min-fps=".length()));
+            } else if (arg.toLowerCase(Locale.ROOT).endsWith(".json")) {
+                styles.add(new GsonStyle(new Gson(), Files.readString(Path.of(arg))));
+            } else {
+                StyleGroups.loadFromPath(Path.of(arg)).groups().forEach(group -> styles.addAll(group.getStyles()));
+            }
+        }
+        if (styles.isEmpty()) {
+            System.err.println("Usage: StyleProfiler <style.json|style pack directory|style pack zip>... "
+                    + "[--size=pixels]... [--element-us=micros] [--element-bytes=bytes] [--min-fps=fps]");
+            System.exit(2);
+        }
+        if (sizes.isEmpty()) {
+            sizes.add(DEFAULT_SIZE);
+        }
+        Budget budget = new Budget(maxElementMicros, maxElementBytes, minFramesPerSecond);
+        StyleProfiler profiler = new StyleProfiler();
+        boolean overBudget = false;
+        for (GsonStyle style : styles) {
+            for (int size : sizes) {
+                Report report = profiler.profile(style, size);
+                System.out.print(report.format(budget));
+                overBudget |= !report.overBudget(budget).isEmpty();
+            }
+        }
+        System.exit(overBudget ? 1 : 0);
+    }
+}
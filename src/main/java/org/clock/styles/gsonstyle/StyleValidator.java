@@ -0,0 +1,184 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.styles.gsonstyle;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.awt.*;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks a JSON style against the schema in one pass and turns it into a StyleModel. Every error
+ * is collected with its JSON path (for example "$.clock_face[3].radius") and reported together in
+ * one JSONSchemaException.
+ */
+public final class StyleValidator {
+    private static final Gson GSON = new Gson();
+
+    private StyleValidator() {
+    }
+
+    public static StyleModel validate(String json) throws JSONSchemaException {
+        return validate(GSON, json);
+    }
+
+    public static StyleModel validate(Gson gson, String json) throws JSONSchemaException {
+        Map<?, ?> map;
+        try {
+            map = gson.fromJson(json, Map.class);
+        } catch (JsonParseException ex) {
+            throw new JSONSchemaException("$: " + ex.getMessage());
+        }
+        if (map == null) {
+            throw new JSONSchemaException("$: The style is empty.");
+        }
+        return validate(map);
+    }
+
+    public static StyleModel validate(Map<?, ?> json) throws JSONSchemaException {
+        List<String> errors = new ArrayList<>();
+        JSONShapeMap root = new JSONShapeMap(json, "$", errors);
+        String name = root.getRequiredString("name");
+        String description = root.getString("description").orElse(null);
+        List<StyleModel.Shape> clockFace = shapes(root, "clock_face");
+        List<StyleModel.Shape> secondHand = shapes(root, "second_hand");
+        List<StyleModel.Shape> minuteHand = shapes(root, "minute_hand");
+        List<StyleModel.Shape> hourHand = shapes(root, "hour_hand");
+        List<StyleModel.Animated> animated = new ArrayList<>();
+        for (JSONShapeMap map : root.getObjects("animated")) {
+            StyleModel.Shape shape = shape(map);
+            StyleModel.Animated element = new StyleModel.Animated(
+                    shape,
+                    map.getExpression("rotate", 0),
+                    map.getExpression("scale", 1),
+                    map.getExpression("dx", 0),
+                    map.getExpression("dy", 0),
+                    map.getExpression("alpha", 1),
+                    map.getUpdateMillis());
+            if (shape != null) {
+                animated.add(element);
+            }
+        }
+        List<StyleModel.ComplicationSpec> complications = new ArrayList<>();
+        for (JSONShapeMap map : root.getObjects("complications")) {
+            StyleModel.ComplicationSpec complication = complication(map);
+            if (complication != null) {
+                complications.add(complication);
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new JSONSchemaException(errors);
+        }
+        return new StyleModel(name, description, clockFace, secondHand, minuteHand, hourHand, animated, complications);
+    }
+
+    /**
+     * Validates the sources, keyed by resource name, in parallel. The models keep the order of the
+     * sources, and the errors of every invalid source are reported together, each prefixed with its
+     * resource.
+     */
+    public static Map<String, StyleModel> validateAll(Map<String, String> sources) throws JSONSchemaException {
+        record Result(String resource, StyleModel model, JSONSchemaException exception) {
+        }
+        List<Result> results = sources.entrySet().parallelStream().map(entry -> {
+            try {
+                return new Result(entry.getKey(), validate(entry.getValue()), null);
+            } catch (JSONSchemaException ex) {
+                return new Result(entry.getKey(), null, ex);
+            }
+        }).toList();
+        Map<String, StyleModel> models = new LinkedHashMap<>();
+        List<String> errors = new ArrayList<>();
+        for (Result result : results) {
+            if (result.exception() != null) {
+                result.exception().getErrors().forEach(error -> errors.add(result.resource() + ": " + error));
+            } else {
+                models.put(result.resource(), result.model());
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new JSONSchemaException(errors);
+        }
+        return models;
+    }
+
+    private static List<StyleModel.Shape> shapes(JSONShapeMap root, String key) {
+        List<StyleModel.Shape> shapes = new ArrayList<>();
+        for (JSONShapeMap map : root.getObjects(key)) {
+            StyleModel.Shape shape = shape(map);
+            if (shape != null) {
+                shapes.add(shape);
+            }
+        }
+        return shapes;
+    }
+
+    /** The shape, or null when its type is missing or unknown (the error is already reported). */
+    private static StyleModel.Shape shape(JSONShapeMap map) {
+        String shape = map.getRequiredString("shape");
+        Color color = map.getColor();
+        int ticks = map.getTicks();
+        return switch (shape) {
+            case "rectangle" -> new StyleModel.Rectangle(color, map.getPoint("fx", "fy"), map.getPoint("tx", "ty"), ticks);
+            case "polygon" -> new StyleModel.Polygon(color, map.getPoints(), ticks);
+            case "circle" -> new StyleModel.Circle(color, map.getPoint(), map.getDouble("radius"), ticks);
+            case "text" -> new StyleModel.Text(color, map.getRequiredString("text"), map.getPoint(),
+                    map.getString("font").orElse(null), map.getDouble("size"), map.getStyles(), ticks);
+            case "" -> null;
+            default -> {
+                map.error("shape", "Invalid shape \"" + shape + "\".");
+                yield null;
+            }
+        };
+    }
+
+    private static StyleModel.ComplicationSpec complication(JSONShapeMap map) {
+        String type = map.getRequiredString("complication");
+        StyleModel.Point center = map.getPoint();
+        Color color = map.getColor();
+        Color background = map.getOptionalColor("background").orElse(null);
+        String label = map.getString("label").orElse(null);
+        return switch (type) {
+            case "date", "day_of_week" -> new StyleModel.TextWindowSpec(type.equals("day_of_week"), center,
+                    map.getDouble("width"), map.getDouble("height"), color, background,
+                    map.getString("font").orElse(Font.SANS_SERIF));
+            case "time_zone" -> {
+                double radius = map.getDouble("radius");
+                String zone = map.getRequiredString("zone");
+                try {
+                    yield new StyleModel.TimeZoneSpec(center, radius, color, background, label, ZoneId.of(zone));
+                } catch (DateTimeException ex) {
+                    if (!zone.isEmpty()) {
+                        map.error("zone", "Invalid zone \"" + zone + "\".");
+                    }
+                    yield null;
+                }
+            }
+            case "stopwatch" -> new StyleModel.StopwatchSpec(center, map.getDouble("radius"), color, background, label);
+            case "" -> null;
+            default -> {
+                map.error("complication", "Invalid complication \"" + type + "\".");
+                yield null;
+            }
+        };
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.styles.gsonstyle;
+
+import org.clock.HoursMinutesSeconds;
+
+/**
+ * Arithmetic expression of the time, compiled once into a tree of lambdas so evaluating it for a
+ * frame neither parses nor allocates. Variables: h (hours, 0 to 12), m (minutes, 0 to 60),
+ * s (seconds, 0 to 60), each with its fraction unless the style uses discrete time intervals,
+ * and the constant pi. Operators: + - * / % ^ and parentheses. Functions: sin, cos, abs, floor,
+ * frac, sqrt, min(a, b), max(a, b). Constant sub-expressions are folded when compiling.
+ * The update interval is how often the expression changes enough to repaint, from the fastest
+ * variable it uses: 40 ms with seconds, 1 s with minutes, 1 minute with hours.
+ */
+public final class TimeExpression {
+    @FunctionalInterface
+    public interface TimeFunction {
+        double at(double hours, double minutes, double seconds);
+    }
+
+    static final long SECONDS_INTERVAL_MILLIS = 40;
+    static final long MINUTES_INTERVAL_MILLIS = 1000;
+    static final long HOURS_INTERVAL_MILLIS = 60_000;
+
+    private static final int HOURS = 1;
+    private static final int MINUTES = 2;
+    private static final int SECONDS = 4;
+
+    private final String source;
+    private final TimeFunction function;
+    private final int variables;
+
+    private TimeExpression(String source, TimeFunction function, int variables) {
+        this.source = source;
+        this.function = function;
+        this.variables = variables;
+    }
+
+    public static TimeExpression compile(String source) throws JSONSchemaException {
+        Parser parser = new Parser(source);
+        Node node = parser.expression();
+        parser.skipSpaces();
+        if (parser.position < source.length()) {
+            throw parser.error("unexpected \"" + source.charAt(parser.position) + "\"");
+        }
+        return new TimeExpression(source, node.function(), node.variables());
+    }
+
+    public static TimeExpression constant(double value) {
+        return new TimeExpression(Double.toString(value), (h, m, s) -> value, 0);
+    }
+
+    public double evaluate(double hours, double minutes, double seconds) {
+        return function.at(hours, minutes, seconds);
+    }
+
+    public double evaluate(HoursMinutesSeconds hoursMinutesSeconds) {
+        return function.at(hoursMinutesSeconds.hours(), hoursMinutesSeconds.minutes(), hoursMinutesSeconds.seconds());
+    }
+
+    public boolean isConstant() {
+        return variables == 0;
+    }
+
+    /** Shortest interval between visible changes, 0 for a constant expression. */
+    public long getUpdateIntervalMillis() {
+        if ((variables & SECONDS) != 0) {
+            return SECONDS_INTERVAL_MILLIS;
+        } else if ((variables & MINUTES) != 0) {
+            return MINUTES_INTERVAL_MILLIS;
+        } else if ((variables & HOURS) != 0) {
+            return HOURS_INTERVAL_MILLIS;
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    /** Parsed sub-expression, its function and the variables it reads. */
+    private record Node(TimeFunction function, int variables) {
+        static Node constant(double value) {
+            return new Node((h, m, s) -> value, 0);
+        }
+
+        boolean isConstant() {
+            return variables == 0;
+        }
+
+        double value() {
+            return function.at(0, 0, 0);
+        }
+    }
+
+    private interface Binary {
+        double apply(double a, double b);
+    }
+
+    private interface Unary {
+        double apply(double a);
+    }
+
+    /** Recursive descent parser, each method returns the compiled node of its rule. */
+    private static final class Parser {
+        private final String source;
+        private int position = 0;
+
+        Parser(String source) {
+            this.source = source;
+        }
+
+        // expression := term (("+" | "-") term)*
+        Node expression() throws JSONSchemaException {
+            Node node = term();
+            while (true) {
+                if (accept('+')) {
+                    node = binary(node, term(), Double::sum);
+                } else if (accept('-')) {
+                    node = binary(node, term(), (a, b) -> a - b);
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        // term := unary (("*" | "/" | "%") unary)*
+        private Node term() throws JSONSchemaException {
+            Node node = unary();
+            while (true) {
+                if (accept('*')) {
+                    node = binary(node, unary(), (a, b) -> a * b);
+                } else if (accept('/')) {
+                    node = binary(node, unary(), (a, b) -> a / b);
+                } else if (accept('%')) {
+                    node = binary(node, unary(), (a, b) -> a % b);
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        // unary := "-" unary | power
+        private Node unary() throws JSONSchemaException {
+            if (accept('-')) {
+                return unary(unary(), a -> -a);
+            }
+            return power();
+        }
+
+        // power := primary ("^" unary)?
+        private Node power() throws JSONSchemaException {
+            Node node = primary();
+            if (accept('^')) {
+                node = binary(node, unary(), Math::pow);
+            }
+            return node;
+        }
+
+        // primary := number | variable | function "(" arguments ")" | "(" expression ")"
+        private Node primary() throws JSONSchemaException {
+            skipSpaces();
+            if (accept('(')) {
+                Node node = expression();
+                expect(')');
+                return node;
+            }
+            int start = position;
+            if (position < source.length() && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+                while (position < source.length()
+                        && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+                    position++;
+                }
+                try {
+                    return Node.constant(Double.parseDouble(source.substring(start, position)));
+                } catch (NumberFormatException ex) {
+                    throw error("invalid number \"" + source.substring(start, position) + "\"");
+                }
+            }
+            while (position < source.length() && Character.isLetter(source.charAt(position))) {
+                position++;
+            }
+            String name = source.substring(start, position);
+            return switch (name) {
+                case "h" -> new Node((h, m, s) -> h, HOURS);
+                case "m" -> new Node((h, m, s) -> m, MINUTES);
+                case "s" -> new Node((h, m, s) -> s, SECONDS);
+                case "pi" -> Node.constant(Math.PI);
+                case "sin" -> unary(argument(), Math::sin);
+                case "cos" -> unary(argument(), Math::cos);
+                case "abs" -> unary(argument(), Math::abs);
+                case "floor" -> unary(argument(), Math::floor);
+                case "frac" -> unary(argument(), a -> a - Math.floor(a));
+                case "sqrt" -> unary(argument(), Math::sqrt);
+                case "min" -> arguments(Math::min);
+                case "max" -> arguments(Math::max);
+                case "" -> throw error(position < source.length()
+                        ? "unexpected \"" + source.charAt(position) + "\"" : "missing operand");
+                default -> {
+                    position = start;
+                    throw error("unknown name \"" + name + "\"");
+                }
+            };
+        }
+
+        private Node argument() throws JSONSchemaException {
+            expect('(');
+            Node node = expression();
+            expect(')');
+            return node;
+        }
+
+        private Node arguments(Binary operator) throws JSONSchemaException {
+            expect('(');
+            Node a = expression();
+            expect(',');
+            Node b = expression();
+            expect(')');
+            return binary(a, b, operator);
+        }
+
+        private static Node unary(Node operand, Unary operator) {
+            if (operand.isConstant()) {
+                return Node.constant(operator.apply(operand.value()));
+            }
+            TimeFunction f = operand.function();
+            return new Node((h, m, s) -> operator.apply(f.at(h, m, s)), operand.variables());
+        }
+
+        private static Node binary(Node left, Node right, Binary operator) {
+            if (left.isConstant() && right.isConstant()) {
+                return Node.constant(operator.apply(left.value(), right.value()));
+            }
+            TimeFunction a = left.function();
+            TimeFunction b = right.function();
+            return new Node((h, m, s) -> operator.apply(a.at(h, m, s), b.at(h, m, s)), left.variables() | right.variables());
+        }
+
+        private boolean accept(char c) {
+            skipSpaces();
+            if (position < source.length() && source.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) throws JSONSchemaException {
+            if (!accept(c)) {
+                throw error("expecting \"" + c + "\"");
+            }
+        }
+
+        void skipSpaces() {
+            while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+                position++;
+            }
+        }
+
+        JSONSchemaException error(String message) {
+            return new JSONSchemaException(String.format(
+                    "Invalid expression \"%s\" at position %d: %s.", source, position, message));
+        }
+    }
+}
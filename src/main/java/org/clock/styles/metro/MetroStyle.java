@@ -17,25 +17,34 @@ package org.clock.styles.metro;
 
 import org.clock.HoursMinutesSeconds;
 import org.clock.graphical.OffsetRadius;
+import org.clock.graphical.SpriteAtlas;
 import org.clock.Style;
 
 import java.awt.*;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Point2D;
+import java.util.List;
 
 import static org.clock.ClockUtils.paintOnClock;
 import static org.clock.styles.metro.MetroConstants.*;
 
 public class MetroStyle implements Style {
+    // Constants, so StyleProvider can answer them without loading this class.
+    public static final String NAME = "Copenhagen Metro Clock";
+    public static final String DESCRIPTION = "Modeled after the clocks in Copenhagen Metro stations.";
+    // Draws the face's markers from a sprite atlas, for when faces are generated often.
+    private static final boolean SPRITE_ATLAS = Boolean.getBoolean("clockapp.spriteAtlas");
+
+    private volatile SpriteAtlas markerAtlas;
 
     @Override
     public String getName() {
-        return "Copenhagen Metro Clock";
+        return NAME;
     }
 
     @Override
     public String getDescription() {
-        return "Modeled after the clocks in Copenhagen Metro stations.";
+        return DESCRIPTION;
     }
 
     @Override
@@ -49,15 +58,40 @@ public class MetroStyle implements Style {
         graphics2D.setPaint(paint);
         graphics2D.fill(offsetRadius.getBounds());
 
-        for (int hour = 0; hour <= 11; hour++) {
-            paintOnClock(graphics2D, HOUR_HAND_MARKER, offsetRadius, hour/12d);
-        }
-        for (int minute = 0; minute < 60; minute++) {
-            paintOnClock(graphics2D, MINUTE_HAND_MARKER, offsetRadius, minute/60d);
+        if (SPRITE_ATLAS) {
+            paintMarkersFromAtlas(graphics2D, offsetRadius);
+        } else {
+            for (int hour = 0; hour <= 11; hour++) {
+                paintOnClock(graphics2D, HOUR_HAND_MARKER, offsetRadius, hour/12d);
+            }
+            for (int minute = 0; minute < 60; minute++) {
+                paintOnClock(graphics2D, MINUTE_HAND_MARKER, offsetRadius, minute/60d);
+            }
         }
         LOGO.adjust(offsetRadius).draw(graphics2D);
     }
 
+    /** Paints the hour and minute markers from a sprite atlas rasterized for the clock's radius. */
+    public void paintMarkersFromAtlas(Graphics2D graphics2D, OffsetRadius offsetRadius) {
+        SpriteAtlas atlas = markerAtlas;
+        if (atlas == null || atlas.getRadius() != offsetRadius.radius()) {
+            atlas = SpriteAtlas.pack(List.of(HOUR_HAND_MARKER, MINUTE_HAND_MARKER), offsetRadius.radius());
+            markerAtlas = atlas;
+        }
+        Graphics2D g = (Graphics2D) graphics2D.create();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            for (int hour = 0; hour <= 11; hour++) {
+                atlas.drawOnClock(g, HOUR_HAND_MARKER, offsetRadius, hour/12d);
+            }
+            for (int minute = 0; minute < 60; minute++) {
+                atlas.drawOnClock(g, MINUTE_HAND_MARKER, offsetRadius, minute/60d);
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
     @Override
     public void paintMinuteHand(Graphics2D graphics2D, OffsetRadius offsetRadius, double minutes) {
         paintOnClock(graphics2D, MINUTE_HAND_POLYGON, offsetRadius, minutes/60d);
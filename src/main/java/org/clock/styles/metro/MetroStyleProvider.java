@@ -0,0 +1,36 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.styles.metro;
+
+import org.clock.Style;
+import org.clock.StyleProvider;
+
+public class MetroStyleProvider implements StyleProvider {
+    @Override
+    public String getName() {
+        return MetroStyle.NAME;
+    }
+
+    @Override
+    public String getDescription() {
+        return MetroStyle.DESCRIPTION;
+    }
+
+    @Override
+    public Style create() {
+        return new MetroStyle();
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import org.clock.graphical.OffsetRadius;
+import org.clock.styles.gsonstyle.StyleGroups;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+public class ClockPanelScaleTest {
+    private static final ImageAssert IMAGE_ASSERT = new ImageAssert(16, 0.002);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void faceIsRenderedInDevicePixels() throws Exception {
+        Style style = StyleGroups.loadFromResource("/json/styles").groups().get(0).getStyles().get(0);
+        BufferedImage scaled = paint(style, 60, 2);
+        BufferedImage unscaled = paint(style, 120, 1);
+        IMAGE_ASSERT.assertMatches(style.getName(), unscaled, scaled);
+    }
+
+    @Test
+    public void faceIsRenderedOncePerScale() {
+        CountingStyle style = new CountingStyle();
+        ClockPanel clock = new ClockPanel(List.of(style), new StyleGroups(null, List.of()), Calendar::getInstance);
+        clock.setSize(50, 50);
+        for (int i = 0; i < 3; i++) {
+            for (double scale : new double[] {1, 1.5, 2}) {
+                paint(clock, scale);
+            }
+        }
+        Assert.assertEquals(3, style.facePaints);
+
+        clock.setSize(60, 60);
+        paint(clock, 2);
+        Assert.assertEquals(4, style.facePaints);
+    }
+
+    @Test
+    public void cachedFacesArePaintedWithoutPaintingTheStyle() throws Exception {
+        FaceCache faceCache = new FaceCache(temporaryFolder.getRoot().toPath(), Long.MAX_VALUE);
+        CountingStyle style = new CountingStyle();
+        ClockPanel clock = new ClockPanel(List.of(style), new StyleGroups(null, List.of()), Calendar::getInstance);
+        clock.setFaceCache(faceCache);
+        clock.setSize(50, 50);
+        // a miss renders the face once, into the buffer that is stored.
+        paint(clock, 1);
+        paint(clock, 1);
+        Assert.assertEquals(1, style.facePaints);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        File[] files;
+        do {
+            Thread.sleep(10);
+            files = temporaryFolder.getRoot().listFiles((dir, name) -> name.endsWith(".face"));
+        } while ((files == null || files.length == 0) && System.currentTimeMillis() < deadline);
+
+        // a restarted clock paints its first frame from the cache, read ahead or when painting.
+        CountingStyle restartedStyle = new CountingStyle();
+        ClockPanel preloaded = new ClockPanel(List.of(restartedStyle), new StyleGroups(null, List.of()), Calendar::getInstance);
+        preloaded.setFaceCache(faceCache);
+        preloaded.setSize(50, 50);
+        preloaded.preloadCachedFace();
+        BufferedImage cached = paint(preloaded, 1);
+        ClockPanel restarted = new ClockPanel(List.of(restartedStyle), new StyleGroups(null, List.of()), Calendar::getInstance);
+        restarted.setFaceCache(faceCache);
+        restarted.setSize(50, 50);
+        paint(restarted, 1);
+        Assert.assertEquals(0, restartedStyle.facePaints);
+        IMAGE_ASSERT.assertMatches(style.getName(), paint(clock, 1), cached);
+    }
+
+    @Test
+    public void clockDrawsFromTheDisplayList() throws Exception {
+        Style style = StyleGroups.loadFromResource("/json/styles").groups().get(0).getStyles().get(0);
+        Calendar calendar = new GregorianCalendar(2025, Calendar.JANUARY, 1, 10, 8, 37);
+        ClockPanel clock = new ClockPanel(List.of(style), new StyleGroups(null, List.of()), () -> calendar);
+        clock.setCalendar(calendar);
+        clock.setSize(120, 120);
+        BufferedImage painted = paint(clock, 1);
+        clock.setDrawDisplayLists(true);
+        new ImageAssert(48, 0.01).assertMatches(style.getName(), painted, paint(clock, 1));
+
+        CountingStyle counting = new CountingStyle();
+        ClockPanel countingClock = new ClockPanel(List.of(counting), new StyleGroups(null, List.of()), () -> calendar);
+        countingClock.setDrawDisplayLists(true);
+        countingClock.setSize(50, 50);
+        for (int i = 0; i < 3; i++) {
+            paint(countingClock, 1);
+        }
+        Assert.assertEquals(1, counting.facePaints);
+    }
+
+    @Test
+    public void deviceScale() {
+        Assert.assertEquals(2d, ClockPanel.deviceScale(AffineTransform.getScaleInstance(2, 2)), 0d);
+        Assert.assertEquals(1d, ClockPanel.deviceScale(AffineTransform.getScaleInstance(2, 1)), 0d);
+        Assert.assertEquals(1d, ClockPanel.deviceScale(AffineTransform.getRotateInstance(1)), 0d);
+    }
+
+    private static BufferedImage paint(Style style, int size, double scale) {
+        Calendar calendar = new GregorianCalendar(2025, Calendar.JANUARY, 1, 10, 8, 37);
+        ClockPanel clock = new ClockPanel(List.of(style), new StyleGroups(null, List.of()), () -> calendar);
+        clock.setCalendar(calendar);
+        clock.setSize(size, size);
+        return paint(clock, scale);
+    }
+
+    private static BufferedImage paint(ClockPanel clock, double scale) {
+        int size = (int) Math.ceil(clock.getWidth() * scale);
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.scale(scale, scale);
+        clock.paint(graphics);
+        graphics.dispose();
+        return image;
+    }
+
+    private static class CountingStyle implements Style {
+        int facePaints;
+
+        @Override
+        public String getName() {
+            return "Counting";
+        }
+
+        @Override
+        public String getDescription() {
+            return null;
+        }
+
+        @Override
+        public void paintClockFace(Graphics2D graphics2D, OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+            facePaints++;
+            graphics2D.setPaint(Color.RED);
+            graphics2D.fill(offsetRadius.getBounds());
+        }
+
+        @Override
+        public void paintMinuteHand(Graphics2D graphics2D, OffsetRadius offsetRadius, double minute) {
+        }
+
+        @Override
+        public void paintHourHand(Graphics2D graphics2D, OffsetRadius offsetRadius, double hour) {
+        }
+
+        @Override
+        public void paintSecondHand(Graphics2D graphics2D, OffsetRadius offsetRadius, double second) {
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import org.clock.styles.colorful.ColorfulStyle;
+import org.clock.styles.gsonstyle.StyleGroup;
+import org.clock.styles.gsonstyle.StyleGroups;
+import org.clock.styles.metro.MetroStyle;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Calendar;
+import java.util.List;
+
+public class ClockPopupMenuTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void menuFollowsClock() throws Exception {
+        ClockPanel clock = new ClockPanel(
+                List.of(new MetroStyle(), new ColorfulStyle()), new StyleGroups(null, List.of()), Calendar::getInstance);
+        ClockPopupMenu menu = new ClockPopupMenu(clock, new StyleThumbnails(16, temporaryFolder.getRoot().toPath()));
+        Assert.assertTrue(radioButton(menu, "Copenhagen Metro Clock").isSelected());
+
+        SwingUtilities.invokeAndWait(() -> clock.setGroupAndStyle(clock.getGroupsAndStyles().get(1)));
+        Assert.assertTrue(radioButton(menu, "Colorful Clock").isSelected());
+        Assert.assertFalse(radioButton(menu, "Copenhagen Metro Clock").isSelected());
+
+        StyleGroups groups = StyleGroups.loadFromResource("/json/styles");
+        SwingUtilities.invokeAndWait(() -> clock.setStyleGroups(groups));
+        StyleGroup group = groups.groups().get(0);
+        JMenu submenu = submenu(menu, group.getName());
+        Assert.assertEquals(group.getStyles().size(), submenu.getItemCount());
+        // unchanged groups keep their submenus.
+        SwingUtilities.invokeAndWait(() -> clock.setStyleGroups(new StyleGroups(null, List.of(group))));
+        Assert.assertSame(submenu, submenu(menu, group.getName()));
+        // groups replaced off the event dispatch thread reach the menu on it.
+        clock.setStyleGroups(new StyleGroups(null, List.of()));
+        SwingUtilities.invokeAndWait(() -> {});
+        Assert.assertNull(submenu(menu, group.getName()));
+    }
+
+    private static JRadioButtonMenuItem radioButton(JPopupMenu menu, String name) {
+        for (Component component : menu.getComponents()) {
+            if (component instanceof JRadioButtonMenuItem radioButton && radioButton.getText().equals(name)) {
+                return radioButton;
+            }
+        }
+        throw new AssertionError("No radio button for " + name);
+    }
+
+    private static JMenu submenu(JPopupMenu menu, String name) {
+        for (Component component : menu.getComponents()) {
+            if (component instanceof JMenu submenu && submenu.getText().equals(name)) {
+                return submenu;
+            }
+        }
+        return null;
+    }
+}
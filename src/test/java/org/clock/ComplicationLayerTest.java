@@ -0,0 +1,178 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import com.google.gson.Gson;
+import org.clock.complications.StopwatchDial;
+import org.clock.complications.TimeZoneDial;
+import org.clock.graphical.OffsetRadius;
+import org.clock.styles.gsonstyle.GsonStyle;
+import org.clock.styles.gsonstyle.JSONSchemaException;
+import org.clock.styles.gsonstyle.StyleGroups;
+import org.clock.styles.metro.MetroStyle;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.TimeZone;
+
+public class ComplicationLayerTest {
+    private static final ZonedDateTime NOON = ZonedDateTime.of(2025, 6, 1, 12, 0, 0, 0, ZoneId.of("Europe/Paris"));
+    private static final String STYLE = """
+            {
+              "name": "Complications",
+              "clock_face": [ { "shape": "circle", "x": 0, "y": 0, "radius": 1, "color": "#FFFFFF" } ],
+              "complications": [
+                { "complication": "date", "x": 0.5, "y": 0, "width": 0.3, "height": 0.2, "color": "#000000", "background": "#00FF00" },
+                { "complication": "time_zone", "zone": "Asia/Tokyo", "label": "TYO", "x": 0, "y": 0.5, "radius": 0.25,
+                  "color": "#000000", "background": "#0000FF" }
+              ],
+              "second_hand": [],
+              "minute_hand": [],
+              "hour_hand": []
+            }
+            """;
+
+    private static class CountingComplication implements Complication {
+        private final Cadence cadence;
+        private final Rectangle2D bounds;
+        int paintCount;
+
+        CountingComplication(Cadence cadence, Rectangle2D bounds) {
+            this.cadence = cadence;
+            this.bounds = bounds;
+        }
+
+        @Override
+        public Cadence getCadence() {
+            return cadence;
+        }
+
+        @Override
+        public Rectangle2D getBounds() {
+            return bounds;
+        }
+
+        @Override
+        public void paint(Graphics2D graphics2D, OffsetRadius offsetRadius, ZonedDateTime time) {
+            paintCount++;
+            graphics2D.setColor(Color.RED);
+            graphics2D.fill(offsetRadius.adjust(bounds));
+        }
+    }
+
+    @Test
+    public void complicationsArePaintedAtTheirOwnCadence() {
+        List<CountingComplication> daily = List.of(
+                new CountingComplication(Complication.Cadence.DAY, new Rectangle2D.Double(-0.5, -0.5, 0.2, 0.2)),
+                new CountingComplication(Complication.Cadence.DAY, new Rectangle2D.Double(0.3, -0.5, 0.2, 0.2)),
+                new CountingComplication(Complication.Cadence.HOUR, new Rectangle2D.Double(-0.5, 0.3, 0.2, 0.2)));
+        CountingComplication perSecond = new CountingComplication(Complication.Cadence.SECOND, new Rectangle2D.Double(0.3, 0.3, 0.2, 0.2));
+        List<Complication> complications = List.of(daily.get(0), daily.get(1), daily.get(2), perSecond);
+        ComplicationLayer layer = new ComplicationLayer(complications, new OffsetRadius(50, 50, 50), 1d, 100, 100);
+
+        Assert.assertEquals(4, layer.update(NOON));
+        Assert.assertEquals(0, layer.update(NOON.plusNanos(500_000_000)));
+        for (int second = 1; second <= 120; second++) {
+            Assert.assertEquals(1, layer.update(NOON.plusSeconds(second)));
+        }
+        Assert.assertEquals(1, daily.get(0).paintCount);
+        Assert.assertEquals(1, daily.get(2).paintCount);
+        Assert.assertEquals(121, perSecond.paintCount);
+        Assert.assertEquals(2, layer.update(NOON.plusHours(1)));
+        Assert.assertEquals(4, layer.update(NOON.plusDays(1)));
+        Assert.assertEquals(Color.RED.getRGB(), layer.getImage().getRGB(30, 30));
+        Assert.assertEquals(0, layer.getImage().getRGB(50, 50));
+    }
+
+    @Test
+    public void stepsFollowEachComplicationsTimeSource() {
+        Assert.assertEquals(Complication.Cadence.DAY.step(NOON), Complication.Cadence.DAY.step(NOON.withHour(23)));
+        Assert.assertNotEquals(Complication.Cadence.DAY.step(NOON), Complication.Cadence.DAY.step(NOON.plusHours(12)));
+
+        TimeZoneDial india = new TimeZoneDial(new Point2D.Double(), 0.2, Color.BLACK, null, null, ZoneId.of("Asia/Kolkata"));
+        // Paris is 3:30 behind Kolkata in summer, so Kolkata's minute changes with Paris's.
+        Assert.assertNotEquals(india.step(NOON), india.step(NOON.plusMinutes(1)));
+        Assert.assertEquals(india.step(NOON), india.step(NOON.plusSeconds(59)));
+
+        StopwatchDial stopwatch = new StopwatchDial(new Point2D.Double(), 0.2, Color.BLACK, null, null);
+        Instant start = NOON.toInstant();
+        stopwatch.start(start);
+        Assert.assertEquals(5, stopwatch.step(NOON.plusSeconds(5)));
+        stopwatch.stop(start.plusSeconds(10));
+        Assert.assertEquals(10, stopwatch.step(NOON.plusHours(1)));
+        stopwatch.reset(start.plusSeconds(20));
+        Assert.assertEquals(0, stopwatch.step(NOON.plusHours(1)));
+    }
+
+    @Test
+    public void clockPaintsJsonComplications() throws Exception {
+        GsonStyle style = new GsonStyle(new Gson(), STYLE);
+        Assert.assertEquals(2, style.getComplications().size());
+        Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("Europe/Paris"));
+        calendar.setTimeInMillis(NOON.toInstant().toEpochMilli());
+        ClockPanel clock = new ClockPanel(List.of(style), new StyleGroups(null, List.of()), () -> calendar);
+        clock.setCalendar(calendar);
+        clock.setSize(200, 200);
+        BufferedImage image = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics2D = image.createGraphics();
+        clock.paint(graphics2D);
+        graphics2D.dispose();
+        // date window's background, left of the "1".
+        Assert.assertEquals(new Color(0, 255, 0).getRGB(), image.getRGB(138, 100));
+        // time zone dial's background, inside of the 12 ticks.
+        Assert.assertEquals(Color.BLUE.getRGB(), image.getRGB(112, 150));
+        Assert.assertEquals(Color.WHITE.getRGB(), image.getRGB(60, 100));
+    }
+
+    @Test
+    public void stopwatchCountsFromWhenItsStyleIsShown() throws Exception {
+        GsonStyle style = new GsonStyle(new Gson(),
+                STYLE.replace("\"complication\": \"time_zone\", \"zone\": \"Asia/Tokyo\",", "\"complication\": \"stopwatch\","));
+        StopwatchDial stopwatch = (StopwatchDial) style.getComplications().get(1);
+        Assert.assertFalse(stopwatch.isRunning());
+
+        Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("Europe/Paris"));
+        calendar.setTimeInMillis(NOON.toInstant().toEpochMilli());
+        Style other = new MetroStyle();
+        ClockPanel clock = new ClockPanel(List.of(style, other), new StyleGroups(null, List.of()), () -> calendar);
+        Assert.assertEquals(5, stopwatch.step(NOON.plusSeconds(5)));
+
+        clock.setGroupAndStyle(new ClockPanel.GroupAndStyle(null, other));
+        calendar.setTimeInMillis(NOON.plusMinutes(1).toInstant().toEpochMilli());
+        clock.setGroupAndStyle(new ClockPanel.GroupAndStyle(null, style));
+        Assert.assertEquals(5, stopwatch.step(NOON.plusMinutes(1).plusSeconds(5)));
+    }
+
+    @Test
+    public void invalidComplicationsAreSchemaErrors() {
+        String badZone = STYLE.replace("Asia/Tokyo", "Mars/Olympus");
+        JSONSchemaException exception = Assert.assertThrows(JSONSchemaException.class, () -> new GsonStyle(new Gson(), badZone));
+        Assert.assertTrue(exception.getMessage(), exception.getMessage().contains("Invalid zone \"Mars/Olympus\""));
+        String badType = STYLE.replace("\"date\"", "\"moon\"");
+        exception = Assert.assertThrows(JSONSchemaException.class, () -> new GsonStyle(new Gson(), badType));
+        Assert.assertTrue(exception.getMessage(), exception.getMessage().contains("$.complications[0].complication: Invalid complication \"moon\"."));
+    }
+}
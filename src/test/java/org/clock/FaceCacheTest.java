@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import org.clock.graphical.OffsetRadius;
+import org.clock.styles.metro.MetroStyle;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+
+public class FaceCacheTest {
+    private static final OffsetRadius OFFSET_RADIUS = new OffsetRadius(50, 50, 50);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void storedFacesAreLoadedAndCorruptFacesDropped() throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath();
+        FaceCache faceCache = new FaceCache(directory, Long.MAX_VALUE);
+        MetroStyle style = new MetroStyle();
+        BufferedImage face = StyleThumbnails.render(style, 100);
+        Assert.assertTrue(faceCache.load(style, OFFSET_RADIUS, 100, 100).isEmpty());
+
+        faceCache.store(style, OFFSET_RADIUS, face);
+        Path file = awaitSingleFile(directory);
+        BufferedImage loaded = faceCache.load(style, OFFSET_RADIUS, 100, 100).orElseThrow();
+        Assert.assertEquals(face.getRGB(30, 40), loaded.getRGB(30, 40));
+        Assert.assertTrue(faceCache.load(style, OFFSET_RADIUS, 100, 99).isEmpty());
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(file, bytes);
+        Assert.assertEquals(Optional.empty(), faceCache.load(style, OFFSET_RADIUS, 100, 100));
+        Assert.assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void leastRecentlyUsedFacesAreTrimmed() throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath();
+        BufferedImage face = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+        // room for a single 10x10 entry.
+        FaceCache faceCache = new FaceCache(directory, FaceCache.encode(face).length);
+        faceCache.store(new MetroStyle(), OFFSET_RADIUS, face);
+        Files.setLastModifiedTime(awaitSingleFile(directory), FileTime.fromMillis(0));
+        OffsetRadius newerOffsetRadius = new OffsetRadius(5, 5, 5);
+        faceCache.store(new MetroStyle(), newerOffsetRadius, face);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline && faceCache.load(new MetroStyle(), newerOffsetRadius, 10, 10).isEmpty()) {
+            Thread.sleep(10);
+        }
+        awaitSingleFile(directory);
+        Assert.assertTrue(faceCache.load(new MetroStyle(), newerOffsetRadius, 10, 10).isPresent());
+        Assert.assertTrue(faceCache.load(new MetroStyle(), OFFSET_RADIUS, 10, 10).isEmpty());
+    }
+
+    private static Path awaitSingleFile(Path directory) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            File[] files = directory.toFile().listFiles((dir, name) -> name.endsWith(".face"));
+            if (files != null && files.length == 1) {
+                return files[0].toPath();
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("face was not stored");
+    }
+}
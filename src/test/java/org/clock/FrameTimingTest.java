@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+public class FrameTimingTest {
+
+    @Test
+    public void handsMoveWithSubMillisecondResolution() {
+        ZonedDateTime time = ZonedDateTime.of(2025, 1, 1, 22, 8, 37, 250_000_000, ZoneOffset.UTC);
+        HoursMinutesSeconds first = HoursMinutesSeconds.getHoursMinutesSeconds(time, false);
+        HoursMinutesSeconds later = HoursMinutesSeconds.getHoursMinutesSeconds(time.plusNanos(100_000), false);
+        Assert.assertEquals(37.25, first.seconds(), 1e-9);
+        Assert.assertEquals(10 + (8 + 37.25 / 60) / 60, first.hours(), 1e-9);
+        Assert.assertEquals(0.0001, later.seconds() - first.seconds(), 1e-9);
+
+        HoursMinutesSeconds discrete = HoursMinutesSeconds.getHoursMinutesSeconds(time, true);
+        Assert.assertEquals(new HoursMinutesSeconds(10, 8, 37), discrete);
+    }
+
+    @Test
+    public void timeIsMonotonicAndFollowsTheWallClock() {
+        FrameTiming timing = new FrameTiming();
+        Instant previous = timing.now();
+        for (int i = 0; i < 1000; i++) {
+            Instant now = timing.now();
+            Assert.assertFalse(now.isBefore(previous));
+            previous = now;
+        }
+        Assert.assertTrue(Duration.between(previous, Instant.now()).abs().toMillis() < 1000);
+    }
+
+    @Test
+    public void followsTheWallClockWhenItIsSet() {
+        Instant start = Instant.parse("2025-01-01T10:00:00Z");
+        Instant[] wall = {start};
+        long[] nanos = {0};
+        FrameTiming timing = new FrameTiming(() -> wall[0], () -> nanos[0]);
+        nanos[0] = 10_000_000;
+        wall[0] = start.plusSeconds(3600);
+        // Between resyncs the time is interpolated.
+        Assert.assertEquals(start.plusMillis(10), timing.now());
+
+        nanos[0] = FrameTiming.RESYNC_NANOS;
+        Assert.assertEquals(wall[0], timing.now());
+        nanos[0] += 1_000_000;
+        Assert.assertEquals(wall[0].plusMillis(1), timing.now());
+
+        // Small drift is ignored, so the hands don't jitter with a millisecond wall clock.
+        nanos[0] = 2 * FrameTiming.RESYNC_NANOS;
+        wall[0] = wall[0].plusNanos(FrameTiming.RESYNC_NANOS + 1_000_000);
+        Assert.assertEquals(start.plusSeconds(3600).plusNanos(FrameTiming.RESYNC_NANOS), timing.now());
+    }
+
+    @Test
+    public void frameStats() {
+        FrameStats stats = new FrameStats();
+        long frame = 16_000_000;
+        long nanos = 0;
+        for (int i = 0; i < 10; i++) {
+            stats.frame(nanos, frame);
+            nanos += i % 2 == 0 ? 15_000_000 : 17_000_000;
+        }
+        Assert.assertEquals(16d, stats.meanIntervalMillis(), 0.2);
+        Assert.assertEquals(1d, stats.jitterMillis(), 0.01);
+        Assert.assertEquals(0, stats.droppedFrames());
+
+        stats.frame(nanos + 3 * frame, frame);
+        Assert.assertEquals(3, stats.droppedFrames());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import org.clock.styles.colorful.ColorfulStyle;
+import org.clock.styles.gsonstyle.GsonStyle;
+import org.clock.styles.gsonstyle.StyleGroup;
+import org.clock.styles.gsonstyle.StyleGroups;
+import org.clock.styles.metro.MetroStyle;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+/**
+ * Renders every built-in and example style at fixed times and sizes and compares the result with
+ * the PNGs in src/test/resources/golden.
+ * System properties:
+ * - golden.update=true rewrites the golden images instead of comparing,
+ * - golden.tolerance is the per channel difference allowed for a pixel (default 16),
+ * - golden.maxDifferentPixels is the fraction of pixels allowed to exceed it (default 0.002).
+ * On failure the actual and diff images are written to target/golden-diff.
+ */
+@RunWith(Parameterized.class)
+public class GoldenImageTest {
+    private static final File GOLDEN_DIRECTORY = new File("src/test/resources/golden");
+    private static final File DIFF_DIRECTORY = new File("target/golden-diff");
+    private static final boolean UPDATE = Boolean.getBoolean("golden.update");
+    private static final ImageAssert IMAGE_ASSERT = new ImageAssert(
+            Integer.getInteger("golden.tolerance", 16),
+            Double.parseDouble(System.getProperty("golden.maxDifferentPixels", "0.002")));
+
+    private record RenderCase(int size, int hour, int minute, int second, int millisecond) {
+        Calendar calendar() {
+            Calendar calendar = new GregorianCalendar(2025, Calendar.JUNE, 1, hour, minute, second);
+            calendar.set(Calendar.MILLISECOND, millisecond);
+            return calendar;
+        }
+
+        String id() {
+            return String.format("%d_%02d%02d%02d", size, hour, minute, second);
+        }
+    }
+
+    private static final List<RenderCase> RENDER_CASES = List.of(
+            new RenderCase(240, 10, 8, 37, 250),
+            new RenderCase(80, 16, 52, 3, 0));
+
+    private final ClockPanel.GroupAndStyle groupAndStyle;
+    private final RenderCase renderCase;
+
+    public GoldenImageTest(String name, ClockPanel.GroupAndStyle groupAndStyle, RenderCase renderCase) {
+        this.groupAndStyle = groupAndStyle;
+        this.renderCase = renderCase;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> parameters() throws Exception {
+        List<ClockPanel.GroupAndStyle> groupsAndStyles = new ArrayList<>();
+        groupsAndStyles.add(new ClockPanel.GroupAndStyle(null, new MetroStyle()));
+        groupsAndStyles.add(new ClockPanel.GroupAndStyle(null, new ColorfulStyle()));
+        for (StyleGroup group : StyleGroups.loadFromResource("/json/styles").groups()) {
+            for (GsonStyle style : group.getStyles()) {
+                groupsAndStyles.add(new ClockPanel.GroupAndStyle(group, style));
+            }
+        }
+        List<Object[]> parameters = new ArrayList<>();
+        for (ClockPanel.GroupAndStyle groupAndStyle : groupsAndStyles) {
+            for (RenderCase renderCase : RENDER_CASES) {
+                String name = slug(groupAndStyle.style().getName()) + "_" + renderCase.id();
+                parameters.add(new Object[]{name, groupAndStyle, renderCase});
+            }
+        }
+        return parameters;
+    }
+
+    @Test
+    public void matchesGoldenImage() throws IOException {
+        String name = slug(groupAndStyle.style().getName()) + "_" + renderCase.id();
+        BufferedImage actual = render();
+        File goldenFile = new File(GOLDEN_DIRECTORY, name + ".png");
+        if (UPDATE) {
+            ImageAssert.write(actual, goldenFile);
+            return;
+        }
+        Assert.assertTrue(
+                "Missing golden image " + goldenFile + ", run the tests with -Dgolden.update=true to create it.",
+                goldenFile.exists());
+        BufferedImage expected = ImageIO.read(goldenFile);
+        if (!IMAGE_ASSERT.matches(expected, actual)) {
+            ImageAssert.write(actual, new File(DIFF_DIRECTORY, name + "-actual.png"));
+            ImageAssert.write(IMAGE_ASSERT.diffImage(expected, actual), new File(DIFF_DIRECTORY, name + "-diff.png"));
+        }
+        IMAGE_ASSERT.assertMatches(name, expected, actual);
+    }
+
+    private BufferedImage render() {
+        ClockPanel clockPanel = new ClockPanel(new ArrayList<>(), new StyleGroups(null, List.of()), renderCase::calendar);
+        clockPanel.setSize(renderCase.size(), renderCase.size());
+        clockPanel.setGroupAndStyle(groupAndStyle);
+        clockPanel.setCalendar(renderCase.calendar());
+        BufferedImage image = new BufferedImage(renderCase.size(), renderCase.size(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics2D = image.createGraphics();
+        clockPanel.paint(graphics2D);
+        graphics2D.dispose();
+        return image;
+    }
+
+    private static String slug(String name) {
+        return name.toLowerCase().replaceAll("[^a-z0-9]+", "_").replaceAll("^_|_$", "");
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import org.junit.Assert;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+/** Compares rendered images pixel by pixel, allowing small per channel differences. */
+public final class ImageAssert {
+    private final int channelTolerance;
+    private final double maxDifferentPixelFraction;
+
+    public ImageAssert(int channelTolerance, double maxDifferentPixelFraction) {
+        this.channelTolerance = channelTolerance;
+        this.maxDifferentPixelFraction = maxDifferentPixelFraction;
+    }
+
+    /** Number of pixels with a channel differing by more than the tolerance. */
+    public int countDifferentPixels(BufferedImage expected, BufferedImage actual) {
+        int different = 0;
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                if (maxChannelDifference(expected.getRGB(x, y), actual.getRGB(x, y)) > channelTolerance) {
+                    different++;
+                }
+            }
+        }
+        return different;
+    }
+
+    public boolean matches(BufferedImage expected, BufferedImage actual) {
+        if (expected.getWidth() != actual.getWidth() || expected.getHeight() != actual.getHeight()) {
+            return false;
+        }
+        int pixels = expected.getWidth() * expected.getHeight();
+        return countDifferentPixels(expected, actual) <= pixels * maxDifferentPixelFraction;
+    }
+
+    public void assertMatches(String name, BufferedImage expected, BufferedImage actual) {
+        Assert.assertEquals(name + " width", expected.getWidth(), actual.getWidth());
+        Assert.assertEquals(name + " height", expected.getHeight(), actual.getHeight());
+        Assert.assertTrue(
+                name + ": " + countDifferentPixels(expected, actual) + " pixels differ",
+                matches(expected, actual));
+    }
+
+    /** Image showing differing pixels in red over a faded copy of the expected image. */
+    public BufferedImage diffImage(BufferedImage expected, BufferedImage actual) {
+        BufferedImage diff = new BufferedImage(expected.getWidth(), expected.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                int expectedArgb = expected.getRGB(x, y);
+                boolean inside = x < actual.getWidth() && y < actual.getHeight();
+                if (!inside || maxChannelDifference(expectedArgb, actual.getRGB(x, y)) > channelTolerance) {
+                    diff.setRGB(x, y, 0xFFFF0000);
+                } else {
+                    diff.setRGB(x, y, (expectedArgb & 0x00FFFFFF) | 0x40000000);
+                }
+            }
+        }
+        return diff;
+    }
+
+    public static void write(BufferedImage image, File file) {
+        try {
+            file.getParentFile().mkdirs();
+            ImageIO.write(image, "png", file);
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private static int maxChannelDifference(int argb1, int argb2) {
+        int max = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            max = Math.max(max, Math.abs(((argb1 >> shift) & 0xFF) - ((argb2 >> shift) & 0xFF)));
+        }
+        return max;
+    }
+}
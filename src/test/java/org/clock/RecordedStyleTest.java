@@ -0,0 +1,170 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import org.clock.graphical.OffsetRadius;
+import org.clock.styles.metro.MetroStyle;
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+public class RecordedStyleTest {
+    private static final HoursMinutesSeconds TIME = new HoursMinutesSeconds(10 + 8 / 60d, 8 + 37 / 60d, 37.25);
+
+    @Test
+    public void replayMatchesPaintingAtAnySize() {
+        MetroStyle metro = new MetroStyle();
+        RecordedStyle recorded = new RecordedStyle(metro);
+        for (int size : new int[]{80, 200, 333}) {
+            OffsetRadius offsetRadius = new OffsetRadius(size / 2d, size / 2d, size / 2d);
+            new ImageAssert(16, 0.01).assertMatches(metro.getName() + " " + size,
+                    image(size, g -> paintClock(metro, g, offsetRadius)),
+                    image(size, g -> paintClock(recorded, g, offsetRadius)));
+        }
+    }
+
+    @Test
+    public void styleIsPaintedOnceUntilItsRevisionChanges() {
+        CountingStyle counting = new CountingStyle();
+        RecordedStyle recorded = new RecordedStyle(counting);
+        for (int size : new int[]{50, 100, 150}) {
+            image(size, g -> paintClock(recorded, g, new OffsetRadius(size / 2d, size / 2d, size / 2d)));
+        }
+        assertEquals(1, counting.faces);
+        assertEquals(3, counting.hands);
+
+        counting.revision++;
+        image(100, g -> paintClock(recorded, g, new OffsetRadius(50, 50, 50)));
+        assertEquals(2, counting.faces);
+        assertEquals(6, counting.hands);
+    }
+
+    @Test
+    public void handsBoundsCoverTheHands() {
+        RecordedStyle recorded = new RecordedStyle(new MetroStyle());
+        int size = 200;
+        OffsetRadius offsetRadius = new OffsetRadius(size / 2d, size / 2d, size / 2d);
+        Rectangle bounds = recorded.getHandsBounds(offsetRadius, TIME).orElseThrow().getBounds();
+        BufferedImage hands = image(size, g -> {
+            recorded.paintMinuteHand(g, offsetRadius, TIME.minutes());
+            recorded.paintHourHand(g, offsetRadius, TIME.hours());
+            recorded.paintSecondHand(g, offsetRadius, TIME.seconds());
+        });
+        int painted = 0;
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                if (hands.getRGB(x, y) != 0) {
+                    painted++;
+                    assertTrue(x + "," + y + " outside " + bounds, bounds.contains(x, y));
+                }
+            }
+        }
+        assertTrue(painted > 0);
+    }
+
+    @Test
+    public void stylesPaintingImagesArePaintedDirectly() {
+        CountingStyle counting = new CountingStyle();
+        counting.image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+        RecordedStyle recorded = new RecordedStyle(counting);
+        image(100, g -> paintClock(recorded, g, new OffsetRadius(50, 50, 50)));
+        image(100, g -> paintClock(recorded, g, new OffsetRadius(50, 50, 50)));
+        assertEquals(2, counting.directFaces);
+    }
+
+    private static void paintClock(Style style, Graphics2D graphics2D, OffsetRadius offsetRadius) {
+        style.paintClockFace(graphics2D, offsetRadius, TIME);
+        style.paintMinuteHand(graphics2D, offsetRadius, TIME.minutes());
+        style.paintHourHand(graphics2D, offsetRadius, TIME.hours());
+        style.paintSecondHand(graphics2D, offsetRadius, TIME.seconds());
+    }
+
+    private static BufferedImage image(int size, Consumer<Graphics2D> painter) {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D graphics2D = image.createGraphics();
+        graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics2D.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        painter.accept(graphics2D);
+        graphics2D.dispose();
+        return image;
+    }
+
+    private static class CountingStyle implements Style {
+        int faces;
+        int directFaces;
+        int hands;
+        long revision;
+        Image image;
+
+        @Override
+        public String getName() {
+            return "Counting";
+        }
+
+        @Override
+        public String getDescription() {
+            return null;
+        }
+
+        @Override
+        public long getRevision() {
+            return revision;
+        }
+
+        @Override
+        public void paintClockFace(Graphics2D graphics2D, OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+            faces++;
+            if (image != null) {
+                if (graphics2D.drawImage(image, 0, 0, null)) {
+                    directFaces++;
+                }
+                return;
+            }
+            graphics2D.setColor(Color.WHITE);
+            graphics2D.fill(offsetRadius.getBounds());
+        }
+
+        @Override
+        public void paintMinuteHand(Graphics2D graphics2D, OffsetRadius offsetRadius, double minute) {
+            paintHand(graphics2D, offsetRadius);
+        }
+
+        @Override
+        public void paintHourHand(Graphics2D graphics2D, OffsetRadius offsetRadius, double hour) {
+            paintHand(graphics2D, offsetRadius);
+        }
+
+        @Override
+        public void paintSecondHand(Graphics2D graphics2D, OffsetRadius offsetRadius, double second) {
+            paintHand(graphics2D, offsetRadius);
+        }
+
+        private void paintHand(Graphics2D graphics2D, OffsetRadius offsetRadius) {
+            if (image == null) {
+                hands++;
+            }
+            graphics2D.setColor(Color.BLACK);
+            graphics2D.fill(new Rectangle2D.Double(offsetRadius.offsetX() - 1, offsetRadius.offsetY() - offsetRadius.radius(),
+                    2, offsetRadius.radius()));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import org.clock.graphical.OffsetRadius;
+import org.clock.styles.colorful.ColorfulStyle;
+import org.clock.styles.metro.MetroStyle;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StyleProviderTest {
+
+    @Test
+    public void providersAreFoundInServiceFileOrder() {
+        List<Style> styles = StyleProvider.loadStyles();
+        Assert.assertEquals(List.of(MetroStyle.NAME, ColorfulStyle.NAME), styles.stream().map(Style::getName).toList());
+        for (Style style : styles) {
+            Assert.assertFalse(((LazyStyle) style).isCreated());
+        }
+    }
+
+    @Test
+    public void styleIsCreatedOnceWhenFirstPainted() {
+        AtomicInteger created = new AtomicInteger();
+        LazyStyle style = new LazyStyle(new StyleProvider() {
+            @Override
+            public String getName() {
+                return MetroStyle.NAME;
+            }
+
+            @Override
+            public String getDescription() {
+                return MetroStyle.DESCRIPTION;
+            }
+
+            @Override
+            public Style create() {
+                created.incrementAndGet();
+                return new MetroStyle();
+            }
+        });
+        Assert.assertEquals(MetroStyle.NAME, style.getName());
+        Assert.assertEquals(MetroStyle.DESCRIPTION, style.getDescription());
+        Assert.assertEquals(0, created.get());
+
+        BufferedImage image = new BufferedImage(40, 40, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        OffsetRadius offsetRadius = new OffsetRadius(20, 20, 20);
+        style.paintClockFace(graphics, offsetRadius, new HoursMinutesSeconds(10, 8, 37));
+        style.paintHourHand(graphics, offsetRadius, 10);
+        graphics.dispose();
+        Assert.assertEquals(1, created.get());
+        Assert.assertTrue(style.isCreated());
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import org.clock.styles.colorful.ColorfulStyle;
+import org.clock.styles.gsonstyle.StyleGroup;
+import org.clock.styles.gsonstyle.StyleGroups;
+import org.clock.styles.metro.MetroStyle;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.concurrent.*;
+
+public class StyleRegistryTest {
+    private static final int THREADS = 4;
+
+    @Test
+    public void snapshotsAreImmutable() throws Exception {
+        StyleGroups groups = StyleGroups.loadFromResource("/json/styles");
+        StyleRegistry registry = new StyleRegistry(List.of(new MetroStyle()), groups);
+        StyleRegistry.Snapshot snapshot = registry.snapshot();
+        Assert.assertThrows(UnsupportedOperationException.class, () -> snapshot.groupsAndStyles().clear());
+        Assert.assertThrows(UnsupportedOperationException.class, () -> snapshot.styleGroups().groups().clear());
+        Assert.assertThrows(UnsupportedOperationException.class, () -> groups.groups().get(0).getStyles().clear());
+
+        registry.replaceStyleGroups(new StyleGroups(null, List.of()));
+        Assert.assertSame(groups, snapshot.styleGroups());
+        Assert.assertEquals(1, registry.snapshot().groupsAndStyles().size());
+    }
+
+    @Test
+    public void concurrentAddsAreNotLost() throws Exception {
+        StyleGroup group = StyleGroups.loadFromResource("/json/styles").groups().get(0);
+        StyleRegistry registry = new StyleRegistry(List.of(), new StyleGroups(null, List.of()));
+        int groupsPerThread = 200;
+        runConcurrently(thread -> {
+            for (int i = 0; i < groupsPerThread; i++) {
+                registry.addStyleGroup(new StyleGroup(thread + "-" + i, group.getStyles()));
+                StyleRegistry.Snapshot snapshot = registry.snapshot();
+                int styles = snapshot.styleGroups().groups().stream().mapToInt(g -> g.getStyles().size()).sum();
+                Assert.assertEquals(styles, snapshot.groupsAndStyles().size());
+            }
+        });
+        Assert.assertEquals(THREADS * groupsPerThread, registry.snapshot().styleGroups().groups().size());
+    }
+
+    @Test
+    public void paintWhileSwitchingStyles() throws Exception {
+        Calendar time = new GregorianCalendar(2025, Calendar.JANUARY, 1, 10, 8, 37);
+        ClockPanel clock = new ClockPanel(List.of(new MetroStyle(), new ColorfulStyle()),
+                StyleGroups.loadFromResource("/json/styles"), () -> time);
+        clock.setCalendar(time);
+        clock.setSize(64, 64);
+        List<ClockPanel.GroupAndStyle> styles = clock.getGroupsAndStyles().subList(0, 2);
+        List<int[]> expectedFrames = new ArrayList<>();
+        for (ClockPanel.GroupAndStyle style : styles) {
+            SwingUtilities.invokeAndWait(() -> clock.setGroupAndStyle(style));
+            expectedFrames.add(paint(clock));
+        }
+        runConcurrently(thread -> {
+            for (int i = 0; i < 100; i++) {
+                if (thread == 0) {
+                    ClockPanel.GroupAndStyle style = styles.get(i % styles.size());
+                    SwingUtilities.invokeAndWait(() -> clock.setGroupAndStyle(style));
+                    clock.setStyleGroups(clock.getStyleGroups());
+                } else {
+                    int[] frame = paint(clock);
+                    Assert.assertTrue("frame " + i + " is a mix of styles",
+                            expectedFrames.stream().anyMatch(expected -> Arrays.equals(expected, frame)));
+                }
+            }
+        });
+    }
+
+    private static int[] paint(ClockPanel clock) {
+        BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        clock.paint(graphics);
+        graphics.dispose();
+        return image.getRGB(0, 0, 64, 64, null, 0, 64);
+    }
+
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+
+    private static void runConcurrently(Worker worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int thread = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    worker.run(thread);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
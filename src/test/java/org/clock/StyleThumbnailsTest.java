@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import org.clock.graphical.OffsetRadius;
+import org.clock.styles.metro.MetroStyle;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class StyleThumbnailsTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void thumbnailsAreRenderedInTheBackgroundAndCachedOnDisk() throws Exception {
+        StyleThumbnails thumbnails = new StyleThumbnails(24, temporaryFolder.getRoot().toPath());
+        Style style = new MetroStyle();
+        Icon icon = request(thumbnails, style);
+        Assert.assertEquals(24, icon.getIconWidth());
+        File[] files = temporaryFolder.getRoot().listFiles((dir, name) -> name.endsWith(".png"));
+        Assert.assertNotNull(files);
+        Assert.assertEquals(1, files.length);
+
+        // a second request for the style is answered from memory, other instances read the file.
+        Assert.assertSame(icon, request(thumbnails, style));
+        Assert.assertEquals(24, request(thumbnails, new MetroStyle()).getIconHeight());
+        Assert.assertEquals(24, request(new StyleThumbnails(24, temporaryFolder.getRoot().toPath()), style).getIconHeight());
+        Assert.assertEquals(1, temporaryFolder.getRoot().listFiles((dir, name) -> name.endsWith(".png")).length);
+    }
+
+    @Test
+    public void failedThumbnailsAreAnsweredWithThePlaceholderAndRetried() throws Exception {
+        StyleThumbnails thumbnails = new StyleThumbnails(24, temporaryFolder.getRoot().toPath());
+        Style failing = new MetroStyle() {
+            @Override
+            public void paintClockFace(Graphics2D graphics2D, OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+                throw new IllegalStateException("paint bug");
+            }
+        };
+        Assert.assertEquals(24, request(thumbnails, failing).getIconWidth());
+        // the key is not left pending, the next request is rendered again and answered.
+        Assert.assertEquals(24, request(thumbnails, failing).getIconWidth());
+        File[] files = temporaryFolder.getRoot().listFiles((dir, name) -> name.endsWith(".png"));
+        Assert.assertNotNull(files);
+        Assert.assertEquals(0, files.length);
+    }
+
+    private static Icon request(StyleThumbnails thumbnails, Style style) throws Exception {
+        CompletableFuture<Icon> future = new CompletableFuture<>();
+        thumbnails.request(style, future::complete);
+        return future.get(10, TimeUnit.SECONDS);
+    }
+}
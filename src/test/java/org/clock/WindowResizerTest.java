@@ -0,0 +1,120 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock;
+
+import org.clock.graphical.OffsetRadius;
+import org.clock.styles.gsonstyle.StyleGroups;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+public class WindowResizerTest {
+
+    @Test
+    public void facesAreStretchedWhileResizing() {
+        CountingStyle style = new CountingStyle();
+        ClockPanel clock = new ClockPanel(List.of(style), new StyleGroups(null, List.of()), Calendar::getInstance);
+        clock.setSize(100, 100);
+        paint(clock);
+        Assert.assertEquals(1, style.facePaints);
+
+        clock.setResizing(true);
+        for (int size = 101; size < 140; size++) {
+            clock.setSize(size, size);
+            BufferedImage image = paint(clock);
+            // The stretched red face still covers the clock's center and stays inside the clock.
+            Assert.assertEquals(Color.RED.getRGB(), image.getRGB(size / 2, size / 2));
+            // Stretching the face does not leave its interpolation on the graphics the hands paint with.
+            Assert.assertNull(style.handInterpolation);
+        }
+        Assert.assertEquals(1, style.facePaints);
+
+        clock.setResizing(false);
+        paint(clock);
+        Assert.assertEquals(2, style.facePaints);
+    }
+
+    @Test
+    public void clipToCircle() {
+        ClockPanel clock = new ClockPanel(List.of(new CountingStyle()), new StyleGroups(null, List.of()), Calendar::getInstance);
+        clock.setSize(100, 100);
+        clock.setClipToCircle(true);
+        BufferedImage image = paint(clock);
+        Assert.assertEquals(0, image.getRGB(2, 2) >>> 24);
+        Assert.assertEquals(Color.RED.getRGB(), image.getRGB(50, 50));
+    }
+
+    @Test
+    public void hitTest() throws Exception {
+        Style style = StyleGroups.loadFromResource("/json/styles").groups().get(0).getStyles().get(0);
+        Calendar calendar = new GregorianCalendar(2025, Calendar.JANUARY, 1, 10, 8, 37);
+        ClockPanel clock = new ClockPanel(List.of(style), new StyleGroups(null, List.of()), () -> calendar);
+        clock.setCalendar(calendar);
+        clock.setSize(200, 200);
+        Assert.assertEquals(ClockPanel.Hit.HANDS, clock.hitTest(new Point(100, 100)));
+        Assert.assertEquals(ClockPanel.Hit.FACE, clock.hitTest(new Point(190, 100)));
+        Assert.assertEquals(ClockPanel.Hit.NONE, clock.hitTest(new Point(3, 3)));
+    }
+
+    private static BufferedImage paint(ClockPanel clock) {
+        BufferedImage image = new BufferedImage(clock.getWidth(), clock.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        clock.paint(graphics);
+        graphics.dispose();
+        return image;
+    }
+
+    /** Fills the clock's square red. */
+    private static class CountingStyle implements Style {
+        int facePaints;
+        Object handInterpolation;
+
+        @Override
+        public String getName() {
+            return "Counting";
+        }
+
+        @Override
+        public String getDescription() {
+            return null;
+        }
+
+        @Override
+        public void paintClockFace(Graphics2D graphics2D, OffsetRadius offsetRadius, HoursMinutesSeconds hoursMinutesSeconds) {
+            facePaints++;
+            graphics2D.setPaint(Color.RED);
+            graphics2D.fill(offsetRadius.getBounds());
+        }
+
+        @Override
+        public void paintMinuteHand(Graphics2D graphics2D, OffsetRadius offsetRadius, double minute) {
+            handInterpolation = graphics2D.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+        }
+
+        @Override
+        public void paintHourHand(Graphics2D graphics2D, OffsetRadius offsetRadius, double hour) {
+        }
+
+        @Override
+        public void paintSecondHand(Graphics2D graphics2D, OffsetRadius offsetRadius, double second) {
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BoundedElementsTest {
+    private static final OffsetRadius OFFSET_RADIUS = new OffsetRadius(100, 100, 100);
+
+    @Test
+    public void boundsOfElements() {
+        BoundedElements elements = new BoundedElements(List.of(
+                new CircleGraphicalElement(Color.RED, new Point2D.Double(0.5, 0.5), 0.1),
+                FilledPoly.rectangle(Color.BLUE, new Point2D.Double(-0.5, -0.5), new Point2D.Double(-0.4, -0.2))));
+        assertEquals(new Rectangle2D.Double(0.4, 0.4, 0.2, 0.2), elements.getElementBounds().get(0));
+        Rectangle2D union = elements.getBounds().orElseThrow();
+        assertEquals(-0.5, union.getMinX(), 1e-9);
+        assertEquals(0.6, union.getMaxY(), 1e-9);
+    }
+
+    @Test
+    public void drawSkipsElementsOutsideClip() {
+        CountingElement inside = new CountingElement(new Rectangle2D.Double(-0.1, -0.1, 0.2, 0.2));
+        CountingElement outside = new CountingElement(new Rectangle2D.Double(0.8, 0.8, 0.1, 0.1));
+        BoundedElements elements = new BoundedElements(List.of(inside, outside));
+        Graphics2D graphics2D = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        graphics2D.setClip(80, 80, 40, 40);
+        elements.draw(graphics2D, OFFSET_RADIUS);
+        assertEquals(1, inside.draws[0]);
+        assertEquals(0, outside.draws[0]);
+    }
+
+    @Test
+    public void boundsOnClockFollowRotation() {
+        BoundedElements hand = new BoundedElements(List.of(
+                FilledPoly.rectangle(Color.BLACK, new Point2D.Double(-0.01, 0), new Point2D.Double(0.01, 0.9))));
+        // hands are defined pointing down, a quarter turn points them at 3:00.
+        Rectangle2D bounds = hand.getBoundsOnClock(OFFSET_RADIUS, 0.25).orElseThrow();
+        assertTrue(bounds.getMaxX() > 185);
+        assertTrue(bounds.getMinX() > 95);
+        assertTrue(bounds.getHeight() < 5);
+    }
+
+    @Test
+    public void levelOfDetailDropsAndSimplifies() {
+        FilledPoly polygon = new FilledPoly(Color.BLACK,
+                new Point2D.Double(0, 0),
+                new Point2D.Double(0.25, 0.001),
+                new Point2D.Double(0.5, 0),
+                new Point2D.Double(0.5, 0.5));
+        BoundedElements elements = new BoundedElements(List.of(
+                polygon,
+                new CircleGraphicalElement(Color.RED, new Point2D.Double(0.5, 0.5), 0.001)));
+        BoundedElements simplified = elements.levelOfDetail(LevelOfDetail.minimumSize(LevelOfDetail.level(50)));
+        assertEquals(1, simplified.getElements().size());
+        assertEquals(3, ((FilledPoly) simplified.getElements().get(0)).points.length);
+        assertEquals(0, LevelOfDetail.level(LevelOfDetail.FULL_DETAIL_RADIUS));
+        assertSame(elements, elements.levelOfDetail(0));
+    }
+
+    private record CountingElement(Rectangle2D bounds, int[] draws) implements GraphicalElement {
+        CountingElement(Rectangle2D bounds) {
+            this(bounds, new int[1]);
+        }
+
+        @Override
+        public GraphicalElement rotate(double theta) {
+            return this;
+        }
+
+        @Override
+        public GraphicalElement adjust(OffsetRadius offsetRadius) {
+            return this;
+        }
+
+        @Override
+        public void draw(Graphics2D graphics2D) {
+            draws[0]++;
+        }
+
+        @Override
+        public void render(RenderTarget target) {
+            draws[0]++;
+        }
+
+        @Override
+        public Rectangle2D getBounds() {
+            return bounds;
+        }
+
+        @Override
+        public Optional<GraphicalElement> levelOfDetail(double minimumSize) {
+            return Optional.of(this);
+        }
+    }
+}
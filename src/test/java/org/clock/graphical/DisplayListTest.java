@@ -0,0 +1,148 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import org.clock.HoursMinutesSeconds;
+import org.clock.ImageAssert;
+import org.clock.Style;
+import org.clock.graphical.DisplayList.*;
+import org.clock.styles.colorful.ColorfulStyle;
+import org.clock.styles.gsonstyle.StyleGroup;
+import org.clock.styles.gsonstyle.StyleGroups;
+import org.clock.styles.metro.MetroStyle;
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+public class DisplayListTest {
+    private static final HoursMinutesSeconds TIME = new HoursMinutesSeconds(10 + 8 / 60d, 8 + 37 / 60d, 37.25);
+
+    @Test
+    public void everyStyleDrawsLikeItsPainting() throws Exception {
+        List<Style> styles = new ArrayList<>(List.of(new MetroStyle(), new ColorfulStyle()));
+        for (StyleGroup group : StyleGroups.loadFromResource("/json/styles").groups()) {
+            styles.addAll(group.getStyles());
+        }
+        int size = 200;
+        OffsetRadius offsetRadius = new OffsetRadius(size / 2d, size / 2d, size / 2d);
+        for (Style style : styles) {
+            DisplayList displayList = DisplayList.compile(style, TIME);
+            new ImageAssert(48, 0.01).assertMatches(style.getName(),
+                    image(size, g -> {
+                        style.paintClockFace(g, offsetRadius, TIME);
+                        style.paintMinuteHand(g, offsetRadius, TIME.minutes());
+                        style.paintHourHand(g, offsetRadius, TIME.hours());
+                        style.paintSecondHand(g, offsetRadius, TIME.seconds());
+                    }),
+                    image(size, g -> displayList.draw(g, offsetRadius, TIME)));
+        }
+    }
+
+    @Test
+    public void ticksAreFoldedAndMerged() {
+        DisplayList.Builder builder = new DisplayList.Builder();
+        GraphicalElement tick = FilledPoly.rectangle(Color.BLACK, new Point2D.Double(-10, 400), new Point2D.Double(10, 500));
+        for (int i = 0; i < 60; i++) {
+            builder.pushTransform(AffineTransform.getRotateInstance(i * Math.PI / 30));
+            tick.render(builder);
+            builder.pop();
+        }
+        DisplayList displayList = builder.build();
+        assertEquals(60 * 4, displayList.getOpCount());
+
+        DisplayList optimized = DisplayListOptimizer.optimize(displayList);
+        assertEquals(List.of(SetPaint.class, Fill.class), optimized.getOps().stream().map(Object::getClass).toList());
+        int size = 100;
+        OffsetRadius offsetRadius = new OffsetRadius(size / 2d, size / 2d, size / 2d);
+        new ImageAssert(16, 0.005).assertMatches("ticks",
+                image(size, g -> displayList.draw(g, offsetRadius, TIME)),
+                image(size, g -> optimized.draw(g, offsetRadius, TIME)));
+    }
+
+    @Test
+    public void transformsAroundHandsAreKept() {
+        List<Op> ops = List.of(
+                new PushTransform(AffineTransform.getScaleInstance(2, 2)),
+                new PushHand(DisplayList.SECOND_HAND),
+                new PushTransform(AffineTransform.getTranslateInstance(5, 0)),
+                new SetPaint(Color.RED),
+                new Fill(new java.awt.geom.Path2D.Float(new Rectangle2D.Float(0, 0, 1, 1))),
+                new Pop(),
+                new Pop(),
+                new Pop());
+        List<Op> folded = DisplayListOptimizer.foldTransforms(ops);
+        assertEquals(List.of(PushTransform.class, PushHand.class, SetPaint.class, Fill.class, Pop.class, Pop.class),
+                folded.stream().map(Object::getClass).toList());
+        assertEquals(new Rectangle2D.Float(5, 0, 1, 1), ((Fill) folded.get(3)).path().getBounds2D());
+    }
+
+    @Test
+    public void gradientsFollowTheFillsTheyPaint() {
+        Paint gradient = new LinearGradientPaint(0, 0, 20, 0, new float[]{0f, 1f}, new Color[]{Color.RED, Color.BLUE});
+        List<Op> ops = List.of(
+                new SetPaint(gradient),
+                new PushTransform(AffineTransform.getTranslateInstance(20, 0)),
+                new Fill(new java.awt.geom.Path2D.Float(new Rectangle2D.Float(0, 0, 20, 20))),
+                new SetPaint(gradient),
+                new Pop(),
+                new Fill(new java.awt.geom.Path2D.Float(new Rectangle2D.Float(0, 20, 20, 20))));
+        OffsetRadius offsetRadius = new OffsetRadius(0, 0, DisplayList.RADIUS);
+        BufferedImage expected = image(48, g -> DisplayList.of(ops).draw(g, offsetRadius, TIME));
+        BufferedImage folded = image(48, g -> DisplayList.of(DisplayListOptimizer.foldTransforms(ops)).draw(g, offsetRadius, TIME));
+        new ImageAssert(16, 0.002).assertMatches("folded gradients", expected, folded);
+    }
+
+    @Test
+    public void repeatedAndUnusedPaintsAreRemoved() {
+        Fill fill = new Fill(new java.awt.geom.Path2D.Float(new Rectangle2D.Float(0, 0, 1, 1)));
+        List<Op> ops = List.of(
+                new SetPaint(Color.RED), fill,
+                new SetPaint(Color.BLUE), new SetPaint(Color.RED), fill,
+                new PushHand(DisplayList.MINUTE_HAND), new SetPaint(Color.RED), fill, new Pop(),
+                new SetPaint(Color.GREEN));
+        assertEquals(List.of(new SetPaint(Color.RED), fill, fill, new PushHand(DisplayList.MINUTE_HAND), fill, new Pop()),
+                DisplayListOptimizer.removeRedundantPaints(ops));
+    }
+
+    @Test
+    public void dumpListsTheOperations() {
+        String dump = DisplayList.compile(new MetroStyle(), TIME).dump();
+        assertTrue(dump, dump.startsWith("DisplayList: "));
+        assertTrue(dump, dump.contains("PUSH_HAND minute"));
+        assertTrue(dump, dump.contains("SET_PAINT RadialGradientPaint"));
+        assertTrue(dump, dump.contains("  FILL nonzero"));
+    }
+
+    private static BufferedImage image(int size, Consumer<Graphics2D> painter) {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D graphics2D = image.createGraphics();
+        graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics2D.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        painter.accept(graphics2D);
+        graphics2D.dispose();
+        return image;
+    }
+}
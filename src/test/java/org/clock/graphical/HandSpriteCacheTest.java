@@ -0,0 +1,118 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import org.clock.ImageAssert;
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HandSpriteCacheTest {
+    private static final int SIZE = 400;
+    private static final OffsetRadius OFFSET_RADIUS = new OffsetRadius(200, 200, 200);
+    private static final BoundedElements HAND = new BoundedElements(List.of(
+            new FilledPoly(Color.BLACK,
+                    new Point2D.Double(-0.03, -0.1), new Point2D.Double(0.03, -0.1),
+                    new Point2D.Double(0.01, 0.9), new Point2D.Double(-0.01, 0.9)),
+            new CircleGraphicalElement(Color.RED, new Point2D.Double(0, 0.8), 0.04)));
+
+    @Test
+    public void spritesMatchExactRenderingAtCachedAngles() {
+        HandSpriteCache cache = new HandSpriteCache(720, 64L << 20);
+        ImageAssert imageAssert = new ImageAssert(2, 0);
+        for (int angle = 0; angle < 720; angle += 37) {
+            double fraction = angle / 720d;
+            imageAssert.assertMatches("angle " + angle, exact(fraction), cached(cache, fraction));
+        }
+    }
+
+    @Test
+    public void errorBetweenCachedAnglesIsSmall() {
+        HandSpriteCache cache = new HandSpriteCache(720, 64L << 20);
+        // Half way between two cached angles the tip is off by up to 0.25 degrees, about 0.8 pixels
+        // here: only edge pixels differ, and none by a whole pixel's coverage.
+        ImageAssert edgePixels = new ImageAssert(16, 0.005);
+        ImageAssert partialCoverage = new ImageAssert(224, 0);
+        for (int angle = 0; angle < 720; angle += 37) {
+            double fraction = (angle + 0.5) / 720d;
+            BufferedImage exact = exact(fraction);
+            BufferedImage cached = cached(cache, fraction);
+            edgePixels.assertMatches("angle " + angle + ".5", exact, cached);
+            partialCoverage.assertMatches("angle " + angle + ".5", exact, cached);
+        }
+    }
+
+    @Test
+    public void memoryIsBounded() {
+        long maxBytes = 1L << 20;
+        HandSpriteCache cache = new HandSpriteCache(720, maxBytes);
+        for (int angle = 0; angle < 720; angle += 10) {
+            cached(cache, angle / 720d);
+            assertTrue(cache.getBytes() <= maxBytes);
+        }
+        assertTrue(cache.getSpriteCount() > 0);
+        assertTrue(cache.getSpriteCount() < 72);
+
+        // Sprites larger than the whole cache are not kept, the hand is still drawn.
+        HandSpriteCache tiny = new HandSpriteCache(720, 100);
+        new ImageAssert(2, 0).assertMatches("uncached", exact(0.1), cached(tiny, 0.1));
+        assertEquals(0, tiny.getBytes());
+    }
+
+    @Test
+    public void quantize() {
+        HandSpriteCache cache = new HandSpriteCache(4, 1000);
+        assertEquals(0.25, cache.quantize(0.2), 0);
+        assertEquals(0, cache.quantize(0.9), 0);
+    }
+
+    private static BufferedImage exact(double fraction) {
+        BufferedImage image = image();
+        Graphics2D graphics2D = graphics(image);
+        HAND.drawOnClock(graphics2D, OFFSET_RADIUS, fraction);
+        graphics2D.dispose();
+        return image;
+    }
+
+    private static BufferedImage cached(HandSpriteCache cache, double fraction) {
+        BufferedImage image = image();
+        Graphics2D graphics2D = graphics(image);
+        cache.drawOnClock(graphics2D, HAND, OFFSET_RADIUS, fraction);
+        graphics2D.dispose();
+        return image;
+    }
+
+    private static BufferedImage image() {
+        BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics2D = image.createGraphics();
+        graphics2D.setPaint(Color.WHITE);
+        graphics2D.fillRect(0, 0, SIZE, SIZE);
+        graphics2D.dispose();
+        return image;
+    }
+
+    private static Graphics2D graphics(BufferedImage image) {
+        Graphics2D graphics2D = image.createGraphics();
+        graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        return graphics2D;
+    }
+}
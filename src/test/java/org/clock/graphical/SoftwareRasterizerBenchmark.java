@@ -0,0 +1,77 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import org.clock.HoursMinutesSeconds;
+import org.clock.styles.gsonstyle.GsonStyle;
+import org.clock.styles.gsonstyle.StyleGroup;
+import org.clock.styles.gsonstyle.StyleGroups;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Compares rendering every JSON style with Java2D and with the SoftwareRasterizer.
+ * Not a unit test, run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.clock.graphical.SoftwareRasterizerBenchmark
+ */
+public class SoftwareRasterizerBenchmark {
+    private static final int SIZE = 400;
+    private static final int WARMUP_MILLIS = 500;
+    private static final int MEASURE_MILLIS = 1000;
+    private static final HoursMinutesSeconds TIME = new HoursMinutesSeconds(10 + 8 / 60d, 8 + 37 / 60d, 37.25);
+
+    public static void main(String[] args) throws Exception {
+        OffsetRadius offsetRadius = new OffsetRadius(SIZE / 2d, SIZE / 2d, SIZE / 2d);
+        BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB_PRE);
+        SoftwareRasterizer rasterizer = new SoftwareRasterizer(SIZE, SIZE);
+        for (StyleGroup group : StyleGroups.loadFromResource("/json/styles").groups()) {
+            for (GsonStyle style : group.getStyles()) {
+                double java2D = microsPerClock(() -> {
+                    Graphics2D graphics2D = image.createGraphics();
+                    graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                    style.paintClockFace(graphics2D, offsetRadius, TIME);
+                    style.paintMinuteHand(graphics2D, offsetRadius, TIME.minutes());
+                    style.paintHourHand(graphics2D, offsetRadius, TIME.hours());
+                    style.paintSecondHand(graphics2D, offsetRadius, TIME.seconds());
+                    graphics2D.dispose();
+                });
+                double software = microsPerClock(() -> {
+                    rasterizer.clear();
+                    style.render(rasterizer, offsetRadius, TIME);
+                });
+                System.out.printf("%-32s Java2D %8.1f us, software %8.1f us%n", style.getName(), java2D, software);
+            }
+        }
+    }
+
+    private static double microsPerClock(Runnable renderer) {
+        run(renderer, WARMUP_MILLIS);
+        long start = System.nanoTime();
+        int clocks = run(renderer, MEASURE_MILLIS);
+        return (System.nanoTime() - start) / 1e3 / clocks;
+    }
+
+    private static int run(Runnable renderer, int millis) {
+        long end = System.currentTimeMillis() + millis;
+        int clocks = 0;
+        while (System.currentTimeMillis() < end) {
+            renderer.run();
+            clocks++;
+        }
+        return clocks;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import org.clock.HoursMinutesSeconds;
+import org.clock.ImageAssert;
+import org.clock.styles.gsonstyle.GsonStyle;
+import org.clock.styles.gsonstyle.StyleGroup;
+import org.clock.styles.gsonstyle.StyleGroups;
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.assertEquals;
+
+public class SoftwareRasterizerTest {
+    private static final HoursMinutesSeconds TIME = new HoursMinutesSeconds(10 + 8 / 60d, 8 + 37 / 60d, 37.25);
+
+    @Test
+    public void coverageOfPixelAlignedAndHalfPixelEdges() {
+        SoftwareRasterizer rasterizer = new SoftwareRasterizer(10, 10);
+        rasterizer.fill(new Rectangle2D.Double(2, 2, 4.5, 3), Color.WHITE);
+        int[] pixels = rasterizer.getPixels();
+        assertEquals(0xFFFFFFFF, pixels[3 * 10 + 3]);
+        assertEquals(0, pixels[3 * 10 + 1]);
+        assertEquals(0, pixels[1 * 10 + 3]);
+        assertEquals(0x80, pixels[3 * 10 + 6] >>> 24);
+        assertEquals(0, pixels[3 * 10 + 7]);
+        assertEquals(0, pixels[5 * 10 + 3]);
+    }
+
+    @Test
+    public void shapesOutsideTheImageAreClipped() {
+        SoftwareRasterizer rasterizer = new SoftwareRasterizer(10, 10);
+        rasterizer.fill(new Rectangle2D.Double(-5, -5, 10, 30), Color.BLACK);
+        rasterizer.fill(new Rectangle2D.Double(8, 3, 20, 2), Color.BLACK);
+        int[] pixels = rasterizer.getPixels();
+        assertEquals(0xFF000000, pixels[9 * 10]);
+        assertEquals(0xFF000000, pixels[4 * 10 + 9]);
+        assertEquals(0, pixels[4 * 10 + 7]);
+        assertEquals(0, pixels[0 * 10 + 9]);
+    }
+
+    @Test
+    public void matchesJava2D() {
+        BufferedImage java2D = java2D(100, g -> {
+            g.setPaint(new Color(200, 30, 30, 180));
+            g.fill(new Ellipse2D.Double(10.3, 20.7, 60.2, 50.1));
+            g.setPaint(new GradientPaint(0, 0, Color.BLUE, 100, 100, Color.GREEN));
+            g.fill(new Rectangle2D.Double(30, 5, 40, 90));
+        });
+        SoftwareRasterizer rasterizer = new SoftwareRasterizer(100, 100);
+        rasterizer.fill(new Ellipse2D.Double(10.3, 20.7, 60.2, 50.1), new Color(200, 30, 30, 180));
+        rasterizer.fill(new Rectangle2D.Double(30, 5, 40, 90), new GradientPaint(0, 0, Color.BLUE, 100, 100, Color.GREEN));
+        new ImageAssert(16, 0.005).assertMatches("shapes", java2D, rasterizer.getImage());
+    }
+
+    @Test
+    public void jsonStylesMatchJava2D() throws Exception {
+        int size = 200;
+        OffsetRadius offsetRadius = new OffsetRadius(size / 2d, size / 2d, size / 2d);
+        ImageAssert imageAssert = new ImageAssert(48, 0.01);
+        for (StyleGroup group : StyleGroups.loadFromResource("/json/styles").groups()) {
+            for (GsonStyle style : group.getStyles()) {
+                BufferedImage java2D = java2D(size, g -> {
+                    style.paintClockFace(g, offsetRadius, TIME);
+                    style.paintMinuteHand(g, offsetRadius, TIME.minutes());
+                    style.paintHourHand(g, offsetRadius, TIME.hours());
+                    style.paintSecondHand(g, offsetRadius, TIME.seconds());
+                });
+                SoftwareRasterizer rasterizer = new SoftwareRasterizer(size, size);
+                style.render(rasterizer, offsetRadius, TIME);
+                imageAssert.assertMatches(style.getName(), java2D, rasterizer.getImage());
+            }
+        }
+    }
+
+    @Test
+    public void elementsRenderTheirDrawnShapes() {
+        GraphicalElement element = CompositeGraphicalElement.ticks(
+                FilledPoly.rectangle(Color.BLACK, new Point2D.Double(-0.02, 0.8), new Point2D.Double(0.02, 1)), 12)
+                .adjust(new OffsetRadius(50, 50, 50));
+        BufferedImage java2D = java2D(100, element::draw);
+        BufferedImage rendered = java2D(100, g -> element.render(RenderTarget.of(g)));
+        new ImageAssert(0, 0).assertMatches("ticks", java2D, rendered);
+    }
+
+    private static BufferedImage java2D(int size, java.util.function.Consumer<Graphics2D> painter) {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D graphics2D = image.createGraphics();
+        graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        painter.accept(graphics2D);
+        graphics2D.dispose();
+        return image;
+    }
+}
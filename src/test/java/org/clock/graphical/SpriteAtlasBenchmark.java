@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import org.clock.styles.metro.MetroConstants;
+import org.clock.styles.metro.MetroStyle;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.function.Consumer;
+
+import static org.clock.ClockUtils.paintOnClock;
+
+/**
+ * Compares generating faces by filling shapes with generating them from a SpriteAtlas.
+ * Not a unit test, run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.clock.graphical.SpriteAtlasBenchmark
+ */
+public class SpriteAtlasBenchmark {
+    private static final int WARMUP_MILLIS = 1000;
+    private static final int MEASURE_MILLIS = 2000;
+
+    public static void main(String[] args) {
+        MetroStyle metro = new MetroStyle();
+        for (int radius : new int[] {50, 150, 400}) {
+            OffsetRadius offsetRadius = new OffsetRadius(radius, radius, radius);
+            BufferedImage image = new BufferedImage(2 * radius + 1, 2 * radius + 1, BufferedImage.TYPE_INT_ARGB);
+            SpriteAtlas ticksAtlas = SpriteAtlas.pack(SpriteAtlas.tickBases(SpriteAtlasTest.FACE), radius);
+            report("ticks vector", radius, image, g -> SpriteAtlasTest.FACE.draw(g, offsetRadius));
+            report("ticks atlas", radius, image, g -> ticksAtlas.draw(g, SpriteAtlasTest.FACE, offsetRadius));
+            report("metro vector", radius, image, g -> metroMarkers(g, offsetRadius));
+            report("metro atlas", radius, image, g -> metro.paintMarkersFromAtlas(g, offsetRadius));
+        }
+    }
+
+    private static void metroMarkers(Graphics2D graphics2D, OffsetRadius offsetRadius) {
+        for (int hour = 0; hour <= 11; hour++) {
+            paintOnClock(graphics2D, MetroConstants.HOUR_HAND_MARKER, offsetRadius, hour/12d);
+        }
+        for (int minute = 0; minute < 60; minute++) {
+            paintOnClock(graphics2D, MetroConstants.MINUTE_HAND_MARKER, offsetRadius, minute/60d);
+        }
+    }
+
+    private static void report(String name, int radius, BufferedImage image, Consumer<Graphics2D> painter) {
+        run(image, painter, WARMUP_MILLIS);
+        long start = System.nanoTime();
+        int faces = run(image, painter, MEASURE_MILLIS);
+        double micros = (System.nanoTime() - start) / 1e3 / faces;
+        System.out.printf("%-14s radius %3d: %9.1f us/face%n", name, radius, micros);
+    }
+
+    private static int run(BufferedImage image, Consumer<Graphics2D> painter, int millis) {
+        long end = System.currentTimeMillis() + millis;
+        int faces = 0;
+        while (System.currentTimeMillis() < end) {
+            Graphics2D graphics2D = image.createGraphics();
+            graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            painter.accept(graphics2D);
+            graphics2D.dispose();
+            faces++;
+        }
+        return faces;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import org.clock.ImageAssert;
+import org.clock.styles.metro.MetroStyle;
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class SpriteAtlasTest {
+    private static final OffsetRadius OFFSET_RADIUS = new OffsetRadius(150, 150, 150);
+    private static final GraphicalElement MINUTE_TICK =
+            FilledPoly.rectangle(Color.BLACK, new Point2D.Double(-0.01, 0.9), new Point2D.Double(0.01, 0.98));
+    private static final GraphicalElement HOUR_TICK =
+            FilledPoly.rectangle(Color.DARK_GRAY, new Point2D.Double(-0.03, 0.8), new Point2D.Double(0.03, 0.98));
+    static final BoundedElements FACE = new BoundedElements(List.of(
+            new CircleGraphicalElement(Color.WHITE, new Point2D.Double(0, 0), 1),
+            CompositeGraphicalElement.ticks(MINUTE_TICK, 60),
+            CompositeGraphicalElement.ticks(HOUR_TICK, 12)));
+
+    @Test
+    public void packsUniqueElements() {
+        SpriteAtlas atlas = SpriteAtlas.pack(SpriteAtlas.tickBases(FACE), OFFSET_RADIUS.radius());
+        assertTrue(atlas.contains(MINUTE_TICK));
+        assertTrue(atlas.contains(HOUR_TICK));
+        assertFalse(atlas.contains(FACE.getElements().get(0)));
+        // Both ticks are a few pixels wide, they fit in a small power of two wide image.
+        assertEquals(Integer.bitCount(atlas.getImage().getWidth()), 1);
+        assertTrue(atlas.getImage().getWidth() * atlas.getImage().getHeight() < 64 * 64);
+        assertThrows(IllegalArgumentException.class, () ->
+                atlas.drawOnClock(image().createGraphics(), FACE.getElements().get(0), OFFSET_RADIUS, 0));
+    }
+
+    @Test
+    public void atlasFaceLooksLikeVectorFace() {
+        SpriteAtlas atlas = SpriteAtlas.pack(SpriteAtlas.tickBases(FACE), OFFSET_RADIUS.radius());
+        BufferedImage vector = render(g -> FACE.draw(g, OFFSET_RADIUS));
+        BufferedImage sprites = render(g -> atlas.draw(g, FACE, OFFSET_RADIUS));
+        // Resampling blurs the rotated ticks' edges, the ticks themselves are in place.
+        new ImageAssert(96, 0.01).assertMatches("atlas face", vector, sprites);
+    }
+
+    @Test
+    public void metroMarkersLeaveTheCallersHintsAlone() {
+        Graphics2D graphics2D = image().createGraphics();
+        graphics2D.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        new MetroStyle().paintMarkersFromAtlas(graphics2D, OFFSET_RADIUS);
+        assertEquals(RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR, graphics2D.getRenderingHint(RenderingHints.KEY_INTERPOLATION));
+        graphics2D.dispose();
+    }
+
+    @Test
+    public void atlasFaceLeavesTheCallersHintsAlone() {
+        SpriteAtlas atlas = SpriteAtlas.pack(SpriteAtlas.tickBases(FACE), OFFSET_RADIUS.radius());
+        Graphics2D graphics2D = image().createGraphics();
+        // Unset by default, restoring the previous hint is not enough.
+        assertNull(graphics2D.getRenderingHint(RenderingHints.KEY_INTERPOLATION));
+        atlas.draw(graphics2D, FACE, OFFSET_RADIUS);
+        assertNull(graphics2D.getRenderingHint(RenderingHints.KEY_INTERPOLATION));
+        graphics2D.dispose();
+    }
+
+    private static BufferedImage render(Consumer<Graphics2D> painter) {
+        BufferedImage image = image();
+        Graphics2D graphics2D = image.createGraphics();
+        graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        painter.accept(graphics2D);
+        graphics2D.dispose();
+        return image;
+    }
+
+    private static BufferedImage image() {
+        return new BufferedImage(301, 301, BufferedImage.TYPE_INT_ARGB);
+    }
+}
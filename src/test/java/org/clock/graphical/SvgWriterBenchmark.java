@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import org.clock.HoursMinutesSeconds;
+import org.clock.Style;
+import org.clock.styles.colorful.ColorfulStyle;
+import org.clock.styles.gsonstyle.StyleGroup;
+import org.clock.styles.gsonstyle.StyleGroups;
+import org.clock.styles.metro.MetroStyle;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prints the SVG size and generation time of every style, with the ticks shared and written in full.
+ * Not a unit test, run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.clock.graphical.SvgWriterBenchmark
+ */
+public class SvgWriterBenchmark {
+    private static final int SIZE = 400;
+    private static final int WARMUP_MILLIS = 500;
+    private static final int MEASURE_MILLIS = 1000;
+    private static final HoursMinutesSeconds TIME = new HoursMinutesSeconds(10 + 8 / 60d, 8 + 37 / 60d, 37.25);
+
+    public static void main(String[] args) throws Exception {
+        List<Style> styles = new ArrayList<>(List.of(new MetroStyle(), new ColorfulStyle()));
+        for (StyleGroup group : StyleGroups.loadFromResource("/json/styles").groups()) {
+            styles.addAll(group.getStyles());
+        }
+        OffsetRadius offsetRadius = new OffsetRadius(SIZE / 2d, SIZE / 2d, SIZE / 2d);
+        for (Style style : styles) {
+            int[] bytes = new int[2];
+            double[] micros = new double[2];
+            for (int shared = 0; shared < 2; shared++) {
+                boolean shareTicks = shared == 0;
+                Runnable writer = () -> {
+                    StringWriter out = new StringWriter();
+                    SvgWriter svg = new SvgWriter(out, SIZE, SIZE, shareTicks);
+                    style.writeSvg(svg, offsetRadius, TIME);
+                    svg.finish();
+                    bytes[shareTicks ? 0 : 1] = out.getBuffer().length();
+                };
+                micros[shared] = microsPerClock(writer);
+            }
+            System.out.printf("%-32s shared ticks %7d bytes %8.1f us, full ticks %7d bytes %8.1f us%n",
+                    style.getName(), bytes[0], micros[0], bytes[1], micros[1]);
+        }
+    }
+
+    private static double microsPerClock(Runnable writer) {
+        run(writer, WARMUP_MILLIS);
+        long start = System.nanoTime();
+        int clocks = run(writer, MEASURE_MILLIS);
+        return (System.nanoTime() - start) / 1e3 / clocks;
+    }
+
+    private static int run(Runnable writer, int millis) {
+        long end = System.currentTimeMillis() + millis;
+        int clocks = 0;
+        while (System.currentTimeMillis() < end) {
+            writer.run();
+            clocks++;
+        }
+        return clocks;
+    }
+}
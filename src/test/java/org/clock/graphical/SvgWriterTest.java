@@ -0,0 +1,199 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.graphical;
+
+import org.clock.HoursMinutesSeconds;
+import org.clock.ImageAssert;
+import org.clock.Style;
+import org.clock.styles.colorful.ColorfulStyle;
+import org.clock.styles.gsonstyle.GsonStyle;
+import org.clock.styles.gsonstyle.StyleGroup;
+import org.clock.styles.gsonstyle.StyleGroups;
+import org.clock.styles.metro.MetroStyle;
+import org.junit.Test;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.awt.*;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+public class SvgWriterTest {
+    private static final HoursMinutesSeconds TIME = new HoursMinutesSeconds(10 + 8 / 60d, 8 + 37 / 60d, 37.25);
+    private static final int SIZE = 200;
+
+    @Test
+    public void pathsAndColors() {
+        StringWriter out = new StringWriter();
+        SvgWriter svg = new SvgWriter(out, 10, 10);
+        svg.fill(new Rectangle2D.Double(1.25, -0.5, 2, 3.333), new Color(0x12, 0x34, 0x56, 128));
+        svg.finish();
+        String text = out.toString();
+        assertTrue(text, text.contains("<path d=\"M1.25 -0.5L3.25 -0.5L3.25 2.83L1.25 2.83L1.25 -0.5Z\" "
+                + "fill=\"#123456\" fill-opacity=\"0.502\"/>"));
+        assertTrue(text.endsWith("</svg>\n"));
+    }
+
+    @Test
+    public void opacityIsWrittenWithADecimalPointInEveryLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        try {
+            StringWriter out = new StringWriter();
+            SvgWriter svg = new SvgWriter(out, 10, 10);
+            Graphics2D graphics2D = new RenderTargetGraphics2D(svg);
+            graphics2D.setPaint(new Color(0x12, 0x34, 0x56, 128));
+            graphics2D.fill(new Rectangle2D.Double(0, 0, 2, 2));
+            graphics2D.setPaint(new LinearGradientPaint(0, 0, 10, 0, new float[]{0f, 1f},
+                    new Color[]{new Color(255, 0, 0, 64), Color.BLUE}));
+            graphics2D.fill(new Rectangle2D.Double(0, 0, 10, 10));
+            svg.finish();
+            String text = out.toString();
+            assertTrue(text, text.contains("fill-opacity=\"0.502\""));
+            assertTrue(text, text.contains("stop-opacity=\"0.251\""));
+            assertFalse(text, text.contains("0,"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void ticksAreWrittenOnce() throws Exception {
+        GsonStyle quartz = jsonStyle("Quartz");
+        String shared = svg(quartz, true);
+        String unshared = svg(quartz, false);
+        parse(shared);
+        parse(unshared);
+        int ticks = 0;
+        int tickBases = 0;
+        for (GraphicalElement element : new GsonStyle(new com.google.gson.Gson(), quartz.getSourceCode()).getClockFaceElements().getElements()) {
+            assertFalse("optimized faces have no tick composites", element instanceof CompositeGraphicalElement c && c.getTickCount() > 0);
+        }
+        for (String line : shared.split("\n")) {
+            if (line.startsWith("<use ")) {
+                ticks++;
+            } else if (line.startsWith("<defs><g ")) {
+                tickBases++;
+            }
+        }
+        assertTrue(tickBases > 0);
+        assertTrue("every tick is used, " + ticks, ticks >= 60);
+        assertFalse(unshared.contains("<use "));
+        assertTrue(shared.length() + " < " + unshared.length(), shared.length() < unshared.length());
+    }
+
+    @Test
+    public void textTicksStayUpright() {
+        GraphicalElement text = new TextGraphicalElement(Color.BLACK, "12", new Point2D.Double(0, -0.8), "Serif", 0.2, Font.PLAIN);
+        StringWriter out = new StringWriter();
+        SvgWriter svg = new SvgWriter(out, SIZE, SIZE);
+        svg.writeElements(new BoundedElements(List.of(CompositeGraphicalElement.ticks(text, 12))),
+                new OffsetRadius(SIZE / 2d, SIZE / 2d, SIZE / 2d));
+        svg.finish();
+        assertFalse(out.toString().contains("<use "));
+    }
+
+    @Test
+    public void everyStyleIsWellFormed() throws Exception {
+        List<Style> styles = new ArrayList<>(List.of(new MetroStyle(), new ColorfulStyle()));
+        for (StyleGroup group : StyleGroups.loadFromResource("/json/styles").groups()) {
+            styles.addAll(group.getStyles());
+        }
+        for (Style style : styles) {
+            StringWriter out = new StringWriter();
+            SvgWriter.write(style, out, SIZE, TIME);
+            parse(out.toString());
+        }
+    }
+
+    @Test
+    public void graphicsFillsTheTargetLikeJava2D() {
+        OffsetRadius offsetRadius = new OffsetRadius(SIZE / 2d, SIZE / 2d, SIZE / 2d);
+        for (Style style : List.of(new MetroStyle(), new ColorfulStyle())) {
+            Consumer<Graphics2D> painter = g -> {
+                style.paintClockFace(g, offsetRadius, TIME);
+                style.paintMinuteHand(g, offsetRadius, TIME.minutes());
+                style.paintHourHand(g, offsetRadius, TIME.hours());
+                style.paintSecondHand(g, offsetRadius, TIME.seconds());
+            };
+            BufferedImage java2D = java2D(painter);
+            BufferedImage throughTarget = java2D(g -> {
+                RenderTargetGraphics2D graphics2D = new RenderTargetGraphics2D(RenderTarget.of(g));
+                graphics2D.setRenderingHints(g.getRenderingHints());
+                painter.accept(graphics2D);
+            });
+            new ImageAssert(16, 0.01).assertMatches(style.getName(), java2D, throughTarget);
+        }
+    }
+
+    @Test
+    public void gradientsFollowTheTransform() {
+        StringWriter out = new StringWriter();
+        SvgWriter svg = new SvgWriter(out, 100, 100);
+        Graphics2D graphics2D = new RenderTargetGraphics2D(svg);
+        graphics2D.translate(50, 0);
+        graphics2D.setPaint(new RadialGradientPaint(0, 0, 10, new float[]{0f, 1f}, new Color[]{Color.RED, Color.BLUE}));
+        graphics2D.fill(new Rectangle2D.Double(0, 0, 10, 10));
+        svg.finish();
+        String text = out.toString();
+        assertTrue(text, text.contains("gradientTransform=\"matrix(1.0 0.0 0.0 1.0 50.0 0.0)\""));
+        assertTrue(text, text.contains("<path d=\"M50 0L60 0L60 10L50 10L50 0Z\" fill=\"url(#g0)\"/>"));
+    }
+
+    private static GsonStyle jsonStyle(String name) throws Exception {
+        for (StyleGroup group : StyleGroups.loadFromResource("/json/styles").groups()) {
+            for (GsonStyle style : group.getStyles()) {
+                if (style.getName().equals(name)) {
+                    return style;
+                }
+            }
+        }
+        throw new AssertionError("No style " + name);
+    }
+
+    private static String svg(Style style, boolean shareTicks) {
+        StringWriter out = new StringWriter();
+        SvgWriter svg = new SvgWriter(out, SIZE, SIZE, shareTicks);
+        style.writeSvg(svg, new OffsetRadius(SIZE / 2d, SIZE / 2d, SIZE / 2d), TIME);
+        svg.finish();
+        return out.toString();
+    }
+
+    private static void parse(String svg) throws Exception {
+        DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new InputSource(new StringReader(svg)));
+    }
+
+    private static BufferedImage java2D(Consumer<Graphics2D> painter) {
+        BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D graphics2D = image.createGraphics();
+        graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        // Outlines are filled as their stroked shape, which Java2D doesn't normalize.
+        graphics2D.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        painter.accept(graphics2D);
+        graphics2D.dispose();
+        return image;
+    }
+}
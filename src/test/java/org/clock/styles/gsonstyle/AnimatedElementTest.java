@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.styles.gsonstyle;
+
+import com.google.gson.Gson;
+import org.clock.HoursMinutesSeconds;
+import org.clock.graphical.OffsetRadius;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+public class AnimatedElementTest {
+    private static final OffsetRadius OFFSET_RADIUS = new OffsetRadius(100, 100, 100);
+    private static final String STYLE = """
+            {
+              "name": "Animated",
+              "clock_face": [ { "shape": "circle", "x": 0, "y": 0, "radius": 1, "color": "#FFFFFF" } ],
+              "animated": [
+                { "shape": "circle", "x": 0, "y": -0.5, "radius": 0.1, "color": "#FF0000", "rotate": "s / 60" },
+                { "shape": "circle", "x": 0, "y": 0.5, "radius": 0.1, "color": "#0000FF",
+                  "alpha": "floor(m) % 2", "update_ms": 1000 }
+              ],
+              "second_hand": [],
+              "minute_hand": [],
+              "hour_hand": []
+            }
+            """;
+
+    @Test
+    public void elementsMoveWithTheTimeOverAStaticFace() throws Exception {
+        GsonStyle style = new GsonStyle(new Gson(), STYLE);
+        Assert.assertTrue(style.staticClockFace());
+        Assert.assertEquals(TimeExpression.SECONDS_INTERVAL_MILLIS, style.getAnimationIntervalMillis());
+
+        BufferedImage noon = paint(style, new HoursMinutesSeconds(0, 0, 0));
+        Assert.assertEquals(Color.RED.getRGB(), noon.getRGB(100, 50));
+        Assert.assertEquals(Color.WHITE.getRGB(), noon.getRGB(100, 150));
+        BufferedImage quarter = paint(style, new HoursMinutesSeconds(0, 1, 15));
+        Assert.assertEquals(Color.WHITE.getRGB(), quarter.getRGB(100, 50));
+        Assert.assertEquals(Color.RED.getRGB(), quarter.getRGB(150, 100));
+        Assert.assertEquals(Color.BLUE.getRGB(), quarter.getRGB(100, 150));
+    }
+
+    @Test
+    public void boundsFollowTheQuantizedTime() throws Exception {
+        GsonStyle style = new GsonStyle(new Gson(), STYLE);
+        Rectangle2D atStart = style.getAnimatedBounds(OFFSET_RADIUS, new HoursMinutesSeconds(0, 0, 10)).orElseThrow();
+        // 10 ms later is the same 40 ms step.
+        Assert.assertEquals(atStart, style.getAnimatedBounds(OFFSET_RADIUS, new HoursMinutesSeconds(0, 0, 10.01)).orElseThrow());
+        Rectangle2D later = style.getAnimatedBounds(OFFSET_RADIUS, new HoursMinutesSeconds(0, 0, 15)).orElseThrow();
+        Assert.assertNotEquals(atStart, later);
+        Assert.assertTrue(later.contains(new Rectangle2D.Double(145, 95, 10, 10)));
+        // the blue circle is transparent in even minutes, so only the red one is covered.
+        Assert.assertTrue(atStart.getMaxY() < 100);
+        Rectangle2D oddMinute = style.getAnimatedBounds(OFFSET_RADIUS, new HoursMinutesSeconds(0, 1, 10)).orElseThrow();
+        Assert.assertTrue(oddMinute.contains(new Rectangle2D.Double(95, 145, 10, 10)));
+    }
+
+    @Test
+    public void invalidExpressionsAreSchemaErrors() {
+        String json = STYLE.replace("\"s / 60\"", "\"s /\"");
+        JSONSchemaException exception = Assert.assertThrows(JSONSchemaException.class, () -> new GsonStyle(new Gson(), json));
+        Assert.assertTrue(exception.getMessage(), exception.getMessage().contains("Invalid expression \"s /\""));
+    }
+
+    private static BufferedImage paint(GsonStyle style, HoursMinutesSeconds hoursMinutesSeconds) {
+        BufferedImage image = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics2D = image.createGraphics();
+        style.paintClockFace(graphics2D, OFFSET_RADIUS, hoursMinutesSeconds);
+        style.paintAnimatedElements(graphics2D, OFFSET_RADIUS, hoursMinutesSeconds);
+        graphics2D.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.styles.gsonstyle;
+
+import com.google.gson.Gson;
+import org.clock.HoursMinutesSeconds;
+import org.clock.ImageAssert;
+import org.clock.graphical.BoundedElements;
+import org.clock.graphical.CompositeGraphicalElement;
+import org.clock.graphical.GraphicalElement;
+import org.clock.graphical.OffsetRadius;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+public class ShapeOptimizationTest {
+    private static final int SIZE = 300;
+    // Merged shapes lose the faint anti-aliasing seams where separately drawn shapes meet.
+    private static final ImageAssert IMAGE_ASSERT = new ImageAssert(16, 0.001);
+
+    @Test
+    public void optimizedStylesDrawTheSameWithFewerPaintCalls() throws Exception {
+        Gson gson = new Gson();
+        StyleGroups groups = StyleGroups.loadFromResource("/json/styles");
+        int totalPaintCalls = 0;
+        int totalOptimizedPaintCalls = 0;
+        for (StyleGroup group : groups.groups()) {
+            for (GsonStyle optimized : group.getStyles()) {
+                GsonStyle unoptimized = new GsonStyle(gson, optimized.getSourceCode(), false);
+                int paintCalls = paintCalls(unoptimized);
+                int optimizedPaintCalls = paintCalls(optimized);
+                Assert.assertTrue(optimized.getName(), optimizedPaintCalls <= paintCalls);
+                totalPaintCalls += paintCalls;
+                totalOptimizedPaintCalls += optimizedPaintCalls;
+                IMAGE_ASSERT.assertMatches(optimized.getName(), render(unoptimized), render(optimized));
+            }
+        }
+        Assert.assertTrue(
+                totalPaintCalls + " -> " + totalOptimizedPaintCalls,
+                totalOptimizedPaintCalls < totalPaintCalls * 0.75);
+    }
+
+    private static int paintCalls(GsonStyle style) {
+        return paintCalls(style.getClockFaceElements())
+                + paintCalls(style.getSecondHandElements())
+                + paintCalls(style.getMinuteHandElements())
+                + paintCalls(style.getHourHandElements());
+    }
+
+    private static int paintCalls(BoundedElements elements) {
+        return elements.getElements().stream().mapToInt(ShapeOptimizationTest::paintCalls).sum();
+    }
+
+    private static int paintCalls(GraphicalElement element) {
+        if (element instanceof CompositeGraphicalElement composite) {
+            return composite.getElements().stream().mapToInt(ShapeOptimizationTest::paintCalls).sum();
+        }
+        return 1;
+    }
+
+    private static BufferedImage render(GsonStyle style) {
+        BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics2D = image.createGraphics();
+        graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        OffsetRadius offsetRadius = new OffsetRadius(SIZE / 2d, SIZE / 2d, SIZE / 2d);
+        HoursMinutesSeconds time = new HoursMinutesSeconds(10.15, 9.1, 37.5);
+        style.paintClockFace(graphics2D, offsetRadius, time);
+        style.paintMinuteHand(graphics2D, offsetRadius, time.minutes());
+        style.paintHourHand(graphics2D, offsetRadius, time.hours());
+        style.paintSecondHand(graphics2D, offsetRadius, time.seconds());
+        graphics2D.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.styles.gsonstyle;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+public class StyleCatalogTest {
+    private static final List<String> STYLE_IDS = List.of("clock_hands", "quartz", "star_face");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void indexesTheGroupsWithoutKeepingTheJson() throws Exception {
+        Path root = createStyleTree();
+        StyleCatalog catalog = StyleCatalog.build(root);
+        Assert.assertEquals("Styles", catalog.getName());
+        Assert.assertEquals(List.of("JSON Examples"), catalog.getGroups());
+        Assert.assertEquals(3, catalog.getEntries().size());
+        StyleCatalog.Entry quartz = catalog.find("examples/quartz.json").orElseThrow();
+        GsonStyle parsed = new GsonStyle(StyleValidator.validate(read(root, "quartz")), null);
+        Assert.assertEquals(parsed.getName(), quartz.name());
+        Assert.assertEquals(parsed.getDescription(), quartz.description());
+        Assert.assertTrue(quartz.elementCount() > 0);
+        Assert.assertTrue(quartz.complexity() >= quartz.elementCount());
+
+        StyleCatalog copy = StyleCatalog.fromBytes(catalog.toBytes());
+        Assert.assertEquals(catalog.getEntries(), copy.getEntries());
+        Assert.assertEquals(catalog.getGroups(), copy.getGroups());
+        Assert.assertEquals(catalog.getName(), copy.getName());
+        Assert.assertThrows(IOException.class, () -> StyleCatalog.fromBytes(new byte[]{1, 2, 3, 4, 5, 6}));
+    }
+
+    @Test
+    public void rebuildingReusesUnchangedEntries() throws Exception {
+        Path root = createStyleTree();
+        StyleCatalog catalog = StyleCatalog.build(root);
+        Path quartzFile = root.resolve("examples/quartz.json");
+        // Touched but not changed: same content hash, new modification time.
+        Files.setLastModifiedTime(quartzFile, FileTime.fromMillis(Files.getLastModifiedTime(quartzFile).toMillis() + 10_000));
+        Files.writeString(root.resolve("examples/star_face.json"),
+                read(root, "star_face").replaceFirst("\"name\"\\s*:\\s*\"[^\"]*\"", "\"name\": \"Renamed Star\""));
+
+        StyleCatalog rebuilt = StyleCatalog.build(root, catalog);
+        Assert.assertEquals(catalog.getEntries().get(0), rebuilt.getEntries().get(0));
+        StyleCatalog.Entry quartz = rebuilt.find("examples/quartz.json").orElseThrow();
+        Assert.assertEquals(catalog.find("examples/quartz.json").orElseThrow().contentHash(), quartz.contentHash());
+        Assert.assertEquals(Files.getLastModifiedTime(quartzFile).toMillis(), quartz.lastModified());
+        Assert.assertEquals("Renamed Star", rebuilt.find("examples/star_face.json").orElseThrow().name());
+
+        Files.writeString(root.resolve("examples/quartz.json"), "{ \"clock_face\": 1 }");
+        JSONSchemaException exception = Assert.assertThrows(JSONSchemaException.class, () -> StyleCatalog.build(root, rebuilt));
+        Assert.assertTrue(exception.getMessage(), exception.getMessage().contains("examples/quartz.json: $.name"));
+    }
+
+    @Test
+    public void searchMatchesEveryWord() throws Exception {
+        StyleCatalog catalog = StyleCatalog.build(createStyleTree());
+        String quartzName = catalog.find("examples/quartz.json").orElseThrow().name();
+        Assert.assertEquals(3, catalog.search("").size());
+        Assert.assertEquals(3, catalog.search("json examples").size());
+        List<StyleCatalog.Entry> found = catalog.search(quartzName.toUpperCase());
+        Assert.assertEquals(1, found.size());
+        Assert.assertEquals("examples/quartz.json", found.get(0).resource());
+        Assert.assertTrue(StyleCatalog.matches(found.get(0), "examples " + quartzName));
+        String[] words = StyleCatalog.words("  EXAMPLES " + quartzName.toUpperCase() + " ");
+        Assert.assertTrue(StyleCatalog.matches(StyleCatalog.searchText(found.get(0)), words));
+        Assert.assertFalse(StyleCatalog.matches(StyleCatalog.searchText(found.get(0)), StyleCatalog.words("nowhere-to-be-found")));
+        Assert.assertTrue(catalog.search(quartzName + " nowhere-to-be-found").isEmpty());
+    }
+
+    @Test
+    public void jarsAreIndexedLikeDirectories() throws Exception {
+        Path root = createStyleTree();
+        Path jar = temporaryFolder.getRoot().toPath().resolve("styles.jar");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(jar))) {
+            addEntry(zip, "json/styles/groups.properties", Files.readAllBytes(root.resolve("groups.properties")));
+            addEntry(zip, "json/styles/examples/group.properties", Files.readAllBytes(root.resolve("examples/group.properties")));
+            for (String id : STYLE_IDS) {
+                addEntry(zip, "json/styles/examples/" + id + ".json", Files.readAllBytes(root.resolve("examples/" + id + ".json")));
+            }
+        }
+        StyleCatalog fromDirectory = StyleCatalog.build(root);
+        StyleCatalog fromJar = StyleCatalog.buildFromJar(jar, "/json/styles", StyleCatalog.empty());
+        Assert.assertEquals(fromDirectory.getGroups(), fromJar.getGroups());
+        for (int i = 0; i < STYLE_IDS.size(); i++) {
+            Assert.assertEquals(fromDirectory.getEntries().get(i).contentHash(), fromJar.getEntries().get(i).contentHash());
+            Assert.assertEquals(fromDirectory.getEntries().get(i).complexity(), fromJar.getEntries().get(i).complexity());
+        }
+    }
+
+    @Test
+    public void indexedGroupsParseStylesWhenFirstUsed() throws Exception {
+        Path catalogFile = temporaryFolder.getRoot().toPath().resolve("catalog/styles.idx");
+        StyleGroups groups = StyleGroups.loadIndexed("/json/styles", catalogFile);
+        Assert.assertTrue(Files.exists(catalogFile));
+        StyleGroups loaded = StyleGroups.loadFromResource("/json/styles");
+        Assert.assertEquals(loaded.groups().size(), groups.groups().size());
+        List<GsonStyle> styles = groups.groups().get(0).getStyles();
+        List<GsonStyle> loadedStyles = loaded.groups().get(0).getStyles();
+        Assert.assertEquals(loadedStyles.size(), styles.size());
+        for (int i = 0; i < styles.size(); i++) {
+            Assert.assertEquals(loadedStyles.get(i).getName(), styles.get(i).getName());
+            Assert.assertEquals(loadedStyles.get(i).getDescription(), styles.get(i).getDescription());
+            Assert.assertFalse(styles.get(i).isLoaded());
+        }
+        Assert.assertEquals(loadedStyles.get(0).getSourceCode(), styles.get(0).getSourceCode());
+        Assert.assertTrue(styles.get(0).isLoaded());
+        Assert.assertFalse(styles.get(1).isLoaded());
+        // the second load reads the catalog instead of indexing again.
+        Assert.assertEquals(StyleCatalog.read(catalogFile).getEntries(),
+                List.copyOf(StyleGroups.loadIndexed("/json/styles", catalogFile).groups().get(0).getStyles().stream()
+                        .map(style -> style.getCatalogEntry().orElseThrow()).toList()));
+    }
+
+    private Path createStyleTree() throws IOException, JSONSchemaException {
+        Path root = temporaryFolder.newFolder("styles").toPath();
+        Files.writeString(root.resolve("groups.properties"), "name=Styles\ngroups=examples\n");
+        Path group = Files.createDirectory(root.resolve("examples"));
+        Files.writeString(group.resolve("group.properties"), "name=JSON Examples\nstyles=" + String.join(",", STYLE_IDS) + "\n");
+        for (String id : STYLE_IDS) {
+            Files.writeString(group.resolve(id + ".json"),
+                    GsonStyle.readContents(getClass().getResourceAsStream("/json/styles/examples/" + id + ".json")));
+        }
+        return root;
+    }
+
+    private static String read(Path root, String id) throws IOException {
+        return Files.readString(root.resolve("examples/" + id + ".json"), StandardCharsets.UTF_8);
+    }
+
+    private static void addEntry(ZipOutputStream zip, String name, byte[] contents) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(contents);
+        zip.closeEntry();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.styles.gsonstyle;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+public class StyleGroupsLoadingTest {
+    private static final List<String> STYLE_IDS = List.of("clock_hands", "quartz", "star_face");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void loadsDirectoriesAndZipsLikeResources() throws Exception {
+        Path root = createStylePack();
+        Path zip = temporaryFolder.getRoot().toPath().resolve("pack.zip");
+        zip(root, zip);
+
+        StyleGroups fromDirectory = StyleGroups.loadFromDirectory(root);
+        StyleGroups fromZip = StyleGroups.loadFromPath(zip);
+        for (StyleGroups groups : List.of(fromDirectory, fromZip)) {
+            Assert.assertEquals("Pack", groups.name());
+            Assert.assertEquals(1, groups.groups().size());
+            StyleGroup group = groups.groups().get(0);
+            Assert.assertEquals("JSON Examples", group.getName());
+            Assert.assertEquals(STYLE_IDS.size(), group.getStyles().size());
+            for (int i = 0; i < STYLE_IDS.size(); i++) {
+                GsonStyle style = group.getStyles().get(i);
+                String source = resource(STYLE_IDS.get(i));
+                Assert.assertEquals(source, style.getSourceCode());
+                Assert.assertEquals(StyleValidator.validate(source).name(), style.getName());
+            }
+        }
+    }
+
+    @Test
+    public void reportsMissingAndInvalidStyles() throws Exception {
+        Path root = createStylePack();
+        Files.delete(root.resolve("examples/quartz.json"));
+        JSONSchemaException missing = Assert.assertThrows(JSONSchemaException.class, () -> StyleGroups.loadFromDirectory(root));
+        Assert.assertTrue(missing.getMessage(), missing.getMessage().contains("quartz.json"));
+
+        Files.writeString(root.resolve("examples/quartz.json"), "{ \"clock_face\": 1 }");
+        JSONSchemaException invalid = Assert.assertThrows(JSONSchemaException.class, () -> StyleGroups.loadFromDirectory(root));
+        Assert.assertTrue(invalid.getMessage(), invalid.getMessage().contains("examples/quartz.json: $.name"));
+    }
+
+    private Path createStylePack() throws IOException {
+        Path root = temporaryFolder.newFolder("pack").toPath();
+        Files.writeString(root.resolve("groups.properties"), "name=Pack\ngroups=examples\n");
+        Path examples = Files.createDirectory(root.resolve("examples"));
+        Files.writeString(examples.resolve("group.properties"), "name=JSON Examples\nstyles=" + String.join(",", STYLE_IDS) + "\n");
+        for (String styleId : STYLE_IDS) {
+            Files.writeString(examples.resolve(styleId + ".json"), resource(styleId));
+        }
+        return root;
+    }
+
+    private static void zip(Path root, Path zip) throws IOException {
+        try (OutputStream file = Files.newOutputStream(zip); ZipOutputStream out = new ZipOutputStream(file);
+             Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.filter(Files::isRegularFile).toList()) {
+                out.putNextEntry(new ZipEntry(root.relativize(path).toString().replace('\\', '/')));
+                Files.copy(path, out);
+                out.closeEntry();
+            }
+        }
+    }
+
+    private static String resource(String styleId) throws IOException {
+        try (InputStream stream = StyleGroupsLoadingTest.class.getResourceAsStream("/json/styles/examples/" + styleId + ".json")) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
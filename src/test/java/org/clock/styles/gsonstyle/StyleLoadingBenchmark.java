@@ -0,0 +1,127 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.styles.gsonstyle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Prints the time to load a pack of 1,000 faces from a directory, a zip and the classpath. The faces
+ * are copies of the example styles with their own names, the classpath copy is written next to the
+ * built-in styles in target/classes and removed afterwards. Building the faces (parsing and shape
+ * optimization) takes most of the time, the reads themselves are a small part of it.
+ * Not a unit test, run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.clock.styles.gsonstyle.StyleLoadingBenchmark
+ */
+public class StyleLoadingBenchmark {
+    private static final int FACES = 1000;
+    private static final int GROUPS = 10;
+    private static final int WARMUP_LOADS = 1;
+    private static final int MEASURED_LOADS = 3;
+    private static final List<String> EXAMPLES = List.of("clock_hands", "ocean_sunset", "text_example", "star_face",
+            "coords", "quartz", "nebula_wave", "neon_circuit", "neon_circuit_full");
+
+    interface Loader {
+        StyleGroups load() throws JSONSchemaException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path temporary = Files.createTempDirectory("style-pack");
+        Path classpathPack = Path.of(StyleLoadingBenchmark.class.getResource("/json/styles").toURI()).resolveSibling("benchmark-pack");
+        try {
+            Path directory = writePack(temporary.resolve("pack"));
+            Path zip = temporary.resolve("pack.zip");
+            zip(directory, zip);
+            writePack(classpathPack);
+            report("classpath", () -> StyleGroups.loadFromResource("/json/benchmark-pack"));
+            report("directory", () -> StyleGroups.loadFromDirectory(directory));
+            report("zip", () -> StyleGroups.loadFromZip(zip));
+        } finally {
+            delete(temporary);
+            delete(classpathPack);
+        }
+    }
+
+    private static void report(String name, Loader loader) throws JSONSchemaException {
+        for (int i = 0; i < WARMUP_LOADS; i++) {
+            loader.load();
+        }
+        long start = System.nanoTime();
+        int faces = 0;
+        for (int i = 0; i < MEASURED_LOADS; i++) {
+            faces = loader.load().groups().stream().mapToInt(group -> group.getStyles().size()).sum();
+        }
+        System.out.printf("%-10s %5d faces %8.1f ms%n", name, faces, (System.nanoTime() - start) / 1e6 / MEASURED_LOADS);
+    }
+
+    private static Path writePack(Path root) throws IOException {
+        List<String> examples = new ArrayList<>();
+        for (String example : EXAMPLES) {
+            try (InputStream stream = StyleLoadingBenchmark.class.getResourceAsStream("/json/styles/examples/" + example + ".json")) {
+                examples.add(new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        List<String> groupDirectories = new ArrayList<>();
+        for (int group = 0; group < GROUPS; group++) {
+            String groupDirectory = "group" + group;
+            groupDirectories.add(groupDirectory);
+            Path directory = Files.createDirectories(root.resolve(groupDirectory));
+            List<String> styleIds = new ArrayList<>();
+            for (int face = group; face < FACES; face += GROUPS) {
+                String styleId = "face" + face;
+                styleIds.add(styleId);
+                String source = examples.get(face % examples.size())
+                        .replaceFirst("\"name\"\\s*:\\s*\"", "\"name\": \"Face " + face + " ");
+                Files.writeString(directory.resolve(styleId + ".json"), source);
+            }
+            Files.writeString(directory.resolve("group.properties"), "name=Group " + group + "\nstyles=" + String.join(",", styleIds) + "\n");
+        }
+        Files.writeString(root.resolve("groups.properties"), "name=Benchmark\ngroups=" + String.join(",", groupDirectories) + "\n");
+        return root;
+    }
+
+    private static void zip(Path root, Path zip) throws IOException {
+        try (OutputStream file = Files.newOutputStream(zip); ZipOutputStream out = new ZipOutputStream(file);
+             Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.filter(Files::isRegularFile).toList()) {
+                out.putNextEntry(new ZipEntry(root.relativize(path).toString().replace('\\', '/')));
+                Files.copy(path, out);
+                out.closeEntry();
+            }
+        }
+    }
+
+    private static void delete(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
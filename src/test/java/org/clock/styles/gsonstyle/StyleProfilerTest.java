@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.styles.gsonstyle;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+public class StyleProfilerTest {
+    private final StyleProfiler profiler = new StyleProfiler(Duration.ofMillis(2));
+
+    @Test
+    public void reportsEveryElementWithItsPath() throws Exception {
+        GsonStyle style = style("Quartz");
+        StyleModel model = style.getModel();
+        StyleProfiler.Report report = profiler.profile(style, 200);
+        Assert.assertEquals(200, report.size());
+        Assert.assertEquals(model.clockFace().size() + model.animated().size() + model.complications().size()
+                + model.minuteHand().size() + model.hourHand().size() + model.secondHand().size(), report.elements().size());
+        StyleProfiler.ElementCost first = report.elements().get(0);
+        Assert.assertEquals("$.clock_face[0]", first.path());
+        Assert.assertEquals(model.clockFace().get(0).ticks(), first.ticks());
+        Assert.assertEquals(model.hourHand().size(),
+                report.elements().stream().filter(e -> e.path().startsWith("$.hour_hand[")).count());
+        for (StyleProfiler.ElementCost element : report.elements()) {
+            Assert.assertTrue(element.path(), element.nanos() > 0);
+            Assert.assertTrue(element.path(), element.nanosPerTick() <= element.nanos());
+        }
+        Assert.assertTrue(report.framesPerSecond() > 0);
+        Assert.assertTrue(report.format(StyleProfiler.Budget.DEFAULT).startsWith(style.getName() + " at 200 px"));
+    }
+
+    @Test
+    public void flagsElementsOverBudget() throws Exception {
+        GsonStyle style = style("Quartz");
+        AssertionError error = Assert.assertThrows(AssertionError.class,
+                () -> profiler.assertWithinBudget(style, new StyleProfiler.Budget(0, Long.MAX_VALUE, 0), 100));
+        Assert.assertTrue(error.getMessage(), error.getMessage().contains("$.clock_face[0] ("));
+
+        List<String> problems = profiler.profile(style, 100).overBudget(new StyleProfiler.Budget(Double.MAX_VALUE, Long.MAX_VALUE, 1e12));
+        Assert.assertEquals(1, problems.size());
+        Assert.assertTrue(problems.get(0), problems.get(0).contains("fps at 100 px"));
+    }
+
+    @Test
+    public void exampleStylesFitAGenerousBudget() throws Exception {
+        StyleProfiler.Budget budget = new StyleProfiler.Budget(1e6, 64L << 20, 1);
+        for (StyleGroup group : StyleGroups.loadFromResource("/json/styles").groups()) {
+            for (GsonStyle style : group.getStyles()) {
+                profiler.assertWithinBudget(style, budget, 100, 300);
+            }
+        }
+    }
+
+    private static GsonStyle style(String name) throws JSONSchemaException {
+        for (StyleGroup group : StyleGroups.loadFromResource("/json/styles").groups()) {
+            for (GsonStyle style : group.getStyles()) {
+                if (style.getName().equals(name)) {
+                    return style;
+                }
+            }
+        }
+        throw new AssertionError("No style " + name);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.styles.gsonstyle;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.*;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class StyleValidatorTest {
+    private static final String INVALID = """
+            {
+              "name": "Invalid",
+              "clock_face": [
+                { "shape": "circle", "x": 0, "y": 0, "radius": "big", "color": "#FFFFFF" },
+                { "shape": "text", "text": "12", "x": 0, "y": -0.8, "size": 0.2, "styles": "bold,wide" },
+                { "shape": "hexagon" },
+                { "shape": "rectangle", "fx": -1, "fy": -1, "tx": 1, "ticks": 100, "color": "teal" }
+              ],
+              "second_hand": "none",
+              "hour_hand": [ 12 ],
+              "animated": [ { "shape": "circle", "x": 0, "y": 0, "radius": 0.1, "rotate": "s / " } ]
+            }
+            """;
+
+    @Test
+    public void errorsAreCollectedWithTheirPaths() {
+        JSONSchemaException exception = Assert.assertThrows(JSONSchemaException.class, () -> StyleValidator.validate(INVALID));
+        List<String> errors = exception.getErrors();
+        Assert.assertEquals(exception.getMessage(), 9, errors.size());
+        assertError(errors, "$.clock_face[0].radius: Key value \"radius\" must be a number.");
+        assertError(errors, "$.clock_face[1].styles: Unknown font style \"wide\".");
+        assertError(errors, "$.clock_face[2].shape: Invalid shape \"hexagon\".");
+        assertError(errors, "$.clock_face[3].color: Invalid color format");
+        assertError(errors, "$.clock_face[3].ticks: Key value \"ticks\" must be a whole number between 2 and 60.");
+        assertError(errors, "$.clock_face[3].ty: Key value \"ty\" must be a number.");
+        assertError(errors, "$.second_hand: Key value must be a list.");
+        assertError(errors, "$.hour_hand[0]: Element must be a JSON object.");
+        assertError(errors, "$.animated[0].rotate: Invalid expression \"s / \"");
+    }
+
+    @Test
+    public void validStylesBecomeTypedModels() throws Exception {
+        StyleModel model = StyleValidator.validate("""
+                {
+                  "name": "Valid",
+                  "clock_face": [
+                    { "shape": "text", "text": "12", "x": 0, "y": -0.8, "size": 0.2, "styles": "bold,italic", "ticks": 12 },
+                    { "shape": "polygon", "points": [ { "x": 0, "y": 0 }, { "x": 1, "y": 0 }, { "x": 0, "y": 1 } ], "color": "#FF000080" }
+                  ]
+                }
+                """);
+        Assert.assertEquals("Valid", model.name());
+        Assert.assertTrue(model.secondHand().isEmpty());
+        StyleModel.Text text = (StyleModel.Text) model.clockFace().get(0);
+        Assert.assertEquals(Font.BOLD | Font.ITALIC, text.styles());
+        Assert.assertEquals(12, text.ticks());
+        Assert.assertEquals(Color.BLACK, text.color());
+        StyleModel.Polygon polygon = (StyleModel.Polygon) model.clockFace().get(1);
+        Assert.assertEquals(new StyleModel.Point(1, 0), polygon.points().get(1));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> model.clockFace().clear());
+        Assert.assertThrows(UnsupportedOperationException.class, () -> polygon.points().clear());
+    }
+
+    @Test
+    public void catalogIsValidatedInParallelKeepingItsOrder() throws Exception {
+        String source = GsonStyle.readContents(getClass().getResourceAsStream("/json/styles/examples/quartz.json"));
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (int i = 0; i < 500; i++) {
+            sources.put("style" + i, source);
+        }
+        Assert.assertEquals(List.copyOf(sources.keySet()), List.copyOf(StyleValidator.validateAll(sources).keySet()));
+
+        sources.put("style7", INVALID);
+        sources.put("style300", "{ \"clock_face\": [] }");
+        JSONSchemaException exception = Assert.assertThrows(JSONSchemaException.class, () -> StyleValidator.validateAll(sources));
+        Assert.assertEquals(10, exception.getErrors().size());
+        Assert.assertTrue(exception.getErrors().get(0).startsWith("style7: $.clock_face[0].radius"));
+        Assert.assertEquals("style300: $.name: Key \"name\" is not specified.", exception.getErrors().get(9));
+    }
+
+    private static void assertError(List<String> errors, String expected) {
+        Assert.assertTrue(errors.toString(), errors.stream().anyMatch(error -> error.startsWith(expected)));
+    }
+}
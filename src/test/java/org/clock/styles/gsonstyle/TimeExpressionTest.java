@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 Nick Lerissa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.clock.styles.gsonstyle;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TimeExpressionTest {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void evaluatesOperatorsAndFunctions() throws Exception {
+        Assert.assertEquals(7d, TimeExpression.compile("1 + 2 * 3").evaluate(0, 0, 0), DELTA);
+        Assert.assertEquals(9d, TimeExpression.compile("(1 + 2) * 3").evaluate(0, 0, 0), DELTA);
+        Assert.assertEquals(-8d, TimeExpression.compile("-2 ^ 3").evaluate(0, 0, 0), DELTA);
+        Assert.assertEquals(512d, TimeExpression.compile("2 ^ 3 ^ 2").evaluate(0, 0, 0), DELTA);
+        Assert.assertEquals(1d, TimeExpression.compile("s % 2").evaluate(0, 0, 7), DELTA);
+        Assert.assertEquals(0.25d, TimeExpression.compile("frac(m / 4)").evaluate(0, 5, 0), DELTA);
+        Assert.assertEquals(1d, TimeExpression.compile("sin(pi / 2)").evaluate(0, 0, 0), DELTA);
+        Assert.assertEquals(3d, TimeExpression.compile("max(h, min(s, 3))").evaluate(2, 0, 30), DELTA);
+        Assert.assertEquals(0.5d, TimeExpression.compile("abs(cos(pi * s / 30)) * sqrt(floor(h))").evaluate(1.9, 0, 10), DELTA);
+    }
+
+    @Test
+    public void constantsAreFolded() throws Exception {
+        Assert.assertTrue(TimeExpression.compile("sin(pi) * 2 + max(1, 3)").isConstant());
+        Assert.assertFalse(TimeExpression.compile("0 * s").isConstant());
+        Assert.assertEquals(0, TimeExpression.compile("2 * pi").getUpdateIntervalMillis());
+    }
+
+    @Test
+    public void updateIntervalFollowsTheFastestVariable() throws Exception {
+        Assert.assertEquals(TimeExpression.HOURS_INTERVAL_MILLIS, TimeExpression.compile("h / 12").getUpdateIntervalMillis());
+        Assert.assertEquals(TimeExpression.MINUTES_INTERVAL_MILLIS, TimeExpression.compile("h + m").getUpdateIntervalMillis());
+        Assert.assertEquals(TimeExpression.SECONDS_INTERVAL_MILLIS, TimeExpression.compile("h + m + s").getUpdateIntervalMillis());
+    }
+
+    @Test
+    public void errorsPointAtThePosition() {
+        assertError("1 +", "at position 3");
+        assertError("2 * (s", "at position 6");
+        assertError("tan(s)", "at position 0");
+        assertError("min(s)", "at position 5");
+        assertError("s s", "at position 2");
+    }
+
+    private static void assertError(String source, String expected) {
+        try {
+            TimeExpression.compile(source);
+            Assert.fail(source);
+        } catch (JSONSchemaException ex) {
+            Assert.assertTrue(ex.getMessage(), ex.getMessage().contains("\"" + source + "\" " + expected));
+        }
+    }
+}